@@ -0,0 +1,74 @@
+package org.neolcr.ddd.benchmark;
+
+import org.neolcr.ddd.EntityIdMap;
+import org.neolcr.ddd.EntitySet;
+import org.neolcr.ddd.example.InventoryItem;
+
+import java.lang.management.ManagementFactory;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Hash lookups of aggregates by identity: time and bytes allocated per lookup for HashMap with boxed Long keys,
+ * HashSet (Entity.hashCode on the primitive id), EntityIdMap and EntitySet, plus the previous
+ * {@code Objects.hash(boxedId)} hashCode on its own. Ids start above the Long cache, as real ids do.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.ddd.benchmark.EntityLookupBenchmark [entities] [lookups]
+ */
+public class EntityLookupBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+    private static final long FIRST_ID = 1_000_000;
+
+    public static void main(String[] args) {
+        int entities = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 20_000_000;
+        System.out.println("Entity lookup benchmark: entities=" + entities + " lookups=" + lookups + "\n");
+
+        InventoryItem[] items = new InventoryItem[entities];
+        Map<Long, InventoryItem> hashMap = new HashMap<>();
+        Set<InventoryItem> hashSet = new HashSet<>();
+        EntityIdMap<InventoryItem> idMap = new EntityIdMap<>();
+        EntitySet<InventoryItem> entitySet = new EntitySet<>();
+        Long[] boxedIds = new Long[entities];
+        for (int i = 0; i < entities; i++) {
+            items[i] = new InventoryItem(FIRST_ID + i);
+            boxedIds[i] = FIRST_ID + i;
+            hashMap.put(FIRST_ID + i, items[i]);
+            hashSet.add(items[i]);
+            idMap.put(FIRST_ID + i, items[i]);
+            entitySet.add(items[i]);
+        }
+        int[] order = new int[1 << 20];
+        for (int i = 0; i < order.length; i++) order[i] = ThreadLocalRandom.current().nextInt(entities);
+        int mask = order.length - 1;
+
+        String[] labels = {"HashMap<Long,T>.get(long)", "Objects.hash(Long) (old hashCode)", "HashSet<T>.contains",
+                "EntityIdMap.get(long)", "EntitySet.contains", "EntitySet.getById(long)"};
+        double[] nanos = new double[labels.length];
+        double[] bytes = new double[labels.length];
+        for (int round = 0; round < 5; round++) { // alternate so every variant sees the same JIT and cache state
+            for (int v = 0; v < labels.length; v++) {
+                long before = THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+                long start = System.nanoTime();
+                long sink = 0;
+                // one loop per variant, so each call site stays monomorphic
+                switch (v) {
+                    case 0 -> { for (int i = 0; i < lookups; i++) if (hashMap.get(FIRST_ID + order[i & mask]) != null) sink++; }
+                    case 1 -> { for (int i = 0; i < lookups; i++) sink += Objects.hash(boxedIds[order[i & mask]]); }
+                    case 2 -> { for (int i = 0; i < lookups; i++) if (hashSet.contains(items[order[i & mask]])) sink++; }
+                    case 3 -> { for (int i = 0; i < lookups; i++) if (idMap.get(FIRST_ID + order[i & mask]) != null) sink++; }
+                    case 4 -> { for (int i = 0; i < lookups; i++) if (entitySet.contains(items[order[i & mask]])) sink++; }
+                    default -> { for (int i = 0; i < lookups; i++) if (entitySet.getById(FIRST_ID + order[i & mask]) != null) sink++; }
+                }
+                nanos[v] = (System.nanoTime() - start) / (double) lookups;
+                bytes[v] = (THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId()) - before) / (double) lookups;
+                if (v != 1 && sink != lookups) throw new IllegalStateException(labels[v] + " missed entities");
+            }
+        }
+        for (int v = 0; v < labels.length; v++) System.out.printf("%-34s: %6.1f ns/op %5.1f B/op%n", labels[v], nanos[v], bytes[v]);
+    }
+}
@@ -0,0 +1,117 @@
+package org.neolcr.ddd.benchmark;
+
+import org.neolcr.ddd.BackpressurePolicy;
+import org.neolcr.ddd.DomainEvent;
+import org.neolcr.ddd.InMemoryEventBus;
+import org.neolcr.ddd.Subscription;
+import org.neolcr.ddd.example.InventoryItem;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * InMemoryEventBus publishing InventoryItem events from several threads to a synchronous counter, an asynchronous
+ * projection, a batched projection and a deliberately slow projection (1 ms per event, DROP_OLDEST): publisher
+ * throughput and allocation per publish with and without the slow subscriber, and the same slow handler made
+ * synchronous for comparison. Ends with the FAIL policy rejecting a publish into a full queue.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.ddd.benchmark.EventBusBenchmark [eventsPerThread] [threads]
+ */
+public class EventBusBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        System.out.println("Event bus benchmark: eventsPerThread=" + perThread + " threads=" + threads + "\n");
+        DomainEvent event = new InventoryItem.CheckedIn(1);
+
+        for (int round = 0; round < 3; round++) {
+            boolean last = round == 2;
+            Subscription[] subscriptions;
+            try (InMemoryEventBus bus = new InMemoryEventBus()) {
+                subscriptions = standard(bus);
+                run(last, "sync + async + batched", bus, event, perThread, threads);
+                if (last) report(subscriptions);
+            }
+            verify(subscriptions, (long) threads * perThread);
+            Subscription slow;
+            try (InMemoryEventBus bus = new InMemoryEventBus()) {
+                subscriptions = standard(bus);
+                slow = bus.subscribe(InventoryItem.CheckedIn.class, e -> sleep(), 1024, BackpressurePolicy.DROP_OLDEST);
+                run(last, "... + slow async (drop oldest)", bus, event, perThread, threads);
+                if (last) report(subscriptions);
+            }
+            verify(subscriptions, (long) threads * perThread);
+            if (last) System.out.printf("  slow: delivered %,d dropped %,d%n", slow.delivered(), slow.dropped());
+        }
+        try (InMemoryEventBus bus = new InMemoryEventBus()) {
+            standard(bus);
+            bus.subscribeSync(InventoryItem.CheckedIn.class, e -> sleep());
+            run(true, "... + slow sync", bus, event, 200, threads);
+        }
+
+        try (InMemoryEventBus bus = new InMemoryEventBus()) {
+            Subscription stuck = bus.subscribe(InventoryItem.CheckedIn.class, e -> sleep(), 4, BackpressurePolicy.FAIL);
+            int rejected = 0;
+            for (int i = 0; i < 100; i++) {
+                try {
+                    bus.publish(event);
+                } catch (RejectedExecutionException e) {
+                    rejected++;
+                }
+            }
+            stuck.close();
+            System.out.printf("%nFAIL policy, capacity 4, 100 publishes: %d rejected, %d counted as dropped%n", rejected, stuck.dropped());
+        }
+    }
+
+    private static Subscription[] standard(InMemoryEventBus bus) {
+        LongAdder counter = new LongAdder();
+        long[] projected = new long[2];
+        return new Subscription[]{
+                bus.subscribeSync(InventoryItem.CheckedIn.class, e -> counter.increment()),
+                bus.subscribe(InventoryItem.CheckedIn.class, e -> projected[0]++, 1 << 14, BackpressurePolicy.BLOCK),
+                bus.subscribeBatched(DomainEvent.class, batch -> projected[1] += batch.size(), 1 << 14, 1024, BackpressurePolicy.BLOCK)};
+    }
+
+    private static void run(boolean print, String label, InMemoryEventBus bus, DomainEvent event, int perThread, int threads) throws InterruptedException {
+        LongAdder allocated = new LongAdder();
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) {
+            workers[t] = new Thread(() -> {
+                long before = THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+                for (int i = 0; i < perThread; i++) bus.publish(event);
+                allocated.add(THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId()) - before);
+            });
+            workers[t].start();
+        }
+        for (Thread worker : workers) worker.join();
+        long nanos = System.nanoTime() - start;
+        long events = (long) threads * perThread;
+        if (print) System.out.printf("%-32s: %,12.0f publishes/s %6.2f B/publish%n", label, events / (nanos / 1e9), allocated.sum() / (double) events);
+    }
+
+    private static void report(Subscription[] subscriptions) {
+        String[] names = {"sync", "async", "batched"};
+        for (int i = 0; i < subscriptions.length; i++) {
+            System.out.printf("  %s: backlog at publisher exit %,d%n", names[i], subscriptions[i].backlog());
+        }
+    }
+
+    private static void verify(Subscription[] subscriptions, long events) {
+        for (Subscription subscription : subscriptions) {
+            if (subscription.delivered() != events) throw new IllegalStateException(subscription.mode() + " delivered " + subscription.delivered() + " of " + events);
+        }
+    }
+
+    private static void sleep() {
+        try {
+            Thread.sleep(1);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package org.neolcr.ddd.benchmark;
+
+import org.neolcr.ddd.ConcurrencyConflictException;
+import org.neolcr.ddd.EventSourcedRepository;
+import org.neolcr.ddd.InMemoryEventStore;
+import org.neolcr.ddd.example.InventoryItem;
+
+/**
+ * Event-sourced InventoryItems on an InMemoryEventStore: appending one event per save against batches of
+ * {@code batch} events per save, then loading long streams by full replay against snapshot + tail.
+ * Checks that every reload matches and that a stale writer gets a ConcurrencyConflictException.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.ddd.benchmark.EventSourcingBenchmark [aggregates] [eventsPerAggregate] [batch]
+ */
+public class EventSourcingBenchmark {
+    public static void main(String[] args) {
+        int aggregates = args.length > 0 ? Integer.parseInt(args[0]) : 1_000;
+        int events = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int batch = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        System.out.println("Event sourcing benchmark: aggregates=" + aggregates + " eventsPerAggregate=" + events + " batch=" + batch + "\n");
+
+        for (int round = 0; round < 3; round++) {
+            boolean last = round == 2;
+            InMemoryEventStore store = new InMemoryEventStore();
+            EventSourcedRepository<InventoryItem> full = new EventSourcedRepository<>(store, InventoryItem::new, 0);
+            EventSourcedRepository<InventoryItem> snapshotted = new EventSourcedRepository<>(store, InventoryItem::new);
+            append(last, "append, 1 event per save", full, aggregates, events, 1, 0);
+            append(last, "append, " + batch + " events per save", snapshotted, aggregates, events, batch, aggregates);
+            load(last, "load, full replay", full, aggregates, events, 0);
+            load(last, "load, snapshot + tail", snapshotted, aggregates, events, aggregates);
+        }
+
+        EventSourcedRepository<InventoryItem> repository = new EventSourcedRepository<>(new InMemoryEventStore(), InventoryItem::new);
+        repository.save(InventoryItem.create(1, "widget"));
+        InventoryItem first = repository.findById(1L);
+        InventoryItem second = repository.findById(1L);
+        first.checkIn(5);
+        repository.save(first);
+        second.checkIn(7);
+        try {
+            repository.save(second);
+            throw new IllegalStateException("stale write was accepted");
+        } catch (ConcurrencyConflictException expected) {
+            System.out.println("\nstale write rejected: " + expected.getMessage());
+        }
+    }
+
+    private static void append(boolean print, String label, EventSourcedRepository<InventoryItem> repository,
+                               int aggregates, int events, int batch, long firstId) {
+        long start = System.nanoTime();
+        for (int a = 0; a < aggregates; a++) {
+            InventoryItem item = InventoryItem.create(firstId + a, "item-" + a);
+            for (int e = 1; e < events; e++) {
+                item.checkIn(1);
+                if (e % batch == 0) repository.save(item);
+            }
+            repository.save(item);
+            item.pullDomainEvents();
+        }
+        long nanos = System.nanoTime() - start;
+        if (print) System.out.printf("%-28s: %,12.0f events/s%n", label, (long) aggregates * events / (nanos / 1e9));
+    }
+
+    private static void load(boolean print, String label, EventSourcedRepository<InventoryItem> repository,
+                             int aggregates, int events, long firstId) {
+        long start = System.nanoTime();
+        for (int a = 0; a < aggregates; a++) {
+            InventoryItem item = repository.findById(firstId + a);
+            if (item.getOnHand() != events - 1 || item.getVersion() != events) throw new IllegalStateException("reload mismatch for " + (firstId + a));
+        }
+        long nanos = System.nanoTime() - start;
+        if (print) System.out.printf("%-28s: %,12.1f us per aggregate (%,d events each)%n", label, nanos / 1e3 / aggregates, events);
+    }
+}
@@ -0,0 +1,90 @@
+package org.neolcr.ddd.benchmark;
+
+import org.neolcr.ddd.ConcurrencyConflictException;
+import org.neolcr.ddd.InMemoryRepository;
+import org.neolcr.ddd.example.InventoryItem;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Concurrent read-modify-write (load, checkIn(1), save) on a few hot InventoryItems. Through InMemoryRepository
+ * every stale save is rejected and retried, so the final stock equals the number of check-ins; a plain map where
+ * the last writer wins is shown for comparison, with the updates it loses. Also measures findById throughput.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.ddd.benchmark.OptimisticRepositoryBenchmark [updatesPerThread] [threads] [aggregates]
+ */
+public class OptimisticRepositoryBenchmark {
+    public static void main(String[] args) throws InterruptedException {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(4, Runtime.getRuntime().availableProcessors());
+        int aggregates = args.length > 2 ? Integer.parseInt(args[2]) : 16;
+        System.out.println("Optimistic repository benchmark: updatesPerThread=" + perThread + " threads=" + threads + " aggregates=" + aggregates + "\n");
+
+        for (int round = 0; round < 3; round++) {
+            boolean last = round == 2;
+            InMemoryRepository<InventoryItem> repository = InMemoryRepository.ofSnapshottable(InventoryItem::new);
+            for (int a = 1; a <= aggregates; a++) repository.save(InventoryItem.create(a, "item-" + a));
+            LongAdder conflicts = new LongAdder();
+            long nanos = parallel(threads, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    long id = 1 + random.nextInt(aggregates);
+                    while (true) {
+                        InventoryItem item = repository.findById(id);
+                        item.checkIn(1);
+                        try {
+                            repository.save(item);
+                            break;
+                        } catch (ConcurrencyConflictException e) {
+                            conflicts.increment();
+                        }
+                    }
+                }
+            });
+            long stock = 0;
+            for (int a = 1; a <= aggregates; a++) stock += repository.findById((long) a).getOnHand();
+            if (stock != (long) threads * perThread) throw new IllegalStateException("lost updates: " + stock);
+            if (last) {
+                System.out.printf("optimistic, retry on conflict : %,12.0f updates/s, %,d conflicts retried, none lost%n",
+                        (long) threads * perThread / (nanos / 1e9), conflicts.sum());
+            }
+
+            ConcurrentHashMap<Long, InventoryItem.State> plain = new ConcurrentHashMap<>();
+            for (long a = 1; a <= aggregates; a++) plain.put(a, new InventoryItem.State("item-" + a, 0, true));
+            nanos = parallel(threads, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    long id = 1 + random.nextInt(aggregates);
+                    InventoryItem item = new InventoryItem(id);
+                    item.restore(plain.get(id));
+                    item.checkIn(1);
+                    plain.put(id, item.snapshot());
+                }
+            });
+            stock = 0;
+            for (InventoryItem.State state : plain.values()) stock += state.onHand();
+            if (last) {
+                System.out.printf("plain map, last writer wins   : %,12.0f updates/s, %,d of %,d updates lost%n",
+                        (long) threads * perThread / (nanos / 1e9), (long) threads * perThread - stock, (long) threads * perThread);
+            }
+
+            nanos = parallel(threads, () -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    if (repository.findById(1L + random.nextInt(aggregates)).getVersion() <= 0) throw new IllegalStateException();
+                }
+            });
+            if (last) System.out.printf("findById (copy of committed) : %,12.0f reads/s%n", (long) threads * perThread / (nanos / 1e9));
+        }
+    }
+
+    private static long parallel(int threads, Runnable body) throws InterruptedException {
+        Thread[] workers = new Thread[threads];
+        long start = System.nanoTime();
+        for (int t = 0; t < threads; t++) (workers[t] = new Thread(body)).start();
+        for (Thread worker : workers) worker.join();
+        return System.nanoTime() - start;
+    }
+}
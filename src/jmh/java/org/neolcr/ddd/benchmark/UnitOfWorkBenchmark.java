@@ -0,0 +1,155 @@
+package org.neolcr.ddd.benchmark;
+
+import org.neolcr.ddd.ConcurrencyConflictException;
+import org.neolcr.ddd.EventSourcedRepository;
+import org.neolcr.ddd.InMemoryEventStore;
+import org.neolcr.ddd.InMemoryRepository;
+import org.neolcr.ddd.Repository;
+import org.neolcr.ddd.TransactionalApplicationService;
+import org.neolcr.ddd.UnitOfWork;
+import org.neolcr.ddd.example.InventoryItem;
+
+import java.util.List;
+
+/**
+ * An application service that checks one unit into each of {@code touched} InventoryItems, saving every item
+ * itself against running in a {@link TransactionalApplicationService} (one saveAll at commit). Both repositories
+ * are measured in memory and behind a simulated store that spins {@code latencyMicros} per call, with the number
+ * of calls per execution. Ends by making one item stale and checking that the whole unit is rolled back.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.ddd.benchmark.UnitOfWorkBenchmark [touched] [executions] [latencyMicros]
+ */
+public class UnitOfWorkBenchmark {
+    public static void main(String[] args) {
+        int touched = args.length > 0 ? Integer.parseInt(args[0]) : 100;
+        int executions = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int latencyMicros = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+        System.out.println("Unit of work benchmark: touched=" + touched + " executions=" + executions + " latencyMicros=" + latencyMicros + "\n");
+
+        for (int round = 0; round < 3; round++) {
+            boolean last = round == 2;
+            run(last, "state-stored", InMemoryRepository.ofSnapshottable(InventoryItem::new), touched, executions, latencyMicros);
+            run(last, "event-sourced", new EventSourcedRepository<>(new InMemoryEventStore(), InventoryItem::new), touched, executions, latencyMicros);
+        }
+        rollback(touched);
+    }
+
+    private static void run(boolean print, String label, Repository<InventoryItem> store, int touched, int executions, int latencyMicros) {
+        for (long id = 1; id <= touched; id++) store.save(InventoryItem.create(id, "item-" + id));
+        Remote<InventoryItem> remote = new Remote<>(store, latencyMicros * 1_000L);
+        int remoteExecutions = Math.max(1, executions / 100);
+        double[] perSave = {perSave(store, touched, executions), perSave(remote, touched, remoteExecutions)};
+        long saveCalls = remote.calls / remoteExecutions;
+        remote.calls = 0;
+        double[] unit = {unitOfWork(store, touched, executions), unitOfWork(remote, touched, remoteExecutions)};
+        long unitCalls = remote.calls / remoteExecutions;
+        long expected = 2L * executions + 2L * remoteExecutions;
+        for (long id = 1; id <= touched; id++) {
+            if (store.findById(id).getOnHand() != expected) throw new IllegalStateException("lost check-ins on item " + id);
+        }
+        if (!print) return;
+        System.out.printf("%-13s save per item : %8.1f us in memory, %9.1f us with %d us round-trips (%d calls)%n",
+                label, perSave[0], perSave[1], latencyMicros, saveCalls);
+        System.out.printf("%-13s unit of work  : %8.1f us in memory, %9.1f us with %d us round-trips (%d calls)%n",
+                label, unit[0], unit[1], latencyMicros, unitCalls);
+    }
+
+    private static double perSave(Repository<InventoryItem> repository, int touched, int executions) {
+        long start = System.nanoTime();
+        for (int e = 0; e < executions; e++) {
+            for (long id = 1; id <= touched; id++) {
+                InventoryItem item = repository.findById(id);
+                item.checkIn(1);
+                repository.save(item);
+            }
+        }
+        return (System.nanoTime() - start) / 1e3 / executions;
+    }
+
+    private static double unitOfWork(Repository<InventoryItem> repository, int touched, int executions) {
+        TransactionalApplicationService service = new TransactionalApplicationService() {
+            @Override
+            protected void execute(UnitOfWork unitOfWork) {
+                for (long id = 1; id <= touched; id++) unitOfWork.load(repository, id).checkIn(1);
+            }
+        };
+        long start = System.nanoTime();
+        for (int e = 0; e < executions; e++) service.execute();
+        return (System.nanoTime() - start) / 1e3 / executions;
+    }
+
+    /** A concurrent writer moves one item on mid-unit: the commit fails and no item of the batch is written. */
+    private static void rollback(int touched) {
+        InMemoryRepository<InventoryItem> repository = InMemoryRepository.ofSnapshottable(InventoryItem::new);
+        for (long id = 1; id <= touched; id++) repository.save(InventoryItem.create(id, "item-" + id));
+        long staleId = touched / 2 + 1;
+        InventoryItem[] loaded = new InventoryItem[touched];
+        TransactionalApplicationService service = new TransactionalApplicationService() {
+            @Override
+            protected void execute(UnitOfWork unitOfWork) {
+                for (long id = 1; id <= touched; id++) {
+                    loaded[(int) id - 1] = unitOfWork.load(repository, id);
+                    loaded[(int) id - 1].checkIn(5);
+                }
+                InventoryItem other = repository.findById(staleId);
+                other.checkIn(1);
+                repository.save(other);
+            }
+        };
+        try {
+            service.execute();
+            throw new IllegalStateException("stale unit of work was committed");
+        } catch (ConcurrencyConflictException expected) {
+            System.out.println("\nconflicting unit rejected: " + expected.getMessage());
+        }
+        for (long id = 1; id <= touched; id++) {
+            int stored = repository.findById(id).getOnHand();
+            if (stored != (id == staleId ? 1 : 0)) throw new IllegalStateException("partial commit on item " + id);
+            InventoryItem instance = loaded[(int) id - 1];
+            if (instance.getOnHand() != 0 || !instance.getUncommittedEvents().isEmpty()) throw new IllegalStateException("item " + id + " not rolled back");
+        }
+        System.out.println("none of the " + touched + " items was written; the loaded instances are back to their loaded state");
+    }
+
+    /** Simulated remote store: every call costs one round-trip. */
+    private static final class Remote<T extends org.neolcr.ddd.AggregateRoot> implements Repository<T> {
+        final Repository<T> delegate;
+        final long latencyNanos;
+        long calls;
+
+        Remote(Repository<T> delegate, long latencyNanos) {
+            this.delegate = delegate;
+            this.latencyNanos = latencyNanos;
+        }
+
+        @Override
+        public T findById(Long id) {
+            roundTrip();
+            return delegate.findById(id);
+        }
+
+        @Override
+        public void save(T aggregate) {
+            roundTrip();
+            delegate.save(aggregate);
+        }
+
+        @Override
+        public void delete(T aggregate) {
+            roundTrip();
+            delegate.delete(aggregate);
+        }
+
+        @Override
+        public void saveAll(List<? extends T> aggregates) {
+            roundTrip();
+            delegate.saveAll(aggregates);
+        }
+
+        private void roundTrip() {
+            calls++;
+            long until = System.nanoTime() + latencyNanos;
+            while (System.nanoTime() < until) Thread.onSpinWait();
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package org.neolcr.ddd.benchmark;
+
+import org.neolcr.ddd.ValueObject;
+import org.neolcr.ddd.ValueObjectInterner;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Memory footprint of holding {@code count} value objects drawn from a few hundred distinct codes (currencies,
+ * countries, statuses), each parsed from a fresh String as a deserializer would: one ValueObject per occurrence
+ * against interned instances. Retained heap is measured after full GCs. Then equals on random pairs, concurrent
+ * intern throughput, and the pool emptying once the values are no longer referenced.
+ *
+ * Run with enough heap for the plain variant (about 70 bytes per object), e.g.
+ * java -Xmx4500m -cp target/benchmarks.jar org.neolcr.ddd.benchmark.ValueObjectInternBenchmark [count] [threads]
+ */
+public class ValueObjectInternBenchmark {
+    private static final MemoryMXBean MEMORY = ManagementFactory.getMemoryMXBean();
+
+    public static void main(String[] args) throws InterruptedException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 50_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        char[][] codes = codes();
+        System.out.println("Value object intern benchmark: count=" + count + " distinctValues=" + codes.length + " threads=" + threads + "\n");
+
+        ValueObject[] held = new ValueObject[count];
+        long baseline = retainedHeap();
+        long start = System.nanoTime();
+        for (int i = 0; i < count; i++) held[i] = new ValueObject(new String(codes[i % codes.length]));
+        long plainNanos = System.nanoTime() - start;
+        long plain = retainedHeap() - baseline;
+        double plainEquals = equalsNanos(held);
+        java.util.Arrays.fill(held, null);
+
+        ValueObjectInterner<ValueObject> interner = new ValueObjectInterner<>(ValueObject::new, 1 << 16);
+        start = System.nanoTime();
+        for (int i = 0; i < count; i++) held[i] = interner.intern(new String(codes[i % codes.length]));
+        long internNanos = System.nanoTime() - start;
+        long interned = retainedHeap() - baseline;
+        double internedEquals = equalsNanos(held);
+
+        System.out.printf("plain    : %,7d MB retained (%5.1f B/object), created in %5.1f ns/object, equals %5.1f ns%n",
+                plain >> 20, plain / (double) count, plainNanos / (double) count, plainEquals);
+        System.out.printf("interned : %,7d MB retained (%5.1f B/object), interned in %5.1f ns/object, equals %5.1f ns, %d pooled%n",
+                interned >> 20, interned / (double) count, internNanos / (double) count, internedEquals, interner.size());
+        System.out.printf("(the reference array itself, %,d MB, is excluded from both)%n%n", (long) count * 4 >> 20);
+
+        int perThread = count / threads / 4;
+        start = System.nanoTime();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < perThread; i++) {
+                    if (interner.intern(new String(codes[random.nextInt(codes.length)])) == null) throw new IllegalStateException();
+                }
+            });
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) worker.join();
+        System.out.printf("intern() on %d threads: %,.0f interns/s%n", threads, (long) perThread * threads / ((System.nanoTime() - start) / 1e9));
+
+        java.util.Arrays.fill(held, null);
+        retainedHeap();
+        Thread.sleep(100); // cleared references reach the queue on the JDK's reference handler thread
+        interner.cleanUp();
+        System.out.printf("pool after the values became unreachable: %d entries%n", interner.size());
+    }
+
+    private static char[][] codes() {
+        List<String> all = new ArrayList<>();
+        for (java.util.Currency currency : java.util.Currency.getAvailableCurrencies()) all.add(currency.getCurrencyCode());
+        all.addAll(List.of(Locale.getISOCountries()));
+        all.addAll(List.of("OPEN", "PENDING", "ACTIVE", "SUSPENDED", "CLOSED", "ARCHIVED"));
+        char[][] codes = new char[all.size()][];
+        for (int i = 0; i < codes.length; i++) codes[i] = ("code:" + all.get(i)).toCharArray(); // prefix keeps currency and country codes apart
+        return codes;
+    }
+
+    private static double equalsNanos(ValueObject[] held) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int pairs = 10_000_000;
+        int matches = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < pairs; i++) {
+            int a = random.nextInt(held.length);
+            if (held[a].equals(held[(a + 449) % held.length])) matches++; // a nearby index holding the same code about half the time
+        }
+        long nanos = System.nanoTime() - start;
+        if (matches < 0) throw new IllegalStateException();
+        return nanos / (double) pairs;
+    }
+
+    private static long retainedHeap() {
+        for (int i = 0; i < 3; i++) System.gc();
+        return MEMORY.getHeapMemoryUsage().getUsed();
+    }
+}
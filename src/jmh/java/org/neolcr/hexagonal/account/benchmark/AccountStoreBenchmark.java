@@ -0,0 +1,87 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.InMemoryAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Footprint and throughput comparison between {@link InMemoryAccountRepository} (ConcurrentHashMap&lt;Long, Account&gt;)
+ * and {@link OpenAddressingAccountRepository} (primitive long keys, open addressing).
+ *
+ * Run with a fixed heap so the numbers are comparable, e.g.
+ * java -Xms8g -Xmx8g -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.AccountStoreBenchmark 10000000 8
+ */
+public class AccountStoreBenchmark {
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("Account store benchmark: accounts=" + accounts + " threads=" + threads + "\n");
+
+        run("ConcurrentHashMap<Long, Account>", InMemoryAccountRepository::new, accounts, threads);
+        run("LongAccountTable (open addressing)", OpenAddressingAccountRepository::new, accounts, threads);
+    }
+
+    private static void run(String name, Supplier<AccountRepository> factory, int accounts, int threads) throws Exception {
+        System.out.println("=== " + name + " ===");
+        // Accounts are created up front so only the store itself shows up in the footprint delta.
+        Account[] prepared = new Account[accounts];
+        for (int i = 0; i < accounts; i++) prepared[i] = Account.newAccount("owner", Money.zero(Money.DEFAULT_CURRENCY));
+        long before = usedHeap();
+
+        AccountRepository repository = factory.get();
+        long start = System.nanoTime();
+        parallel(threads, accounts, (from, to) -> {
+            for (int i = from; i < to; i++) repository.save(prepared[i]);
+        });
+        long saveNanos = System.nanoTime() - start;
+        long after = usedHeap();
+
+        start = System.nanoTime();
+        parallel(threads, accounts, (from, to) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = from; i < to; i++) {
+                if (repository.findById(1 + random.nextInt(accounts)).isEmpty()) throw new IllegalStateException("missing account");
+            }
+        });
+        long findNanos = System.nanoTime() - start;
+
+        System.out.printf("store footprint : %,d bytes (%.1f bytes/account)%n", after - before, (after - before) / (double) accounts);
+        System.out.printf("save throughput : %,.0f ops/s%n", accounts / (saveNanos / 1e9));
+        System.out.printf("find throughput : %,.0f ops/s%n%n", accounts / (findNanos / 1e9));
+        // keep both alive until the footprint has been measured
+        if (prepared.length != accounts || repository.findById(1).isEmpty()) throw new IllegalStateException();
+    }
+
+    interface Range {
+        void run(int from, int to);
+    }
+
+    static void parallel(int threads, int total, Range range) throws InterruptedException {
+        List<Thread> workers = new ArrayList<>(threads);
+        int chunk = (total + threads - 1) / threads;
+        for (int t = 0; t < threads; t++) {
+            int from = t * chunk;
+            int to = Math.min(total, from + chunk);
+            Thread worker = new Thread(() -> range.run(from, to));
+            worker.start();
+            workers.add(worker);
+        }
+        for (Thread worker : workers) worker.join();
+    }
+
+    static long usedHeap() throws InterruptedException {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+            Thread.sleep(100);
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
@@ -0,0 +1,48 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+/**
+ * Many threads depositing into one account: a lock around deposit (what we want to avoid), the CAS-based
+ * standard balance and the striped hot balance. Every run checks that no deposit was lost.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.BalanceContentionBenchmark [depositsPerThread] [maxThreads]
+ */
+public class BalanceContentionBenchmark {
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("Balance contention benchmark: depositsPerThread=" + perThread + "\n");
+
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            System.out.println("=== threads=" + threads + " ===");
+            run("synchronized deposit", BalanceMode.STANDARD, true, threads, perThread);
+            run("CAS (STANDARD)", BalanceMode.STANDARD, false, threads, perThread);
+            run("striped (HOT)", BalanceMode.HOT, false, threads, perThread);
+            System.out.println();
+        }
+    }
+
+    private static void run(String label, BalanceMode mode, boolean locked, int threads, int perThread) throws InterruptedException {
+        Account account = Account.newAccount("treasury", Money.zero(Money.DEFAULT_CURRENCY), mode);
+        Money amount = Money.ofMinor(1, Money.DEFAULT_CURRENCY);
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            for (int i = 0; i < perThread; i++) {
+                if (locked) {
+                    synchronized (account) {
+                        account.deposit(amount);
+                    }
+                } else {
+                    account.deposit(amount);
+                }
+            }
+        });
+        long nanos = System.nanoTime() - start;
+        long expected = (long) threads * perThread;
+        if (account.getBalanceMinorUnits() != expected) throw new IllegalStateException(label + " lost deposits: " + account.getBalance() + " != " + expected);
+        System.out.printf("%-22s %,14.0f deposits/s%n", label, (long) threads * perThread / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,113 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.in.tcp.BinaryAccountServer;
+import org.neolcr.hexagonal.account.adapter.in.tcp.BinaryProtocol;
+import org.neolcr.hexagonal.account.adapter.in.web.AccountHttpServer;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * createAccount throughput over loopback: {@link AccountHttpServer} (HTTP/1.1 + JSON, one request in flight per
+ * keep-alive connection) against {@link BinaryAccountServer} at several pipeline depths. Both servers sit on the
+ * same in-memory repository type and the same number of client connections.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.BinaryProtocolBenchmark [connections] [requestsPerConnection] [depths]
+ */
+public class BinaryProtocolBenchmark {
+    public static void main(String[] args) throws Exception {
+        HttpLoadBenchmark.tuneJdkHttpServer();
+        int connections = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 5_000;
+        int[] depths = Arrays.stream((args.length > 2 ? args[2] : "1,16,128").split(",")).mapToInt(Integer::parseInt).toArray();
+        int ioThreads = Runtime.getRuntime().availableProcessors();
+        System.out.println("Binary protocol benchmark: connections=" + connections + " requestsPerConnection=" + requests
+                + " ioThreads=" + ioThreads + "\n");
+
+        System.out.println("=== HTTP/JSON (AccountHttpServer) ===");
+        double http;
+        try (AccountHttpServer server = new AccountHttpServer(new CreateAccountService(new OpenAddressingAccountRepository()),
+                new InetSocketAddress("127.0.0.1", 0), Integer.MAX_VALUE).start()) {
+            InetSocketAddress target = new InetSocketAddress("127.0.0.1", server.port());
+            HttpLoadBenchmark.run(target, connections, Math.max(1, requests / 10)); // warm-up
+            http = HttpLoadBenchmark.run(target, connections, requests);
+        }
+
+        for (int depth : depths) {
+            System.out.println("=== binary (BinaryAccountServer), pipeline depth " + depth + " ===");
+            try (BinaryAccountServer server = new BinaryAccountServer(new CreateAccountService(new OpenAddressingAccountRepository()),
+                    new InetSocketAddress("127.0.0.1", 0), ioThreads).start()) {
+                InetSocketAddress target = new InetSocketAddress("127.0.0.1", server.port());
+                runBinary(target, connections, Math.max(depth, requests / 10), depth); // warm-up
+                double binary = runBinary(target, connections, requests, depth);
+                System.out.printf("vs HTTP    : %.1fx%n%n", binary / http);
+            }
+        }
+    }
+
+    private static double runBinary(InetSocketAddress target, int connections, int requests, int depth) throws InterruptedException {
+        LongAdder created = new LongAdder();
+        LongAdder failed = new LongAdder();
+        long start = System.nanoTime();
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    byte[] owner = ("binary-" + client).getBytes(StandardCharsets.UTF_8);
+                    BigDecimal amount = new BigDecimal("10.00");
+                    int frame = BinaryProtocol.createRequestSize(owner);
+                    ByteBuffer out = ByteBuffer.allocate(frame * depth);
+                    ByteBuffer in = ByteBuffer.allocate(BinaryProtocol.MAX_RESPONSE * depth);
+                    try (SocketChannel channel = SocketChannel.open(target)) {
+                        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                        long correlation = 0;
+                        for (int sent = 0; sent < requests; ) {
+                            int window = Math.min(depth, requests - sent);
+                            out.clear();
+                            for (int i = 0; i < window; i++) BinaryProtocol.putCreateRequest(out, correlation + i, owner, amount);
+                            out.flip();
+                            while (out.hasRemaining()) channel.write(out);
+                            for (int i = 0; i < window; i++) {
+                                if (readResponse(channel, in, correlation + i)) created.increment();
+                                else failed.increment();
+                            }
+                            correlation += window;
+                            sent += window;
+                        }
+                    }
+                    return null;
+                });
+            }
+        }
+        long nanos = System.nanoTime() - start;
+        double throughput = (long) connections * requests / (nanos / 1e9);
+        System.out.printf("throughput : %,.0f req/s (%,d created, %,d failed)%n", throughput, created.sum(), failed.sum());
+        if (created.sum() != (long) connections * requests) throw new IllegalStateException("missing responses");
+        return throughput;
+    }
+
+    /** Reads the next response (in stays in write mode between calls) and returns whether it reported success. */
+    private static boolean readResponse(SocketChannel channel, ByteBuffer in, long expectedCorrelation) throws IOException {
+        while (in.position() < Integer.BYTES || in.position() < Integer.BYTES + in.getInt(0)) {
+            if (channel.read(in) < 0) throw new EOFException("server closed connection");
+        }
+        int end = Integer.BYTES + in.getInt(0);
+        if (in.getLong(Integer.BYTES) != expectedCorrelation) throw new IllegalStateException("out of order response");
+        boolean ok = in.get(Integer.BYTES + Long.BYTES) == BinaryProtocol.STATUS_OK;
+        in.flip().position(end);
+        in.compact();
+        return ok;
+    }
+}
@@ -0,0 +1,43 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountCommand;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Onboarding-style import: the same commands created one call at a time vs through
+ * {@link CreateAccountUseCase#createAccounts} in fixed-size batches.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.BulkCreateBenchmark [accounts] [batchSize]
+ */
+public class BulkCreateBenchmark {
+    public static void main(String[] args) {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        List<CreateAccountCommand> commands = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) commands.add(new CreateAccountCommand("owner-" + i, BigDecimal.TEN));
+        System.out.println("Bulk create benchmark: accounts=" + accounts + " batchSize=" + batchSize + "\n");
+
+        for (int round = 0; round < 3; round++) { // first rounds double as JIT warm-up
+            CreateAccountUseCase single = new CreateAccountService(new OpenAddressingAccountRepository());
+            long start = System.nanoTime();
+            for (CreateAccountCommand c : commands) single.createAccount(c.ownerName(), c.initialBalance());
+            long singleNanos = System.nanoTime() - start;
+
+            CreateAccountUseCase bulk = new CreateAccountService(new OpenAddressingAccountRepository());
+            start = System.nanoTime();
+            for (int from = 0; from < accounts; from += batchSize) {
+                bulk.createAccounts(commands.subList(from, Math.min(accounts, from + batchSize)));
+            }
+            long bulkNanos = System.nanoTime() - start;
+
+            System.out.printf("round %d: single %,12.0f accounts/s | batched %,12.0f accounts/s | speed-up %.1fx%n",
+                    round, accounts / (singleNanos / 1e9), accounts / (bulkNanos / 1e9), singleNanos / (double) bulkNanos);
+        }
+    }
+}
@@ -0,0 +1,92 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.cache.CacheStats;
+import org.neolcr.hexagonal.account.adapter.out.cache.CachingAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * Hit rate and read throughput of {@link CachingAccountRepository} for Zipf-distributed account ids
+ * (exponent 0.99, as in YCSB) at several cache sizes. The backing repository burns a few microseconds per
+ * lookup to stand in for a slower, durable store.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.CacheBenchmark [accounts] [reads] [threads]
+ */
+public class CacheBenchmark {
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int reads = args.length > 1 ? Integer.parseInt(args[1]) : 4_000_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("Cache benchmark: accounts=" + accounts + " reads=" + reads + " threads=" + threads + "\n");
+
+        AccountRepository backing = new OpenAddressingAccountRepository();
+        List<Account> batch = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) batch.add(Account.newAccount("owner-" + i, Money.ofMinor(1000, Money.DEFAULT_CURRENCY)));
+        backing.saveAll(batch);
+        AccountRepository slow = new SlowRepository(backing, 2_000);
+        ZipfianKeys keys = new ZipfianKeys(accounts, 0.99);
+
+        run("no cache", slow, keys, reads, threads);
+        for (double fraction : new double[]{0.001, 0.01, 0.05}) {
+            int size = (int) (accounts * fraction);
+            CachingAccountRepository cache = new CachingAccountRepository(slow, size);
+            run("cache " + size + " (" + fraction * 100 + "%)", cache, keys, reads, threads);
+            CacheStats stats = cache.stats();
+            System.out.printf("    hit rate %.1f%%, evictions %,d, rejected admissions %,d%n", stats.hitRate() * 100, stats.evictions(), stats.rejections());
+        }
+    }
+
+    private static void run(String label, AccountRepository repository, ZipfianKeys keys, int reads, int threads) throws InterruptedException {
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, reads, (from, to) -> {
+            for (int i = from; i < to; i++) {
+                if (repository.findById(keys.next()).isEmpty()) throw new IllegalStateException("missing account");
+            }
+        });
+        System.out.printf("%-22s %,12.0f reads/s%n", label, reads / ((System.nanoTime() - start) / 1e9));
+    }
+
+    /** Ids 1..n where id k is drawn with probability proportional to 1 / k^exponent. */
+    static final class ZipfianKeys {
+        private final double[] cumulative;
+
+        ZipfianKeys(int n, double exponent) {
+            cumulative = new double[n];
+            double sum = 0;
+            for (int k = 1; k <= n; k++) {
+                sum += 1.0 / Math.pow(k, exponent);
+                cumulative[k - 1] = sum;
+            }
+            for (int i = 0; i < n; i++) cumulative[i] /= sum;
+        }
+
+        long next() {
+            int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+            return (index >= 0 ? index : -index - 1) + 1;
+        }
+    }
+
+    /** Adds a fixed busy-wait to every lookup. */
+    private record SlowRepository(AccountRepository delegate, long lookupNanos) implements AccountRepository {
+        @Override
+        public Optional<Account> findById(long id) {
+            long until = System.nanoTime() + lookupNanos;
+            while (System.nanoTime() < until) Thread.onSpinWait();
+            return delegate.findById(id);
+        }
+
+        @Override public Account save(Account account) { return delegate.save(account); }
+        @Override public List<Account> saveAll(List<Account> accounts) { return delegate.saveAll(accounts); }
+        @Override public long count() { return delegate.count(); }
+        @Override public void forEach(Consumer<Account> action) { delegate.forEach(action); }
+    }
+}
@@ -0,0 +1,141 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.codec.AccountCodec;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.lang.management.ManagementFactory;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Currency;
+import java.util.List;
+
+/**
+ * {@link AccountCodec}: round trips through heap, direct, little-endian and memory-mapped buffers for owner names
+ * from ASCII to astral-plane characters, then encode/decode throughput and allocation per account for heap and
+ * direct buffers against a baseline that goes through a byte[] per owner name and record (what the log format did
+ * before the codec).
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.CodecBenchmark [accounts] [rounds]
+ */
+public class CodecBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        System.out.println("Codec benchmark: accounts=" + accounts + " rounds=" + rounds + "\n");
+
+        roundTrips();
+
+        Account[] sample = new Account[accounts];
+        int bytes = 0;
+        for (int i = 0; i < accounts; i++) {
+            sample[i] = new Account((long) i + 1, "owner-" + i, Money.ofMinor(i * 100L, Money.DEFAULT_CURRENCY));
+            bytes += AccountCodec.encodedSize(sample[i]);
+        }
+        System.out.printf("%.1f bytes per account encoded%n%n", bytes / (double) accounts);
+        ByteBuffer heap = ByteBuffer.allocate(bytes);
+        ByteBuffer direct = ByteBuffer.allocateDirect(bytes);
+        ByteBuffer legacy = ByteBuffer.allocateDirect(accounts * 64);
+        double[][] results = new double[6][2];
+        for (int round = 0; round < rounds; round++) { // alternate so every variant sees the same JIT and cache state
+            results[0] = measure(accounts, () -> encode(sample, heap.clear()));
+            results[1] = measure(accounts, () -> decode(accounts, heap.flip()));
+            results[2] = measure(accounts, () -> encode(sample, direct.clear()));
+            results[3] = measure(accounts, () -> decode(accounts, direct.flip()));
+            results[4] = measure(accounts, () -> legacyEncode(sample, legacy.clear()));
+            results[5] = measure(accounts, () -> legacyDecode(accounts, legacy.flip()));
+        }
+        String[] labels = {"codec encode, heap", "codec decode, heap", "codec encode, direct", "codec decode, direct",
+                "byte[] encode, direct", "byte[] decode, direct"};
+        for (int i = 0; i < labels.length; i++) {
+            System.out.printf("%-22s: %6.1f ns/account %,12.0f accounts/s %6.1f B/account%n",
+                    labels[i], results[i][0], 1e9 / results[i][0], results[i][1]);
+        }
+    }
+
+    private static void roundTrips() throws Exception {
+        List<Account> accounts = List.of(
+                new Account(1L, "Ada", Money.ofMinor(12_50, Money.DEFAULT_CURRENCY)),
+                new Account(Long.MAX_VALUE, "Zoë Müller-Lüdenscheidt", Money.ofMinor(0, Currency.getInstance("CHF")), BalanceMode.HOT),
+                new Account(42L, "山田太郎", Money.ofMinor(Long.MAX_VALUE, Currency.getInstance("JPY"))),
+                new Account(7L, "emoji 🚀 and lone \uD800 surrogate", Money.ofMinor(1, Currency.getInstance("USD"))),
+                new Account(8L, "x".repeat(1000), Money.ofMinor(99, Currency.getInstance("KWD"))),
+                Account.newAccount("not yet persisted", null));
+        Path file = Files.createTempFile("codec", ".bin");
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer[] buffers = {ByteBuffer.allocate(4096), ByteBuffer.allocateDirect(4096),
+                    ByteBuffer.allocateDirect(4096).order(ByteOrder.LITTLE_ENDIAN), channel.map(FileChannel.MapMode.READ_WRITE, 0, 4096)};
+            for (ByteBuffer buffer : buffers) {
+                for (Account account : accounts) AccountCodec.encode(account, buffer);
+                buffer.flip();
+                for (Account expected : accounts) check(expected, AccountCodec.decode(buffer));
+                if (buffer.hasRemaining()) throw new IllegalStateException("trailing bytes");
+            }
+            ByteBuffer money = ByteBuffer.allocate(AccountCodec.MONEY_SIZE);
+            AccountCodec.encodeMoney(Money.ofMinor(-5, Money.DEFAULT_CURRENCY), money);
+            if (!AccountCodec.decodeMoney(money.flip()).equals(Money.ofMinor(-5, Money.DEFAULT_CURRENCY))) throw new IllegalStateException("money");
+        } finally {
+            Files.delete(file);
+        }
+        System.out.println("round trips ok: " + accounts.size() + " accounts through heap, direct, little-endian and mapped buffers\n");
+    }
+
+    private static void check(Account expected, Account actual) {
+        String owner = new String(expected.getOwnerName().getBytes(StandardCharsets.UTF_8), StandardCharsets.UTF_8); // lone surrogate -> '?'
+        if (!java.util.Objects.equals(expected.getId(), actual.getId()) || !owner.equals(actual.getOwnerName())
+                || !expected.getBalance().equals(actual.getBalance()) || expected.getBalanceMode() != actual.getBalanceMode()) {
+            throw new IllegalStateException("round trip mismatch for " + expected.getOwnerName());
+        }
+    }
+
+    private static void encode(Account[] accounts, ByteBuffer buffer) {
+        for (Account account : accounts) AccountCodec.encode(account, buffer);
+    }
+
+    private static long decode(int count, ByteBuffer buffer) {
+        long sum = 0;
+        for (int i = 0; i < count; i++) sum += AccountCodec.decode(buffer).getBalanceMinorUnits();
+        return sum;
+    }
+
+    private static void legacyEncode(Account[] accounts, ByteBuffer buffer) {
+        for (Account account : accounts) {
+            byte[] owner = account.getOwnerName().getBytes(StandardCharsets.UTF_8);
+            String currency = account.getCurrency().getCurrencyCode();
+            ByteBuffer record = ByteBuffer.allocate(8 + 4 + owner.length + 3 + 8);
+            record.putLong(account.getId()).putInt(owner.length).put(owner);
+            for (int i = 0; i < 3; i++) record.put((byte) currency.charAt(i));
+            buffer.put(record.putLong(account.getBalanceMinorUnits()).flip());
+        }
+    }
+
+    private static long legacyDecode(int count, ByteBuffer buffer) {
+        long sum = 0;
+        for (int i = 0; i < count; i++) {
+            long id = buffer.getLong();
+            byte[] owner = new byte[buffer.getInt()];
+            buffer.get(owner);
+            char[] code = {(char) buffer.get(), (char) buffer.get(), (char) buffer.get()};
+            Money balance = Money.ofMinor(buffer.getLong(), Currency.getInstance(new String(code)));
+            sum += new Account(id, new String(owner, StandardCharsets.UTF_8), balance).getBalanceMinorUnits();
+        }
+        return sum;
+    }
+
+    private static double[] measure(int accounts, Runnable body) {
+        long allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+        long start = System.nanoTime();
+        body.run();
+        long nanos = System.nanoTime() - start;
+        allocated = THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId()) - allocated;
+        return new double[]{nanos / (double) accounts, allocated / (double) accounts};
+    }
+}
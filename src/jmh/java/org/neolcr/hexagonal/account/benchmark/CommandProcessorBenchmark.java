@@ -0,0 +1,112 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.application.command.AccountCommandProcessor;
+import org.neolcr.hexagonal.account.application.command.CreateAccount;
+import org.neolcr.hexagonal.account.application.command.Deposit;
+import org.neolcr.hexagonal.account.application.metrics.HistogramSnapshot;
+import org.neolcr.hexagonal.account.application.metrics.LatencyHistogram;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Deposits into a small set of hot accounts from many threads: directly (CAS deposit + save on a shared
+ * repository) and through {@link AccountCommandProcessor} (one writer per partition, batched saves). The
+ * processor is measured for throughput with a window of outstanding futures per producer and for latency with
+ * one outstanding command per producer. Every run checks that no deposit was lost.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.CommandProcessorBenchmark [depositsPerThread] [threads] [partitions] [accounts]
+ */
+public class CommandProcessorBenchmark {
+    private static final Money AMOUNT = Money.ofMinor(1, Money.DEFAULT_CURRENCY);
+
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        int partitions = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        int accounts = args.length > 3 ? Integer.parseInt(args[3]) : 64;
+        System.out.println("Command processor benchmark: depositsPerThread=" + perThread + " threads=" + threads
+                + " partitions=" + partitions + " accounts=" + accounts + "\n");
+
+        direct(perThread, threads, accounts);
+        try (AccountCommandProcessor processor = new AccountCommandProcessor(partitions, 1 << 14, 4096,
+                i -> new OpenAddressingAccountRepository(new SequenceIdGenerator(AccountCommandProcessor.firstId(i))))) {
+            long[] ids = new long[accounts];
+            for (int i = 0; i < accounts; i++) ids[i] = processor.submit(new CreateAccount("hot-" + i, Money.zero(Money.DEFAULT_CURRENCY))).join();
+            long before = totalBalance(processor, ids);
+            throughput(processor, ids, perThread, threads, 1024);
+            latency(processor, ids, perThread / 10, threads);
+            long expected = before + (long) threads * perThread + (long) threads * (perThread / 10);
+            if (totalBalance(processor, ids) != expected) throw new IllegalStateException("lost deposits");
+        }
+    }
+
+    private static void direct(int perThread, int threads, int accounts) throws InterruptedException {
+        AccountRepository repository = new OpenAddressingAccountRepository();
+        long[] ids = new long[accounts];
+        for (int i = 0; i < accounts; i++) ids[i] = repository.save(Account.newAccount("hot-" + i, Money.zero(Money.DEFAULT_CURRENCY))).getId();
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < perThread; i++) {
+                Account account = repository.findById(ids[random.nextInt(ids.length)]).orElseThrow();
+                account.deposit(AMOUNT);
+                repository.save(account);
+            }
+        });
+        long nanos = System.nanoTime() - start;
+        long total = 0;
+        for (long id : ids) total += repository.findById(id).orElseThrow().getBalanceMinorUnits();
+        if (total != (long) threads * perThread) throw new IllegalStateException("lost deposits");
+        System.out.printf("direct (CAS + save)          : %,14.0f deposits/s%n", (long) threads * perThread / (nanos / 1e9));
+    }
+
+    private static void throughput(AccountCommandProcessor processor, long[] ids, int perThread, int threads, int window) throws InterruptedException {
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            List<CompletableFuture<Money>> outstanding = new ArrayList<>(window);
+            for (int i = 0; i < perThread; i++) {
+                outstanding.add(processor.submit(new Deposit(ids[random.nextInt(ids.length)], AMOUNT)));
+                if (outstanding.size() == window) {
+                    for (CompletableFuture<Money> f : outstanding) f.join();
+                    outstanding.clear();
+                }
+            }
+            for (CompletableFuture<Money> f : outstanding) f.join();
+        });
+        long nanos = System.nanoTime() - start;
+        System.out.printf("processor, window %-4d       : %,14.0f deposits/s%n", window, (long) threads * perThread / (nanos / 1e9));
+    }
+
+    private static void latency(AccountCommandProcessor processor, long[] ids, int perThread, int threads) throws InterruptedException {
+        LatencyHistogram histogram = new LatencyHistogram("deposit", threads, 1);
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < perThread; i++) {
+                long t0 = System.nanoTime();
+                processor.submit(new Deposit(ids[random.nextInt(ids.length)], AMOUNT)).join();
+                histogram.record(System.nanoTime() - t0);
+            }
+        });
+        long nanos = System.nanoTime() - start;
+        HistogramSnapshot s = histogram.snapshot();
+        System.out.printf("processor, 1 outstanding     : %,14.0f deposits/s p50=%s p99=%s p999=%s max=%s%n",
+                (long) threads * perThread / (nanos / 1e9), WalBenchmark.micros(s.percentile(50)), WalBenchmark.micros(s.percentile(99)),
+                WalBenchmark.micros(s.percentile(99.9)), WalBenchmark.micros(s.max()));
+    }
+
+    private static long totalBalance(AccountCommandProcessor processor, long[] ids) {
+        long total = 0;
+        for (long id : ids) total += processor.findById(id).orElseThrow().getBalanceMinorUnits();
+        return total;
+    }
+}
@@ -0,0 +1,206 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.in.web.AccountHttpServer;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+
+import java.io.BufferedInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Closed-loop load generator for {@link AccountHttpServer}: one virtual thread per keep-alive connection, each
+ * sending {@code POST /accounts} back to back. All connections are opened before the first request, so the
+ * server really holds that many concurrent connections. Reports throughput, shed (503) requests and
+ * p50/p99/p999 latency of the successful ones for every connection count.
+ *
+ * Every connection costs a file descriptor on both ends and loopback offers ~28k ephemeral ports per source
+ * address, so connections are spread over several 127.0.0.x source addresses; for 10k+ connections run the
+ * server in its own process and raise {@code ulimit -n} for both, e.g.
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.HttpLoadBenchmark serve 8080 1024
+ * java -Xss256k -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.HttpLoadBenchmark 10000,50000 20 localhost:8080
+ *
+ * Without a target the server runs in-process: HttpLoadBenchmark [connections,...] [requestsPerConnection] [maxInFlight]
+ */
+public class HttpLoadBenchmark {
+    private static final int SOURCE_ADDRESSES = 8;
+
+    /**
+     * Sets the JDK server's keep-alive tuning (see {@link AccountHttpServer}) unless given with {@code -D}; must run
+     * before the first server is created.
+     */
+    static void tuneJdkHttpServer() {
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) System.setProperty("sun.net.httpserver.nodelay", "true");
+        if (System.getProperty("sun.net.httpserver.maxIdleConnections") == null) System.setProperty("sun.net.httpserver.maxIdleConnections", "100000");
+    }
+
+    public static void main(String[] args) throws Exception {
+        tuneJdkHttpServer();
+        if (args.length > 0 && args[0].equals("serve")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : 8080;
+            int maxInFlight = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+            AccountHttpServer server = new AccountHttpServer(new CreateAccountService(new OpenAddressingAccountRepository()),
+                    new InetSocketAddress(port), maxInFlight, 65_535).start();
+            System.out.println("serving POST /accounts on port " + server.port() + " maxInFlight=" + maxInFlight);
+            Thread.currentThread().join();
+        }
+        int[] connectionCounts = Arrays.stream((args.length > 0 ? args[0] : "10000,50000").split(",")).mapToInt(Integer::parseInt).toArray();
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        AccountHttpServer server = null;
+        InetSocketAddress target;
+        if (args.length > 2 && args[2].contains(":")) {
+            String[] hostPort = args[2].split(":");
+            target = new InetSocketAddress(hostPort[0], Integer.parseInt(hostPort[1]));
+        } else {
+            int maxInFlight = args.length > 2 ? Integer.parseInt(args[2]) : 1024;
+            server = new AccountHttpServer(new CreateAccountService(new OpenAddressingAccountRepository()),
+                    new InetSocketAddress("127.0.0.1", 0), maxInFlight, 65_535).start();
+            target = new InetSocketAddress("127.0.0.1", server.port());
+        }
+        System.out.println("HTTP load benchmark: target=" + target + " requestsPerConnection=" + requests + "\n");
+        try {
+            for (int connections : connectionCounts) run(target, connections, requests);
+        } finally {
+            if (server != null) {
+                System.out.println("server shed " + server.shedCount() + " requests in total");
+                server.close();
+            }
+        }
+    }
+
+    /** Runs one closed-loop round and returns its throughput in requests per second. */
+    static double run(InetSocketAddress target, int connections, int requests) throws InterruptedException {
+        System.out.println("=== " + connections + " connections ===");
+        long[][] latencies = new long[connections][requests];
+        int[] completed = new int[connections];
+        LongAdder shed = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder reconnects = new LongAdder();
+        CountDownLatch connected = new CountDownLatch(connections);
+        CountDownLatch go = new CountDownLatch(1);
+        long[] start = new long[1];
+        long nanos;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int c = 0; c < connections; c++) {
+                int client = c;
+                clients.submit(() -> {
+                    byte[] request = request(target, client);
+                    Socket socket = null;
+                    try {
+                        socket = connect(target, client);
+                    } catch (IOException e) {
+                        failed.add(requests);
+                    } finally {
+                        connected.countDown();
+                    }
+                    if (socket == null) return null;
+                    int sent = 0;
+                    try {
+                        go.await();
+                        for (; sent < requests; sent++) {
+                            long t0 = System.nanoTime();
+                            int status;
+                            try {
+                                status = exchange(socket, request);
+                            } catch (IOException e) {
+                                // server closed the idle connection between requests: reconnect once and retry
+                                socket.close();
+                                reconnects.increment();
+                                socket = connect(target, client);
+                                t0 = System.nanoTime();
+                                status = exchange(socket, request);
+                            }
+                            long latency = System.nanoTime() - t0;
+                            if (status == 201) latencies[client][completed[client]++] = latency;
+                            else if (status == 503) shed.increment();
+                            else failed.increment();
+                        }
+                    } catch (IOException | InterruptedException e) {
+                        failed.add(requests - sent);
+                    } finally {
+                        try {
+                            socket.close();
+                        } catch (IOException ignored) {
+                        }
+                    }
+                    return null;
+                });
+            }
+            connected.await();
+            start[0] = System.nanoTime();
+            go.countDown();
+        }
+        nanos = System.nanoTime() - start[0];
+
+        long[] all = new long[Arrays.stream(completed).sum()];
+        int n = 0;
+        for (int c = 0; c < connections; c++) {
+            System.arraycopy(latencies[c], 0, all, n, completed[c]);
+            n += completed[c];
+        }
+        Arrays.sort(all);
+        double throughput = (long) connections * requests / (nanos / 1e9);
+        System.out.printf("throughput : %,.0f req/s (%,d created, %,d shed with 503, %,d failed, %,d reconnects)%n",
+                throughput, all.length, shed.sum(), failed.sum(), reconnects.sum());
+        if (all.length > 0) {
+            System.out.printf("latency    : p50=%s p99=%s p999=%s max=%s%n%n",
+                    WalBenchmark.micros(WalBenchmark.percentile(all, 50)), WalBenchmark.micros(WalBenchmark.percentile(all, 99)),
+                    WalBenchmark.micros(WalBenchmark.percentile(all, 99.9)), WalBenchmark.micros(all[all.length - 1]));
+        }
+        return throughput;
+    }
+
+    private static Socket connect(InetSocketAddress target, int client) throws IOException {
+        Socket socket = new Socket();
+        if (target.getAddress().isLoopbackAddress()) {
+            socket.bind(new InetSocketAddress("127.0.0." + (1 + client % SOURCE_ADDRESSES), 0));
+        }
+        socket.setTcpNoDelay(true);
+        socket.connect(target, 60_000);
+        socket.setSoTimeout(120_000);
+        return socket;
+    }
+
+    private static byte[] request(InetSocketAddress target, int client) {
+        String body = "{\"ownerName\":\"load-" + client + "\",\"initialBalance\":10.00}";
+        return ("POST /accounts HTTP/1.1\r\nHost: " + target.getHostString() + ":" + target.getPort()
+                + "\r\nContent-Type: application/json\r\nContent-Length: " + body.length() + "\r\n\r\n" + body)
+                .getBytes(StandardCharsets.US_ASCII);
+    }
+
+    /** Sends one request and reads the whole response; returns the status code. */
+    private static int exchange(Socket socket, byte[] request) throws IOException {
+        OutputStream out = socket.getOutputStream();
+        out.write(request);
+        out.flush();
+        InputStream in = new BufferedInputStream(socket.getInputStream(), 512);
+        String statusLine = readLine(in);
+        int status = Integer.parseInt(statusLine.substring(9, 12));
+        int contentLength = 0;
+        for (String header = readLine(in); !header.isEmpty(); header = readLine(in)) {
+            if (header.regionMatches(true, 0, "Content-Length:", 0, 15)) contentLength = Integer.parseInt(header.substring(15).trim());
+        }
+        if (in.readNBytes(contentLength).length != contentLength) throw new EOFException("truncated body");
+        if (in.available() > 0) throw new IOException("unexpected bytes after response");
+        return status;
+    }
+
+    private static String readLine(InputStream in) throws IOException {
+        StringBuilder sb = new StringBuilder(64);
+        for (int b = in.read(); b != '\n'; b = in.read()) {
+            if (b < 0) throw new EOFException("connection closed");
+            if (b != '\r') sb.append((char) b);
+        }
+        return sb.toString();
+    }
+}
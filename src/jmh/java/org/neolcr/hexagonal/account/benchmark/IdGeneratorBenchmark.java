@@ -0,0 +1,65 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.BlockIdGenerator;
+import org.neolcr.hexagonal.account.adapter.out.persistence.IdGenerator;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Scaling of id generation with thread count: one shared AtomicLong vs per-thread blocks.
+ * Each run also checks that no id was handed out twice, then repeats the measurement end-to-end
+ * through {@link CreateAccountService#createAccount}.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.IdGeneratorBenchmark [opsPerThread] [maxThreads]
+ */
+public class IdGeneratorBenchmark {
+    public static void main(String[] args) throws Exception {
+        int opsPerThread = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("Id generator benchmark: opsPerThread=" + opsPerThread + " maxThreads=" + maxThreads + "\n");
+
+        for (int threads = 1; threads <= maxThreads; threads <<= 1) {
+            System.out.println("=== threads=" + threads + " ===");
+            generate("sequence (AtomicLong)", SequenceIdGenerator::new, threads, opsPerThread);
+            generate("block (1024 per thread)", BlockIdGenerator::new, threads, opsPerThread);
+            create("createAccount + sequence", SequenceIdGenerator::new, threads, opsPerThread / 4);
+            create("createAccount + block", BlockIdGenerator::new, threads, opsPerThread / 4);
+            System.out.println();
+        }
+    }
+
+    private static void generate(String name, Supplier<IdGenerator> factory, int threads, int opsPerThread) throws InterruptedException {
+        IdGenerator generator = factory.get();
+        long[][] issued = new long[threads][opsPerThread];
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            long[] mine = issued[from];
+            for (int i = 0; i < mine.length; i++) mine[i] = generator.nextId();
+        });
+        long nanos = System.nanoTime() - start;
+        long[] all = Arrays.stream(issued).flatMapToLong(Arrays::stream).sorted().toArray();
+        for (int i = 1; i < all.length; i++) {
+            if (all[i] == all[i - 1]) throw new IllegalStateException(name + " issued duplicate id " + all[i]);
+        }
+        report(name, (long) threads * opsPerThread, nanos);
+    }
+
+    private static void create(String name, Supplier<IdGenerator> factory, int threads, int opsPerThread) throws InterruptedException {
+        CreateAccountUseCase useCase = new CreateAccountService(new OpenAddressingAccountRepository(factory.get()));
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            for (int i = 0; i < opsPerThread; i++) useCase.createAccount("owner", BigDecimal.ONE);
+        });
+        report(name, (long) threads * opsPerThread, System.nanoTime() - start);
+    }
+
+    private static void report(String name, long ops, long nanos) {
+        System.out.printf("%-26s %,15.0f ops/s%n", name, ops / (nanos / 1e9));
+    }
+}
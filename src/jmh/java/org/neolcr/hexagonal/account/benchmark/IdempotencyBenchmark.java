@@ -0,0 +1,68 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+import org.neolcr.hexagonal.account.application.service.IdempotentCreateAccountService;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+
+/**
+ * Cost of idempotency keys on account creation: creations without a key through the plain service and through
+ * {@link IdempotentCreateAccountService}, creations with a fresh key each (cache insert plus eviction at the size
+ * bound), then a retry storm where every thread sends the same keys at the same time and exactly one account per
+ * key must exist afterwards.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.IdempotencyBenchmark [creations] [threads] [maxKeys]
+ */
+public class IdempotencyBenchmark {
+    private static final BigDecimal BALANCE = new BigDecimal("10.00");
+
+    public static void main(String[] args) throws Exception {
+        int creations = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Math.max(2, Runtime.getRuntime().availableProcessors());
+        int maxKeys = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+        System.out.println("Idempotency benchmark: creations=" + creations + " threads=" + threads + " maxKeys=" + maxKeys + "\n");
+
+        for (int round = 0; round < 3; round++) {
+            boolean last = round == 2;
+            CreateAccountService plain = new CreateAccountService(new OpenAddressingAccountRepository());
+            run(last, "no key, plain service", creations, threads, i -> plain.createAccount("owner-" + i, BALANCE));
+            IdempotentCreateAccountService passThrough = service(new OpenAddressingAccountRepository(), maxKeys);
+            run(last, "no key, idempotent service", creations, threads, i -> passThrough.createAccount("owner-" + i, BALANCE));
+            IdempotentCreateAccountService keyed = service(new OpenAddressingAccountRepository(), maxKeys);
+            run(last, "fresh key per creation", creations, threads, i -> keyed.createAccount("key-" + i, "owner-" + i, BALANCE));
+            if (keyed.keyCount() > maxKeys + threads) throw new IllegalStateException("cache exceeded its bound: " + keyed.keyCount());
+            if (last) System.out.printf("  keys remembered afterwards: %,d%n", keyed.keyCount());
+        }
+
+        int keys = Math.min(maxKeys, creations / 100);
+        AccountRepository repository = new OpenAddressingAccountRepository();
+        IdempotentCreateAccountService storm = service(repository, maxKeys);
+        run(true, "retry storm, " + threads + " x same key", keys * threads, threads,
+                i -> storm.createAccount("key-" + i / threads, "owner-" + i / threads, BALANCE));
+        if (repository.count() != keys) throw new IllegalStateException("expected " + keys + " accounts, found " + repository.count());
+        System.out.printf("  %,d requests created %,d accounts%n", (long) keys * threads, repository.count());
+    }
+
+    private static IdempotentCreateAccountService service(AccountRepository repository, int maxKeys) {
+        CreateAccountUseCase delegate = new CreateAccountService(repository);
+        return new IdempotentCreateAccountService(delegate, maxKeys, Duration.ofMinutes(10));
+    }
+
+    interface Creation {
+        void create(int i);
+    }
+
+    private static void run(boolean print, String label, int creations, int threads, Creation creation) throws InterruptedException {
+        long start = System.nanoTime();
+        // in the storm, consecutive indices share a key, so interleave rather than split into ranges
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            for (int i = from; i < creations; i += threads) creation.create(i);
+        });
+        long nanos = System.nanoTime() - start;
+        if (print) System.out.printf("%-36s: %,12.0f requests/s%n", label, creations / (nanos / 1e9));
+    }
+}
@@ -0,0 +1,82 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.application.metrics.InstrumentedAccountRepository;
+import org.neolcr.hexagonal.account.application.metrics.LatencyHistogram;
+import org.neolcr.hexagonal.account.application.metrics.LatencyMetrics;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Cost of the latency instrumentation: findById through a plain repository and through
+ * {@link InstrumentedAccountRepository} (same store) timing every call and the default one in 8, with the
+ * per-call difference and the extra bytes allocated per call, then raw {@link LatencyHistogram#record}
+ * throughput on all threads. Ends with a text and JSON export.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.MetricsOverheadBenchmark [accounts] [lookups]
+ */
+public class MetricsOverheadBenchmark {
+    private static final com.sun.management.ThreadMXBean THREADS = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int lookups = args.length > 1 ? Integer.parseInt(args[1]) : 20_000_000;
+        System.out.println("Metrics overhead benchmark: accounts=" + accounts + " lookups=" + lookups + "\n");
+
+        AccountRepository plain = new OpenAddressingAccountRepository();
+        for (int i = 0; i < accounts; i++) plain.save(Account.newAccount("owner-" + i, Money.ofMinor(100, Money.DEFAULT_CURRENCY)));
+        LatencyMetrics metrics = new LatencyMetrics();
+        AccountRepository[] repositories = {plain, new InstrumentedAccountRepository(plain, new LatencyMetrics(1)),
+                new InstrumentedAccountRepository(plain, metrics)};
+        String[] labels = {"plain", "instrumented, every call", "instrumented, 1 in 8"};
+        long[] ids = new long[1 << 20];
+        for (int i = 0; i < ids.length; i++) ids[i] = 1 + ThreadLocalRandom.current().nextInt(accounts);
+
+        double[] nanos = new double[repositories.length];
+        double[] bytes = new double[repositories.length];
+        for (int round = 0; round < 5; round++) { // alternate so all variants see the same JIT and cache state
+            for (int r = 0; r < repositories.length; r++) {
+                long before = allocatedBytes();
+                nanos[r] = lookups(repositories[r], ids, lookups);
+                bytes[r] = (allocatedBytes() - before) / (double) lookups;
+            }
+        }
+        for (int r = 0; r < repositories.length; r++) {
+            System.out.printf("findById %-25s: %6.1f ns/op %5.1f B/op (overhead %6.1f ns/op %5.1f B/op)%n",
+                    labels[r], nanos[r], bytes[r], nanos[r] - nanos[0], bytes[r] - bytes[0]);
+        }
+        System.out.println();
+
+        int threads = Runtime.getRuntime().availableProcessors();
+        LatencyHistogram histogram = new LatencyHistogram("record", threads, 1);
+        int perThread = lookups / threads;
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            for (int i = 0; i < perThread; i++) histogram.record(i & 0xFFFF);
+        });
+        long elapsed = System.nanoTime() - start;
+        System.out.printf("record() on %d threads: %,.0f records/s (%.1f ns per record per thread)%n%n",
+                threads, (long) perThread * threads / (elapsed / 1e9), elapsed / (double) perThread);
+
+        System.out.print(metrics.snapshot().toText());
+        System.out.println(metrics.snapshot().toJson());
+    }
+
+    private static double lookups(AccountRepository repository, long[] ids, int lookups) {
+        int mask = ids.length - 1;
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) if (repository.findById(ids[i & mask]).isPresent()) found++;
+        long nanos = System.nanoTime() - start;
+        if (found != lookups) throw new IllegalStateException("missing accounts");
+        return nanos / (double) lookups;
+    }
+
+    private static long allocatedBytes() {
+        return THREADS.getThreadAllocatedBytes(Thread.currentThread().threadId());
+    }
+}
@@ -0,0 +1,160 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.MvccAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reporting scans racing transfers. Writers move one unit between two random accounts, either of their own (writer
+ * {@code t} owns every account whose index is {@code t} modulo the writer count) or of all accounts, shared with the
+ * other writers; the total balance is constant either way. A reporter sums all balances in a loop.
+ *
+ * Against {@link OpenAddressingAccountRepository} the reporter iterates live accounts while they change; against
+ * {@link MvccAccountRepository} it sums one snapshot per scan and the transfer is one {@code saveAll} of two copies,
+ * which a concurrent transfer on either account makes fail with ConcurrentModificationException (the writer reloads
+ * and retries). The run counts scans whose total is off, retried conflicts, transfer throughput with and without the
+ * reporter, and the versions the MVCC store retains while a long snapshot is open and after it is closed.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.MvccBenchmark [accounts] [writers] [seconds]
+ */
+public class MvccBenchmark {
+    private static final long INITIAL = 1_000;
+    private static final Money ONE = Money.ofMinor(1, Money.DEFAULT_CURRENCY);
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int writers = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        double seconds = args.length > 2 ? Double.parseDouble(args[2]) : 3;
+        System.out.println("MVCC benchmark: accounts=" + accounts + " writers=" + writers + " seconds=" + seconds
+                + " cpus=" + Runtime.getRuntime().availableProcessors() + "\n");
+
+        for (int round = 0; round < 2; round++) { // second round is the one to read; the first warms up the JIT
+            System.out.println("round " + (round + 1));
+            run("in-place, own, no reporter   ", new OpenAddressingAccountRepository(), accounts, writers, seconds, false, false);
+            run("in-place, own, reporter      ", new OpenAddressingAccountRepository(), accounts, writers, seconds, false, true);
+            run("mvcc, own, no reporter       ", new MvccAccountRepository(), accounts, writers, seconds, false, false);
+            run("mvcc, own, reporter          ", new MvccAccountRepository(), accounts, writers, seconds, false, true);
+            run("mvcc, shared, no reporter    ", new MvccAccountRepository(), accounts, writers, seconds, true, false);
+            run("mvcc, shared, reporter       ", new MvccAccountRepository(), accounts, writers, seconds, true, true);
+            run("mvcc, shared 64, no reporter ", new MvccAccountRepository(), 64, writers, seconds, true, false);
+            System.out.println();
+        }
+        longSnapshot(accounts, writers, seconds);
+    }
+
+    private static void run(String label, AccountRepository repository, int accounts, int writers, double seconds,
+                            boolean shared, boolean reporter) throws InterruptedException {
+        long[] ids = populate(repository, accounts);
+        long expected = accounts * INITIAL;
+        AtomicBoolean running = new AtomicBoolean(true);
+        long[] transfers = new long[writers];
+        long[] scans = new long[2]; // scans, inconsistent scans
+        LongAdder conflicts = new LongAdder();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            int writer = t;
+            threads.add(new Thread(() -> transfers[writer] = transfer(repository, ids, shared ? 0 : writer, shared ? 1 : writers, running, conflicts)));
+        }
+        if (reporter) {
+            threads.add(new Thread(() -> {
+                while (running.get()) {
+                    long[] total = {0};
+                    repository.forEach(a -> total[0] += a.getBalanceMinorUnits());
+                    scans[0]++;
+                    if (total[0] != expected) scans[1]++;
+                }
+            }));
+        }
+        for (Thread thread : threads) thread.start();
+        Thread.sleep((long) (seconds * 1000));
+        running.set(false);
+        for (Thread thread : threads) thread.join();
+
+        long total = 0;
+        for (long n : transfers) total += n;
+        long[] sum = {0};
+        repository.forEach(a -> sum[0] += a.getBalanceMinorUnits());
+        if (sum[0] != expected) throw new IllegalStateException("lost transfers");
+        System.out.printf("%s: %,12.0f transfers/s", label, total / seconds);
+        if (shared) System.out.printf("  %,d conflicts retried", conflicts.sum());
+        if (reporter) System.out.printf("  %,6d scans, %,6d inconsistent", scans[0], scans[1]);
+        if (repository instanceof MvccAccountRepository mvcc) {
+            System.out.printf("  retained versions %,d", mvcc.retainedVersions());
+        }
+        System.out.println();
+    }
+
+    /** Holds one snapshot open across a whole run, then closes it and collects garbage. */
+    private static void longSnapshot(int accounts, int writers, double seconds) throws InterruptedException {
+        MvccAccountRepository repository = new MvccAccountRepository();
+        long[] ids = populate(repository, accounts);
+        AtomicBoolean running = new AtomicBoolean(true);
+        MvccAccountRepository.Snapshot snapshot = repository.openSnapshot();
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < writers; t++) {
+            int writer = t;
+            threads.add(new Thread(() -> transfer(repository, ids, writer, writers, running, new LongAdder())));
+        }
+        for (Thread thread : threads) thread.start();
+        Thread.sleep((long) (seconds * 1000));
+        running.set(false);
+        for (Thread thread : threads) thread.join();
+
+        long[] total = {0};
+        long start = System.nanoTime();
+        snapshot.forEach(a -> total[0] += a.getBalanceMinorUnits());
+        long scanNanos = System.nanoTime() - start;
+        long retained = repository.retainedVersions();
+        snapshot.close();
+        repository.collectGarbage();
+        System.out.printf("long snapshot at ts %,d (store at ts %,d): total %s, scan %.1f ms, retained versions %,d"
+                        + " -> %,d after close + collectGarbage%n", snapshot.timestamp(), repository.lastCommitted(),
+                total[0] == accounts * INITIAL ? "consistent" : "INCONSISTENT", scanNanos / 1e6, retained,
+                repository.retainedVersions());
+    }
+
+    /** Transfers between the accounts at indexes {@code writer + k * writers}; a stale save is reloaded and retried. */
+    private static long transfer(AccountRepository repository, long[] ids, int writer, int writers, AtomicBoolean running, LongAdder conflicts) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int owned = (ids.length - writer + writers - 1) / writers;
+        long n = 0;
+        while (running.get()) {
+            long fromId = ids[writer + writers * random.nextInt(owned)];
+            long toId = ids[writer + writers * random.nextInt(owned)];
+            if (fromId == toId) continue;
+            while (true) {
+                Account from = repository.findById(fromId).orElseThrow();
+                Account to = repository.findById(toId).orElseThrow();
+                if (from.getBalanceMinorUnits() == 0) break;
+                from.withdraw(ONE);
+                to.deposit(ONE);
+                try {
+                    repository.saveAll(List.of(from, to));
+                    n++;
+                    break;
+                } catch (ConcurrentModificationException e) {
+                    conflicts.increment();
+                }
+            }
+        }
+        return n;
+    }
+
+    private static long[] populate(AccountRepository repository, int accounts) {
+        List<Account> batch = new ArrayList<>(accounts);
+        for (int i = 0; i < accounts; i++) batch.add(Account.newAccount("owner-" + i, Money.ofMinor(INITIAL, Money.DEFAULT_CURRENCY)));
+        repository.saveAll(batch);
+        long[] ids = new long[accounts];
+        for (int i = 0; i < accounts; i++) ids[i] = batch.get(i).getId();
+        return ids;
+    }
+}
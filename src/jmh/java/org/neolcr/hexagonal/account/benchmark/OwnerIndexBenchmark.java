@@ -0,0 +1,67 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OwnerIndexedAccountRepository;
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+import org.neolcr.hexagonal.account.application.service.FindAccountsByOwnerService;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+import org.neolcr.hexagonal.account.domain.port.in.FindAccountsByOwnerUseCase;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.math.BigDecimal;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Cost of maintaining the owner name index on the create path, and owner lookups through the index
+ * compared with a full scan.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.OwnerIndexBenchmark [accounts] [threads]
+ */
+public class OwnerIndexBenchmark {
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int distinctOwners = accounts / 4;
+        System.out.println("Owner index benchmark: accounts=" + accounts + " owners=" + distinctOwners + " threads=" + threads + "\n");
+
+        OwnerIndexedAccountRepository indexed = null;
+        for (int round = 0; round < 3; round++) { // first rounds double as JIT warm-up
+            create("create without index", new OpenAddressingAccountRepository(), accounts, distinctOwners, threads);
+            indexed = new OwnerIndexedAccountRepository(new OpenAddressingAccountRepository());
+            create("create with owner index", indexed, accounts, distinctOwners, threads);
+        }
+
+        FindAccountsByOwnerUseCase finder = new FindAccountsByOwnerService(indexed);
+        int lookups = 200_000;
+        long found = 0;
+        long start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) found += finder.findByOwnerName(owner(ThreadLocalRandom.current().nextInt(distinctOwners))).size();
+        System.out.printf("exact lookup     : %8.2f us/query (%.1f accounts per owner)%n", (System.nanoTime() - start) / 1e3 / lookups, found / (double) lookups);
+
+        start = System.nanoTime();
+        for (int i = 0; i < lookups; i++) finder.findByOwnerNamePrefix(owner(ThreadLocalRandom.current().nextInt(distinctOwners / 10)), 50);
+        System.out.printf("prefix lookup    : %8.2f us/query (limit 50)%n", (System.nanoTime() - start) / 1e3 / lookups);
+
+        String wanted = owner(42);
+        LongAdder matches = new LongAdder();
+        start = System.nanoTime();
+        indexed.forEach(account -> {
+            if (account.getOwnerName().equals(wanted)) matches.increment();
+        });
+        System.out.printf("full scan        : %8.2f us/query (what an unindexed lookup costs)%n", (System.nanoTime() - start) / 1e3);
+    }
+
+    private static void create(String label, AccountRepository repository, int accounts, int owners, int threads) throws InterruptedException {
+        CreateAccountUseCase useCase = new CreateAccountService(repository);
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, accounts, (from, to) -> {
+            for (int i = from; i < to; i++) useCase.createAccount(owner(i % owners), BigDecimal.ONE);
+        });
+        System.out.printf("%-24s: %,12.0f accounts/s%n", label, accounts / ((System.nanoTime() - start) / 1e9));
+    }
+
+    private static String owner(int n) {
+        return "owner-" + n;
+    }
+}
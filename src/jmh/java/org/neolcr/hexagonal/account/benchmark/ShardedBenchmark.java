@@ -0,0 +1,48 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.adapter.out.persistence.ShardedAccountRepository;
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Creation throughput of {@link ShardedAccountRepository} with all cores creating accounts, for growing shard
+ * counts, followed by the parallel count and full scan.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.ShardedBenchmark [accountsPerThread] [threads] [maxShards]
+ */
+public class ShardedBenchmark {
+    public static void main(String[] args) throws Exception {
+        int perThread = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        int maxShards = args.length > 2 ? Integer.parseInt(args[2]) : Math.max(1, Integer.highestOneBit(threads) * 2);
+        System.out.println("Sharded benchmark: accountsPerThread=" + perThread + " threads=" + threads + "\n");
+
+        for (int shards = 1; shards <= maxShards; shards <<= 1) {
+            ShardedAccountRepository repository = new ShardedAccountRepository(shards,
+                    first -> new OpenAddressingAccountRepository(new SequenceIdGenerator(first)));
+            CreateAccountUseCase useCase = new CreateAccountService(repository);
+            long start = System.nanoTime();
+            AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+                for (int i = 0; i < perThread; i++) useCase.createAccount("owner", BigDecimal.ONE);
+            });
+            long createNanos = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            long count = repository.count();
+            long countNanos = System.nanoTime() - start;
+            LongAdder scanned = new LongAdder();
+            start = System.nanoTime();
+            repository.forEach(account -> scanned.increment());
+            long scanNanos = System.nanoTime() - start;
+            if (count != (long) threads * perThread || scanned.sum() != count) throw new IllegalStateException("lost accounts");
+
+            System.out.printf("shards=%-3d create %,12.0f accounts/s | count %6.2f ms | scan %8.2f ms%n",
+                    shards, count / (createNanos / 1e9), countNanos / 1e6, scanNanos / 1e6);
+        }
+    }
+}
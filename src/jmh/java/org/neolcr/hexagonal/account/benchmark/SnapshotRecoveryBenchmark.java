@@ -0,0 +1,91 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.adapter.out.persistence.wal.WalAccountRepository;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Startup time of {@link WalAccountRepository}: full log replay vs latest snapshot plus log tail.
+ * While the snapshot is written a background thread keeps saving, to show that saves are not blocked.
+ *
+ * java -Xmx12g -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.SnapshotRecoveryBenchmark [accounts] [tail] [dir]
+ */
+public class SnapshotRecoveryBenchmark {
+    private static final int SEGMENT_SIZE = 256 << 20;
+
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        int tail = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+        Path directory = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("snapshot-benchmark");
+        System.out.println("Snapshot recovery benchmark: accounts=" + accounts + " tail=" + tail + " dir=" + directory + "\n");
+
+        try (WalAccountRepository repository = open(directory)) {
+            long start = System.nanoTime();
+            saveInBatches(repository, accounts);
+            System.out.printf("populated %,d accounts in %d ms%n", accounts, millisSince(start));
+        }
+
+        long concurrentSaves;
+        try (WalAccountRepository repository = time("startup from full log replay", directory)) {
+            AtomicBoolean running = new AtomicBoolean(true);
+            AtomicLong saves = new AtomicLong();
+            AtomicLong slowestSave = new AtomicLong();
+            Thread writer = new Thread(() -> {
+                while (running.get()) {
+                    long t0 = System.nanoTime();
+                    repository.save(Account.newAccount("concurrent", Money.ofMinor(100, Money.DEFAULT_CURRENCY)));
+                    slowestSave.accumulateAndGet(System.nanoTime() - t0, Math::max);
+                    saves.incrementAndGet();
+                }
+            });
+            writer.start();
+            long start = System.nanoTime();
+            Path snapshot = repository.snapshot();
+            long snapshotMillis = millisSince(start);
+            running.set(false);
+            writer.join();
+            concurrentSaves = saves.get();
+            System.out.printf("snapshot %s: %,d bytes in %d ms; %,d concurrent saves meanwhile, slowest %.2f ms%n",
+                    snapshot.getFileName(), Files.size(snapshot), snapshotMillis, concurrentSaves, slowestSave.get() / 1e6);
+            saveInBatches(repository, tail);
+        }
+
+        try (WalAccountRepository repository = time("startup from snapshot + log tail", directory)) {
+            long expected = (long) accounts + tail + concurrentSaves;
+            if (repository.count() != expected) throw new IllegalStateException("expected " + expected + " accounts, found " + repository.count());
+        }
+        if (args.length <= 2) WalBenchmark.deleteRecursively(directory);
+    }
+
+    private static WalAccountRepository open(Path directory) throws Exception {
+        return WalAccountRepository.open(directory, SEGMENT_SIZE, 8, SequenceIdGenerator::new);
+    }
+
+    private static WalAccountRepository time(String label, Path directory) throws Exception {
+        long start = System.nanoTime();
+        WalAccountRepository repository = open(directory);
+        System.out.printf("%-34s: %,d accounts in %d ms%n", label, repository.count(), millisSince(start));
+        return repository;
+    }
+
+    private static void saveInBatches(WalAccountRepository repository, int count) {
+        for (int from = 0; from < count; from += 100_000) {
+            int size = Math.min(100_000, count - from);
+            List<Account> batch = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) batch.add(Account.newAccount("owner-" + (from + i), Money.ofMinor(1000, Money.DEFAULT_CURRENCY)));
+            repository.saveAll(batch);
+        }
+    }
+
+    private static long millisSince(long start) {
+        return (System.nanoTime() - start) / 1_000_000;
+    }
+}
@@ -0,0 +1,78 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.MvccAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.application.service.TransferMoneyService;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Stress test and benchmark for {@link TransferMoneyService}: every thread transfers random amounts between
+ * random accounts, first spread over all accounts, then concentrated on a small hot set so the ordered slow path
+ * is exercised, once over an identity-map repository and once over MvccAccountRepository (copies, first committer
+ * wins). After each run the total balance must be unchanged and no balance may be negative.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.TransferBenchmark [accounts] [transfersPerThread] [threads]
+ */
+public class TransferBenchmark {
+    public static void main(String[] args) throws Exception {
+        int accounts = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int perThread = args.length > 1 ? Integer.parseInt(args[1]) : 1_000_000;
+        int threads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+        System.out.println("Transfer benchmark: accounts=" + accounts + " transfersPerThread=" + perThread + " threads=" + threads + "\n");
+
+        AccountRepository[] repositories = {new OpenAddressingAccountRepository(), new MvccAccountRepository()};
+        String[] labels = {"live instances", "mvcc copies"};
+        for (int r = 0; r < repositories.length; r++) {
+            AccountRepository repository = repositories[r];
+            List<Account> batch = new ArrayList<>(accounts);
+            for (int i = 0; i < accounts; i++) batch.add(Account.newAccount("owner-" + i, Money.ofMinor(10_000, Money.DEFAULT_CURRENCY)));
+            repository.saveAll(batch);
+            TransferMoneyService service = new TransferMoneyService(repository);
+            long expectedTotal = 10_000L * accounts;
+
+            run(labels[r] + ", uniform over " + accounts, service, repository, accounts, threads, perThread, expectedTotal);
+            run(labels[r] + ", hot set of 16", service, repository, 16, threads, perThread, expectedTotal);
+        }
+    }
+
+    private static void run(String label, TransferMoneyService service, AccountRepository repository, int range,
+                            int threads, int perThread, long expectedTotal) throws InterruptedException {
+        BigDecimal[] amounts = new BigDecimal[100];
+        for (int i = 0; i < amounts.length; i++) amounts[i] = BigDecimal.valueOf(i + 1, 2);
+        LongAdder insufficient = new LongAdder();
+        long start = System.nanoTime();
+        AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            for (int i = 0; i < perThread; i++) {
+                long source = 1 + random.nextInt(range);
+                long target = 1 + random.nextInt(range - 1);
+                if (target >= source) target++;
+                try {
+                    service.transfer(source, target, amounts[random.nextInt(amounts.length)]);
+                } catch (IllegalStateException e) {
+                    insufficient.increment();
+                }
+            }
+        });
+        long nanos = System.nanoTime() - start;
+
+        long[] total = new long[1];
+        long[] negative = new long[1];
+        repository.forEach(account -> {
+            total[0] += account.getBalanceMinorUnits();
+            if (account.getBalanceMinorUnits() < 0) negative[0]++;
+        });
+        if (total[0] != expectedTotal) throw new IllegalStateException("total balance changed: " + total[0] + " != " + expectedTotal);
+        if (negative[0] != 0) throw new IllegalStateException(negative[0] + " negative balances");
+        System.out.printf("%-40s %,12.0f transfers/s (%,d rejected for insufficient funds), total conserved%n",
+                label, (long) threads * perThread / (nanos / 1e9), insufficient.sum());
+    }
+}
@@ -0,0 +1,77 @@
+package org.neolcr.hexagonal.account.benchmark;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.adapter.out.persistence.wal.WalAccountRepository;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Durable save latency under concurrent load for {@link WalAccountRepository}: per-call latency percentiles,
+ * throughput, and how many saves shared each fsync. Small segments are used so rolling and background
+ * compaction happen during the run; the log is reopened at the end to check that every account is recovered.
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.benchmark.WalBenchmark [threads] [savesPerThread] [dir]
+ */
+public class WalBenchmark {
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0]) : 32;
+        int savesPerThread = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        Path directory = args.length > 2 ? Path.of(args[2]) : Files.createTempDirectory("wal-benchmark");
+        System.out.println("WAL benchmark: threads=" + threads + " savesPerThread=" + savesPerThread + " dir=" + directory + "\n");
+
+        long[][] latencies = new long[threads][savesPerThread];
+        long start;
+        long nanos;
+        long syncs;
+        try (WalAccountRepository repository = WalAccountRepository.open(directory, 4 << 20, 2, SequenceIdGenerator::new)) {
+            start = System.nanoTime();
+            AccountStoreBenchmark.parallel(threads, threads, (from, to) -> {
+                long[] mine = latencies[from];
+                for (int i = 0; i < mine.length; i++) {
+                    long t0 = System.nanoTime();
+                    Account account = repository.save(Account.newAccount("owner-" + from + "-" + i, Money.ofMinor(1000, Money.DEFAULT_CURRENCY)));
+                    account.deposit(Money.ofMinor(100, Money.DEFAULT_CURRENCY));
+                    repository.save(account); // second record for the same id, so compaction has something to drop
+                    mine[i] = System.nanoTime() - t0;
+                }
+            });
+            nanos = System.nanoTime() - start;
+            syncs = repository.log().syncCount();
+        }
+        long saves = 2L * threads * savesPerThread;
+        long[] all = Arrays.stream(latencies).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("throughput      : %,.0f durable saves/s%n", saves / (nanos / 1e9));
+        System.out.printf("saves per fsync : %.1f (%,d fsyncs)%n", saves / (double) syncs, syncs);
+        System.out.printf("latency (2 saves) p50=%s p99=%s p999=%s max=%s%n",
+                micros(percentile(all, 50)), micros(percentile(all, 99)), micros(percentile(all, 99.9)), micros(all[all.length - 1]));
+
+        start = System.nanoTime();
+        try (WalAccountRepository recovered = WalAccountRepository.open(directory, 4 << 20, 2, SequenceIdGenerator::new)) {
+            System.out.printf("recovered %,d accounts in %d ms%n", recovered.count(), (System.nanoTime() - start) / 1_000_000);
+            if (recovered.count() != (long) threads * savesPerThread) throw new IllegalStateException("lost accounts");
+        }
+        if (args.length <= 2) deleteRecursively(directory);
+    }
+
+    static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile / 100.0 * sorted.length) - 1;
+        return sorted[Math.max(0, Math.min(sorted.length - 1, index))];
+    }
+
+    static String micros(long nanos) {
+        return String.format("%.1fus", nanos / 1e3);
+    }
+
+    static void deleteRecursively(Path directory) throws IOException {
+        try (Stream<Path> files = Files.walk(directory)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) Files.delete(p);
+        }
+    }
+}
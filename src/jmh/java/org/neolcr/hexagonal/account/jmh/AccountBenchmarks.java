@@ -0,0 +1,26 @@
+package org.neolcr.hexagonal.account.jmh;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Runs the account JMH suite with the GC/allocation profiler and writes machine-readable results, so runs of
+ * different releases can be diffed (e.g. with jmh.morethan.io or a script over the JSON).
+ *
+ * java -cp target/benchmarks.jar org.neolcr.hexagonal.account.jmh.AccountBenchmarks [includeRegex] [resultFile]
+ */
+public class AccountBenchmarks {
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(args.length > 0 ? args[0] : AccountBenchmarks.class.getPackageName() + "\\..*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.JSON)
+                .result(args.length > 1 ? args[1] : "target/jmh-result.json")
+                .build();
+        new Runner(options).run();
+    }
+}
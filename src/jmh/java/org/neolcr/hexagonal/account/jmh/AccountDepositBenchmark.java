@@ -0,0 +1,73 @@
+package org.neolcr.hexagonal.account.jmh;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Account#deposit} for both balance modes: uncontended (one account per thread) and with every thread
+ * hitting one shared account. The gc profiler's {@code gc.alloc.rate.norm} should stay at 0 B/op.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(2)
+public class AccountDepositBenchmark {
+    private static final Money AMOUNT = Money.ofMinor(1, Money.DEFAULT_CURRENCY);
+
+    @State(Scope.Benchmark)
+    public static class Shared {
+        @Param({"STANDARD", "HOT"})
+        BalanceMode mode;
+
+        Account account;
+
+        @Setup
+        public void setUp() {
+            account = Account.newAccount("shared", Money.zero(Money.DEFAULT_CURRENCY), mode);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Own {
+        Account account;
+
+        @Setup
+        public void setUp(Shared shared) {
+            account = Account.newAccount("own", Money.zero(Money.DEFAULT_CURRENCY), shared.mode);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public void depositSingleThread(Own own) {
+        own.account.deposit(AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void depositOwnAccountAllThreads(Own own) {
+        own.account.deposit(AMOUNT);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public void depositSharedAccountAllThreads(Shared shared) {
+        shared.account.deposit(AMOUNT);
+    }
+}
@@ -0,0 +1,96 @@
+package org.neolcr.hexagonal.account.jmh;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Repository adapters in isolation: inserting new accounts, re-saving existing ones and random lookups by id,
+ * on one thread and on all cores, for store sizes from cache-resident to well beyond the last-level cache.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class AccountRepositoryBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class Store {
+        @Param({"InMemory", "OpenAddressing"})
+        String repository;
+
+        @Param({"10000", "1000000"})
+        int size;
+
+        AccountRepository accounts;
+        List<Account> existing;
+
+        @Setup(Level.Iteration)
+        public void setUp() {
+            accounts = Repositories.create(repository);
+            existing = Repositories.fill(accounts, size);
+        }
+
+        Account randomExisting() {
+            return existing.get(ThreadLocalRandom.current().nextInt(size));
+        }
+
+        long randomId() {
+            return 1 + ThreadLocalRandom.current().nextInt(size);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Account saveNewSingleThread(Store store) {
+        return store.accounts.save(Account.newAccount("owner", Repositories.BALANCE));
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Account saveNewAllThreads(Store store) {
+        return store.accounts.save(Account.newAccount("owner", Repositories.BALANCE));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Account saveExistingSingleThread(Store store) {
+        return store.accounts.save(store.randomExisting());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Account saveExistingAllThreads(Store store) {
+        return store.accounts.save(store.randomExisting());
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Optional<Account> findByIdSingleThread(Store store) {
+        return store.accounts.findById(store.randomId());
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Optional<Account> findByIdAllThreads(Store store) {
+        return store.accounts.findById(store.randomId());
+    }
+}
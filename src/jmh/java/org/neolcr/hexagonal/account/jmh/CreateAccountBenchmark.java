@@ -0,0 +1,64 @@
+package org.neolcr.hexagonal.account.jmh;
+
+import org.neolcr.hexagonal.account.application.service.CreateAccountService;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link CreateAccountService#createAccount} end to end (domain validation, Money conversion, id generation, store)
+ * on one thread and on all cores, against repositories already holding {@code size} accounts.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 2, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+public class CreateAccountBenchmark {
+    private static final BigDecimal INITIAL_BALANCE = new BigDecimal("100.00");
+
+    @State(Scope.Benchmark)
+    public static class Service {
+        @Param({"InMemory", "OpenAddressing"})
+        String repository;
+
+        @Param({"0", "1000000"})
+        int size;
+
+        CreateAccountUseCase useCase;
+
+        // a fresh store per iteration keeps its size near the parameter instead of growing across the run
+        @Setup(Level.Iteration)
+        public void setUp() {
+            var store = Repositories.create(repository);
+            Repositories.fill(store, size);
+            useCase = new CreateAccountService(store);
+        }
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Long createSingleThread(Service service) {
+        return service.useCase.createAccount("owner", INITIAL_BALANCE);
+    }
+
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Long createAllThreads(Service service) {
+        return service.useCase.createAccount("owner", INITIAL_BALANCE);
+    }
+}
@@ -0,0 +1,34 @@
+package org.neolcr.hexagonal.account.jmh;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.InMemoryAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.OpenAddressingAccountRepository;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** Repository adapters selectable by name from a JMH {@code @Param}. */
+final class Repositories {
+    static final Money BALANCE = Money.ofMinor(10_000, Money.DEFAULT_CURRENCY);
+
+    private Repositories() {
+    }
+
+    static AccountRepository create(String name) {
+        return switch (name) {
+            case "InMemory" -> new InMemoryAccountRepository();
+            case "OpenAddressing" -> new OpenAddressingAccountRepository();
+            default -> throw new IllegalArgumentException("unknown repository " + name);
+        };
+    }
+
+    /** Saves {@code size} accounts in batches (ids 1..size) and returns them. */
+    static List<Account> fill(AccountRepository repository, int size) {
+        List<Account> accounts = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) accounts.add(Account.newAccount("owner-" + i, BALANCE));
+        for (int from = 0; from < size; from += 10_000) repository.saveAll(accounts.subList(from, Math.min(size, from + 10_000)));
+        return accounts;
+    }
+}
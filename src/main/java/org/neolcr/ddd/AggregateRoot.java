@@ -1,13 +1,70 @@
 package org.neolcr.ddd;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 public abstract class AggregateRoot extends Entity {
     protected AggregateRoot(Long id) {
         super(id);
     }
-    // Example: List of domain events
-    private List<DomainEvent> domainEvents;
-    // ...methods to add, remove, and get events...
-}
 
+    protected AggregateRoot(long id) {
+        super(id);
+    }
+
+    // Events recorded by domain methods; those before uncommittedFrom are persisted and wait to be pulled
+    private final List<DomainEvent> domainEvents = new ArrayList<>();
+    private int uncommittedFrom;
+    private long version; // stored version: persisted events when event-sourced, saves so far when state-stored (0 = never saved)
+
+    /** Version of the aggregate as last loaded or saved; repositories use it for optimistic concurrency. */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Applies {@code event} to this aggregate's state and records it for the next save. Event-sourced aggregates
+     * change state only in {@link #apply(DomainEvent)}, so replaying the stream rebuilds the same state.
+     */
+    protected void addDomainEvent(DomainEvent event) {
+        apply(event);
+        domainEvents.add(event);
+    }
+
+    /** State transition for {@code event}; aggregates that are not event-sourced keep the default no-op. */
+    protected void apply(DomainEvent event) {
+    }
+
+    /** Events recorded since the last save, oldest first. */
+    public List<DomainEvent> getUncommittedEvents() {
+        return Collections.unmodifiableList(domainEvents.subList(uncommittedFrom, domainEvents.size()));
+    }
+
+    /** Releases and clears the events already persisted, for publication; unsaved events stay pending. */
+    public List<DomainEvent> pullDomainEvents() {
+        if (uncommittedFrom == 0) return List.of();
+        List<DomainEvent> committed = domainEvents.subList(0, uncommittedFrom);
+        List<DomainEvent> pulled = List.copyOf(committed);
+        committed.clear();
+        uncommittedFrom = 0;
+        return pulled;
+    }
+
+    /** Called by a repository once every uncommitted event is stored and the stream is at {@code version}. */
+    final void markCommitted(long version) {
+        this.version = version;
+        this.uncommittedFrom = domainEvents.size();
+    }
+
+    /** Drops the events recorded since the last save; used by UnitOfWork rollback after restoring the state. */
+    final void discardUncommittedEvents() {
+        domainEvents.subList(uncommittedFrom, domainEvents.size()).clear();
+    }
+
+    /** Rebuilds state on load: {@code history} are the stored events following {@code baseVersion}. */
+    final void loadFromHistory(long baseVersion, List<? extends DomainEvent> history) {
+        for (DomainEvent event : history) apply(event);
+        this.version = baseVersion + history.size();
+    }
+}
@@ -1,7 +1,6 @@
 package org.neolcr.ddd;
 
 public interface ApplicationService {
-    // Coordinates tasks and manages transactions
+    // Coordinates tasks and manages transactions (see TransactionalApplicationService / UnitOfWork)
     void execute();
 }
-
@@ -0,0 +1,11 @@
+package org.neolcr.ddd;
+
+/** What publish does when an asynchronous subscriber's queue is full. */
+public enum BackpressurePolicy {
+    /** Wait until the subscriber has made room. */
+    BLOCK,
+    /** Discard the oldest queued event to make room; counted in {@link Subscription#dropped()}. */
+    DROP_OLDEST,
+    /** Deliver to the other subscribers, then throw RejectedExecutionException; counted as dropped. */
+    FAIL
+}
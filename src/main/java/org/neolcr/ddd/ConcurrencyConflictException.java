@@ -0,0 +1,29 @@
+package org.neolcr.ddd;
+
+/** A write was based on {@code expectedVersion} of the aggregate, but another writer already committed past it. */
+public class ConcurrencyConflictException extends RuntimeException {
+    private static final long serialVersionUID = 1L;
+
+    private final long aggregateId;
+    private final long expectedVersion;
+    private final long actualVersion;
+
+    public ConcurrencyConflictException(long aggregateId, long expectedVersion, long actualVersion) {
+        super("aggregate " + aggregateId + " is at version " + actualVersion + ", expected " + expectedVersion);
+        this.aggregateId = aggregateId;
+        this.expectedVersion = expectedVersion;
+        this.actualVersion = actualVersion;
+    }
+
+    public long getAggregateId() {
+        return aggregateId;
+    }
+
+    public long getExpectedVersion() {
+        return expectedVersion;
+    }
+
+    public long getActualVersion() {
+        return actualVersion;
+    }
+}
@@ -0,0 +1,11 @@
+package org.neolcr.ddd;
+
+/** How an EventBus subscriber receives events. */
+public enum DeliveryMode {
+    /** On the publishing thread, before publish returns. */
+    SYNC,
+    /** One at a time on the subscriber's own virtual thread, from its bounded queue. */
+    ASYNC,
+    /** As lists of everything queued (up to a maximum) on the subscriber's own virtual thread. */
+    BATCHED
+}
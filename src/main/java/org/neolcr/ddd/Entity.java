@@ -1,29 +1,46 @@
 package org.neolcr.ddd;
 
-import java.util.Objects;
-
 public abstract class Entity {
-    private final Long id;
+    // The id is kept as a primitive: equals/hashCode never box or allocate, and id-keyed collections
+    // (EntityIdMap, EntitySet) can hash it directly. hasId is false until an id has been assigned.
+    private final long id;
+    private final boolean hasId;
 
     protected Entity(Long id) {
+        this.id = id == null ? 0 : id;
+        this.hasId = id != null;
+    }
+
+    protected Entity(long id) {
         this.id = id;
+        this.hasId = true;
     }
 
+    /** Boxed id, or null if none is assigned yet. Ids beyond the Long cache allocate; prefer {@link #getIdAsLong()}. */
     public Long getId() {
+        return hasId ? id : null;
+    }
+
+    /** Primitive id; throws IllegalStateException if none is assigned yet. */
+    public long getIdAsLong() {
+        if (!hasId) throw new IllegalStateException("entity has no id");
         return id;
     }
 
+    public boolean hasId() {
+        return hasId;
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
         if (o == null || getClass() != o.getClass()) return false;
         Entity entity = (Entity) o;
-        return Objects.equals(id, entity.id);
+        return hasId == entity.hasId && id == entity.id;
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(id);
+        return hasId ? Long.hashCode(id) : 0;
     }
 }
-
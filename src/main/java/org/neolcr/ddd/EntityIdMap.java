@@ -0,0 +1,174 @@
+package org.neolcr.ddd;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Map from primitive entity ids to non-null values: open addressing with linear probing over parallel
+ * {@code long[]} / {@code Object[]} arrays, so no key is ever boxed and a lookup allocates nothing. Removal shifts
+ * the following entries back instead of leaving tombstones. Not thread-safe, like HashMap.
+ */
+public class EntityIdMap<V> {
+    private static final long PHI = 0x9E3779B97F4A7C15L; // Fibonacci hashing spreads sequential ids over the table
+
+    @FunctionalInterface
+    public interface Visitor<V> {
+        void accept(long id, V value);
+    }
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int shift;
+    private int size;
+
+    public EntityIdMap() {
+        this(16);
+    }
+
+    public EntityIdMap(int expectedSize) {
+        allocate(tableSizeFor(expectedSize));
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long id) {
+        for (int i = slot(id); ; i = (i + 1) & mask) {
+            Object value = values[i];
+            if (value == null) return null;
+            if (keys[i] == id) return (V) value;
+        }
+    }
+
+    public boolean containsKey(long id) {
+        return get(id) != null;
+    }
+
+    /** Returns the previous value, or null. */
+    public V put(long id, V value) {
+        return put(id, value, true);
+    }
+
+    public V putIfAbsent(long id, V value) {
+        return put(id, value, false);
+    }
+
+    @SuppressWarnings("unchecked")
+    public V remove(long id) {
+        int i = slot(id);
+        while (true) {
+            if (values[i] == null) return null;
+            if (keys[i] == id) break;
+            i = (i + 1) & mask;
+        }
+        V old = (V) values[i];
+        int hole = i;
+        for (int j = (i + 1) & mask; values[j] != null; j = (j + 1) & mask) {
+            int home = slot(keys[j]);
+            // entry j may fill the hole unless its home slot lies cyclically in (hole, j]
+            boolean stays = hole <= j ? hole < home && home <= j : hole < home || home <= j;
+            if (!stays) {
+                keys[hole] = keys[j];
+                values[hole] = values[j];
+                hole = j;
+            }
+        }
+        values[hole] = null;
+        size--;
+        return old;
+    }
+
+    public void clear() {
+        Arrays.fill(values, null);
+        size = 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    public void forEach(Visitor<? super V> visitor) {
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != null) visitor.accept(keys[i], (V) values[i]);
+        }
+    }
+
+    /** Iterates the values in table order; the map must not be modified meanwhile. */
+    public Iterator<V> values() {
+        return new Iterator<>() {
+            private int next = advance(0);
+
+            private int advance(int from) {
+                while (from < values.length && values[from] == null) from++;
+                return from;
+            }
+
+            @Override
+            public boolean hasNext() {
+                return next < values.length;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public V next() {
+                if (next >= values.length) throw new NoSuchElementException();
+                V value = (V) values[next];
+                next = advance(next + 1);
+                return value;
+            }
+        };
+    }
+
+    @SuppressWarnings("unchecked")
+    private V put(long id, V value, boolean replace) {
+        if (value == null) throw new IllegalArgumentException("value null");
+        int i = slot(id);
+        while (values[i] != null) {
+            if (keys[i] == id) {
+                V old = (V) values[i];
+                if (replace) values[i] = value;
+                return old;
+            }
+            i = (i + 1) & mask;
+        }
+        keys[i] = id;
+        values[i] = value;
+        if (++size > (values.length >> 1) + (values.length >> 2)) resize(); // load factor 0.75
+        return null;
+    }
+
+    private int slot(long id) {
+        return (int) ((id * PHI) >>> shift);
+    }
+
+    private void resize() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(oldValues.length * 2);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] == null) continue;
+            int j = slot(oldKeys[i]);
+            while (values[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            values[j] = oldValues[i];
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        shift = 64 - Integer.numberOfTrailingZeros(capacity);
+    }
+
+    private static int tableSizeFor(int expectedSize) {
+        if (expectedSize < 0 || expectedSize > 1 << 29) throw new IllegalArgumentException("expectedSize out of range");
+        int needed = Math.max(4, (int) Math.ceil(expectedSize / 0.75));
+        return Integer.highestOneBit(needed - 1) << 1;
+    }
+}
@@ -0,0 +1,88 @@
+package org.neolcr.ddd;
+
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Set of identified entities of one type, indexed by their primitive id in an {@link EntityIdMap}: add, contains
+ * and remove never box or allocate, and lookups by id ({@link #getById(long)}) need no entity instance. Entities
+ * without an id cannot be added. Not thread-safe.
+ */
+public class EntitySet<T extends Entity> extends AbstractSet<T> {
+    private final EntityIdMap<T> byId;
+
+    public EntitySet() {
+        this(16);
+    }
+
+    public EntitySet(int expectedSize) {
+        this.byId = new EntityIdMap<>(expectedSize);
+    }
+
+    @Override
+    public boolean add(T entity) {
+        return byId.putIfAbsent(entity.getIdAsLong(), entity) == null;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        if (!(o instanceof Entity entity) || !entity.hasId()) return false;
+        T present = byId.get(entity.getIdAsLong());
+        return present != null && present.equals(entity);
+    }
+
+    public boolean containsId(long id) {
+        return byId.containsKey(id);
+    }
+
+    public T getById(long id) {
+        return byId.get(id);
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        if (!contains(o)) return false;
+        byId.remove(((Entity) o).getIdAsLong());
+        return true;
+    }
+
+    public T removeById(long id) {
+        return byId.remove(id);
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        boolean changed = false;
+        for (Object o : c) changed |= remove(o);
+        return changed;
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        long[] drop = new long[size()];
+        int[] n = {0};
+        byId.forEach((id, entity) -> {
+            if (!c.contains(entity)) drop[n[0]++] = id;
+        });
+        for (long id : Arrays.copyOf(drop, n[0])) byId.remove(id);
+        return n[0] > 0;
+    }
+
+    @Override
+    public void clear() {
+        byId.clear();
+    }
+
+    @Override
+    public int size() {
+        return byId.size();
+    }
+
+    /** The iterator does not support remove; use {@link #removeById(long)}. */
+    @Override
+    public Iterator<T> iterator() {
+        return byId.values();
+    }
+}
@@ -0,0 +1,30 @@
+package org.neolcr.ddd;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * In-process publish/subscribe for DomainEvents. A subscriber receives the published events that are instances of
+ * its type. Asynchronous subscribers have their own bounded queue and thread, so a slow one delays only itself
+ * (subject to its {@link BackpressurePolicy}).
+ */
+public interface EventBus extends AutoCloseable {
+    void publish(DomainEvent event);
+
+    /** Typically {@code publishAll(aggregate.pullDomainEvents())} after a save. */
+    default void publishAll(List<? extends DomainEvent> events) {
+        for (DomainEvent event : events) publish(event);
+    }
+
+    <E extends DomainEvent> Subscription subscribeSync(Class<E> type, Consumer<? super E> handler);
+
+    <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> handler, int capacity, BackpressurePolicy policy);
+
+    /** The list passed to {@code handler} is only valid during the call. */
+    <E extends DomainEvent> Subscription subscribeBatched(Class<E> type, Consumer<? super List<E>> handler, int capacity, int maxBatch,
+                                                          BackpressurePolicy policy);
+
+    /** Unsubscribes everyone and waits until the asynchronous subscribers have delivered their queues. */
+    @Override
+    void close();
+}
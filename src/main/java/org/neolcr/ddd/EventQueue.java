@@ -0,0 +1,76 @@
+package org.neolcr.ddd;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bounded lock-free multi-producer, multi-consumer queue (D. Vyukov's array queue). Every slot carries a sequence
+ * number telling whether it is free for the producer of a given position or filled for its consumer, so offer and
+ * poll each claim a position with one CAS and never wait for each other. Producers may poll too, which is how
+ * {@link BackpressurePolicy#DROP_OLDEST} makes room.
+ */
+final class EventQueue {
+    private final Object[] items;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final AtomicLong tail = new AtomicLong();
+    private final AtomicLong head = new AtomicLong();
+
+    EventQueue(int capacity) {
+        if (capacity <= 0 || capacity > 1 << 30) throw new IllegalArgumentException("capacity out of range");
+        int size = Math.max(2, Integer.highestOneBit(capacity - 1) << 1); // next power of two; the algorithm needs two slots
+        this.items = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) sequences.set(i, i);
+        this.mask = size - 1;
+    }
+
+    int capacity() {
+        return items.length;
+    }
+
+    boolean offer(Object item) {
+        long position = tail.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.getAcquire(index) - position;
+            if (difference == 0) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    items[index] = item;
+                    sequences.set(index, position + 1); // volatile: ordered before the publisher's read of the consumer's waiting flag
+                    return true;
+                }
+                position = tail.get();
+            } else if (difference < 0) {
+                return false; // the slot still holds the item from one lap ago: full
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    Object poll() {
+        long position = head.get();
+        while (true) {
+            int index = (int) position & mask;
+            long difference = sequences.get(index) - (position + 1);
+            if (difference == 0) {
+                if (head.compareAndSet(position, position + 1)) {
+                    Object item = items[index];
+                    items[index] = null;
+                    sequences.setRelease(index, position + items.length);
+                    return item;
+                }
+                position = head.get();
+            } else if (difference < 0) {
+                return null; // empty
+            } else {
+                position = head.get();
+            }
+        }
+    }
+
+    int size() {
+        return (int) Math.max(0, Math.min(items.length, tail.get() - head.get()));
+    }
+}
@@ -0,0 +1,93 @@
+package org.neolcr.ddd;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.LongFunction;
+
+/**
+ * Repository for event-sourced aggregates. {@code save} appends the aggregate's uncommitted events to its stream
+ * as one batch, checked against the version the aggregate was loaded at (a concurrent writer makes it throw
+ * {@link ConcurrencyConflictException}). {@code findById} restores the latest snapshot, when the aggregate is
+ * {@link Snapshottable}, and replays only the events after it; a new snapshot is stored every
+ * {@code snapshotEvery} events, so loading cost stays bounded however long the stream grows.
+ * {@code saveAll} writes the pending events of the whole batch with one {@link EventStore#appendAll}.
+ */
+public class EventSourcedRepository<T extends AggregateRoot> implements Repository<T> {
+    public static final int DEFAULT_SNAPSHOT_EVERY = 100;
+
+    private final EventStore store;
+    private final LongFunction<T> factory;
+    private final int snapshotEvery;
+
+    public EventSourcedRepository(EventStore store, LongFunction<T> factory) {
+        this(store, factory, DEFAULT_SNAPSHOT_EVERY);
+    }
+
+    /**
+     * @param factory       creates an empty aggregate with the given id, to be rebuilt from its stream
+     * @param snapshotEvery events between snapshots; 0 disables snapshots
+     */
+    public EventSourcedRepository(EventStore store, LongFunction<T> factory, int snapshotEvery) {
+        if (snapshotEvery < 0) throw new IllegalArgumentException("snapshotEvery < 0");
+        this.store = store;
+        this.factory = factory;
+        this.snapshotEvery = snapshotEvery;
+    }
+
+    /** Returns null if the aggregate has no events. */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T findById(Long id) {
+        T aggregate = factory.apply(id);
+        long base = 0;
+        if (snapshotEvery > 0 && aggregate instanceof Snapshottable<?> snapshottable) {
+            Optional<Snapshot> snapshot = store.latestSnapshot(id);
+            if (snapshot.isPresent()) {
+                ((Snapshottable<Object>) snapshottable).restore(snapshot.get().state());
+                base = snapshot.get().version();
+            }
+        }
+        List<DomainEvent> events = store.load(id, base);
+        if (base == 0 && events.isEmpty()) return null;
+        aggregate.loadFromHistory(base, events);
+        return aggregate;
+    }
+
+    @Override
+    public void save(T aggregate) {
+        List<DomainEvent> events = aggregate.getUncommittedEvents();
+        if (events.isEmpty()) return;
+        long expected = aggregate.getVersion();
+        long version = store.append(aggregate.getIdAsLong(), expected, events);
+        committed(aggregate, expected, version);
+    }
+
+    /** All or nothing: a stale aggregate fails the whole batch with ConcurrencyConflictException. */
+    @Override
+    public void saveAll(List<? extends T> aggregates) {
+        List<T> changed = new ArrayList<>(aggregates.size());
+        List<EventStore.Append> batch = new ArrayList<>(aggregates.size());
+        for (T aggregate : aggregates) {
+            List<DomainEvent> events = aggregate.getUncommittedEvents();
+            if (events.isEmpty()) continue;
+            changed.add(aggregate);
+            batch.add(new EventStore.Append(aggregate.getIdAsLong(), aggregate.getVersion(), events));
+        }
+        if (batch.isEmpty()) return;
+        long[] versions = store.appendAll(batch);
+        for (int i = 0; i < versions.length; i++) committed(changed.get(i), batch.get(i).expectedVersion(), versions[i]);
+    }
+
+    private void committed(T aggregate, long expected, long version) {
+        aggregate.markCommitted(version);
+        if (snapshotEvery > 0 && version / snapshotEvery > expected / snapshotEvery && aggregate instanceof Snapshottable<?> snapshottable) {
+            store.saveSnapshot(new Snapshot(aggregate.getIdAsLong(), version, snapshottable.snapshot()));
+        }
+    }
+
+    @Override
+    public void delete(T aggregate) {
+        store.delete(aggregate.getIdAsLong());
+    }
+}
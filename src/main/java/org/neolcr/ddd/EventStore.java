@@ -0,0 +1,37 @@
+package org.neolcr.ddd;
+
+import java.util.List;
+import java.util.Optional;
+
+/** Append-only streams of DomainEvents, one per aggregate, plus the latest snapshot of each. */
+public interface EventStore {
+    /**
+     * Appends {@code events} to the stream as one batch, only if the stream is at {@code expectedVersion};
+     * otherwise throws {@link ConcurrencyConflictException} and appends nothing. Returns the new version.
+     */
+    long append(long aggregateId, long expectedVersion, List<? extends DomainEvent> events);
+
+    /**
+     * Appends to several streams at once, all or nothing: if any stream is not at its expected version, throws
+     * {@link ConcurrencyConflictException} and appends nothing. Each aggregate may appear at most once. Returns the
+     * new versions in the order of {@code batch}.
+     */
+    long[] appendAll(List<Append> batch);
+
+    /** Events after the first {@code afterVersion} ones, in append order. */
+    List<DomainEvent> load(long aggregateId, long afterVersion);
+
+    long version(long aggregateId);
+
+    /** Keeps {@code snapshot} unless a newer one of the same aggregate is already stored. */
+    void saveSnapshot(Snapshot snapshot);
+
+    Optional<Snapshot> latestSnapshot(long aggregateId);
+
+    /** Removes the stream and its snapshot for good: later appends are rejected and later snapshots dropped. */
+    void delete(long aggregateId);
+
+    /** One stream's part of {@link #appendAll}. */
+    record Append(long aggregateId, long expectedVersion, List<? extends DomainEvent> events) {
+    }
+}
@@ -0,0 +1,260 @@
+package org.neolcr.ddd;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+/**
+ * EventBus with a copy-on-write subscriber array: publish reads it once and loops, taking no lock and allocating
+ * nothing. Each asynchronous subscriber owns an {@link EventQueue} drained by its own virtual thread, which parks
+ * when the queue is empty and is unparked by the next publisher; publishers only pay for that wake-up when the
+ * subscriber is actually idle.
+ */
+public class InMemoryEventBus implements EventBus {
+    private static final Subscriber<?>[] NONE = new Subscriber<?>[0];
+
+    private final AtomicReference<Subscriber<?>[]> subscribers = new AtomicReference<>(NONE);
+
+    @Override
+    public void publish(DomainEvent event) {
+        RejectedExecutionException rejected = null;
+        for (Subscriber<?> subscriber : subscribers.get()) {
+            if (!subscriber.type.isInstance(event)) continue;
+            if (!subscriber.offer(event) && rejected == null) {
+                rejected = new RejectedExecutionException("event queue full: " + subscriber.type.getSimpleName() + " subscriber");
+            }
+        }
+        if (rejected != null) throw rejected;
+    }
+
+    @Override
+    public <E extends DomainEvent> Subscription subscribeSync(Class<E> type, Consumer<? super E> handler) {
+        return add(new Subscriber<E>(this, type, DeliveryMode.SYNC, handler, null, null, 1, null));
+    }
+
+    @Override
+    public <E extends DomainEvent> Subscription subscribe(Class<E> type, Consumer<? super E> handler, int capacity, BackpressurePolicy policy) {
+        return add(new Subscriber<E>(this, type, DeliveryMode.ASYNC, handler, null, new EventQueue(capacity), 1, policy));
+    }
+
+    @Override
+    public <E extends DomainEvent> Subscription subscribeBatched(Class<E> type, Consumer<? super List<E>> handler, int capacity, int maxBatch,
+                                                                 BackpressurePolicy policy) {
+        if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch <= 0");
+        return add(new Subscriber<E>(this, type, DeliveryMode.BATCHED, null, handler, new EventQueue(capacity), maxBatch, policy));
+    }
+
+    @Override
+    public void close() {
+        Subscriber<?>[] all = subscribers.getAndSet(NONE);
+        for (Subscriber<?> subscriber : all) subscriber.close();
+        for (Subscriber<?> subscriber : all) subscriber.awaitDrained();
+    }
+
+    private Subscription add(Subscriber<?> subscriber) {
+        Subscriber<?>[] current;
+        Subscriber<?>[] next;
+        do {
+            current = subscribers.get();
+            next = Arrays.copyOf(current, current.length + 1);
+            next[current.length] = subscriber;
+        } while (!subscribers.compareAndSet(current, next));
+        subscriber.start();
+        return subscriber;
+    }
+
+    private void remove(Subscriber<?> subscriber) {
+        Subscriber<?>[] current;
+        Subscriber<?>[] next;
+        do {
+            current = subscribers.get();
+            int index = Arrays.asList(current).indexOf(subscriber);
+            if (index < 0) return;
+            next = new Subscriber<?>[current.length - 1];
+            System.arraycopy(current, 0, next, 0, index);
+            System.arraycopy(current, index + 1, next, index, next.length - index);
+        } while (!subscribers.compareAndSet(current, next));
+    }
+
+    private static final class Subscriber<E extends DomainEvent> implements Subscription, Runnable {
+        final InMemoryEventBus bus;
+        final Class<E> type;
+        final DeliveryMode mode;
+        final Consumer<? super E> handler;
+        final Consumer<? super List<E>> batchHandler;
+        final EventQueue queue;
+        final int maxBatch;
+        final BackpressurePolicy policy;
+        final LongAdder delivered = new LongAdder();
+        final LongAdder dropped = new LongAdder();
+        final LongAdder failures = new LongAdder();
+        final LongAdder publishing = new LongAdder(); // offers past the closed check that may still enqueue
+        final Thread drainer; // null for SYNC subscribers
+        volatile boolean waiting;
+        volatile boolean closed;
+
+        Subscriber(InMemoryEventBus bus, Class<E> type, DeliveryMode mode, Consumer<? super E> handler,
+                   Consumer<? super List<E>> batchHandler, EventQueue queue, int maxBatch, BackpressurePolicy policy) {
+            if (type == null || (handler == null && batchHandler == null)) throw new IllegalArgumentException("type and handler required");
+            if (queue != null && policy == null) throw new IllegalArgumentException("policy null");
+            this.bus = bus;
+            this.type = type;
+            this.mode = mode;
+            this.handler = handler;
+            this.batchHandler = batchHandler;
+            this.queue = queue;
+            this.maxBatch = maxBatch;
+            this.policy = policy;
+            this.drainer = queue == null ? null : Thread.ofVirtual().name("event-subscriber-" + type.getSimpleName()).unstarted(this);
+        }
+
+        void start() {
+            if (drainer != null) drainer.start();
+        }
+
+        /**
+         * Returns false only if the policy is FAIL and the queue is full. An event offered to a closed asynchronous
+         * subscriber (a publisher can still hold the old subscriber array) is counted as dropped; an event enqueued
+         * before the close is seen is delivered, since the drainer waits for such offers before it exits.
+         */
+        boolean offer(DomainEvent event) {
+            if (queue == null) {
+                handle(type.cast(event));
+                return true;
+            }
+            publishing.increment();
+            try {
+                return enqueue(event);
+            } finally {
+                publishing.decrement();
+            }
+        }
+
+        private boolean enqueue(DomainEvent event) {
+            if (closed) {
+                dropped.increment();
+                return true;
+            }
+            if (!queue.offer(event)) {
+                switch (policy) {
+                    case BLOCK -> {
+                        for (int spins = 0; !queue.offer(event); spins++) {
+                            if (closed) { // nobody will make room any more
+                                dropped.increment();
+                                return true;
+                            }
+                            if (spins < 64) Thread.onSpinWait();
+                            else LockSupport.parkNanos(10_000);
+                        }
+                    }
+                    case DROP_OLDEST -> {
+                        do {
+                            if (queue.poll() != null) dropped.increment();
+                        } while (!queue.offer(event));
+                    }
+                    case FAIL -> {
+                        dropped.increment();
+                        return false;
+                    }
+                }
+            }
+            if (waiting) LockSupport.unpark(drainer);
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void run() {
+            List<E> batch = new ArrayList<>(Math.min(maxBatch, queue.capacity()));
+            List<E> view = Collections.unmodifiableList(batch);
+            while (true) {
+                Object event;
+                while (batch.size() < maxBatch && (event = queue.poll()) != null) batch.add((E) event);
+                if (!batch.isEmpty()) {
+                    if (batchHandler != null) {
+                        deliver(view);
+                    } else {
+                        for (E e : batch) handle(e);
+                    }
+                    batch.clear();
+                    continue;
+                }
+                if (closed) {
+                    // an offer that passed the closed check has enqueued once publishing reads 0, and every later
+                    // offer sees closed and drops, so the queue is empty for good only after both hold
+                    if (publishing.sum() == 0 && queue.size() == 0) return;
+                    Thread.yield();
+                    continue;
+                }
+                waiting = true;
+                if (queue.size() == 0 && !closed) LockSupport.park(this);
+                waiting = false;
+            }
+        }
+
+        private void handle(E event) {
+            try {
+                handler.accept(event);
+                delivered.increment();
+            } catch (RuntimeException e) {
+                failures.increment();
+            }
+        }
+
+        private void deliver(List<E> batch) {
+            try {
+                batchHandler.accept(batch);
+                delivered.add(batch.size());
+            } catch (RuntimeException e) {
+                failures.increment();
+            }
+        }
+
+        void awaitDrained() {
+            if (drainer == null) return;
+            try {
+                drainer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        @Override
+        public DeliveryMode mode() {
+            return mode;
+        }
+
+        @Override
+        public long delivered() {
+            return delivered.sum();
+        }
+
+        @Override
+        public long dropped() {
+            return dropped.sum();
+        }
+
+        @Override
+        public long failures() {
+            return failures.sum();
+        }
+
+        @Override
+        public int backlog() {
+            return queue == null ? 0 : queue.size();
+        }
+
+        @Override
+        public void close() {
+            bus.remove(this);
+            closed = true;
+            if (drainer != null) LockSupport.unpark(drainer);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package org.neolcr.ddd;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * EventStore on per-aggregate streams in a ConcurrentHashMap. Appends to one stream are serialized by that
+ * stream's lock (no global lock); a batch is copied into the stream's array and published with a single
+ * volatile write, so loads never lock and always see whole batches. {@code appendAll} locks its streams in id
+ * order, checks every expected version and only then publishes, so it appends everything or nothing.
+ * {@code delete} empties the stream under its lock and leaves it behind as a tombstone, so no append or snapshot
+ * racing with it can bring the aggregate back.
+ */
+public class InMemoryEventStore implements EventStore {
+    private final ConcurrentHashMap<Long, Stream> streams = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<Long, Snapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Override
+    public long append(long aggregateId, long expectedVersion, List<? extends DomainEvent> events) {
+        Stream stream = streams.computeIfAbsent(aggregateId, id -> new Stream());
+        return stream.append(aggregateId, expectedVersion, events);
+    }
+
+    @Override
+    public long[] appendAll(List<Append> batch) {
+        int n = batch.size();
+        Stream[] locked = new Stream[n];
+        Integer[] order = new Integer[n];
+        for (int i = 0; i < n; i++) order[i] = i;
+        Arrays.sort(order, (x, y) -> Long.compare(batch.get(x).aggregateId(), batch.get(y).aggregateId()));
+        for (int i = 1; i < n; i++) {
+            if (batch.get(order[i]).aggregateId() == batch.get(order[i - 1]).aggregateId()) {
+                throw new IllegalArgumentException("aggregate appears twice in batch: " + batch.get(order[i]).aggregateId());
+            }
+        }
+        int count = 0;
+        try {
+            for (; count < n; count++) {
+                Stream stream = streams.computeIfAbsent(batch.get(order[count]).aggregateId(), id -> new Stream());
+                stream.lock.lock();
+                locked[count] = stream;
+            }
+            for (int i = 0; i < n; i++) {
+                Append append = batch.get(order[i]);
+                locked[i].checkNotDeleted(append.aggregateId());
+                long actual = locked[i].committed.size;
+                if (actual != append.expectedVersion()) throw new ConcurrencyConflictException(append.aggregateId(), append.expectedVersion(), actual);
+            }
+            long[] versions = new long[n];
+            for (int i = 0; i < n; i++) versions[order[i]] = locked[i].publish(batch.get(order[i]).events());
+            return versions;
+        } finally {
+            for (int i = count - 1; i >= 0; i--) locked[i].lock.unlock();
+        }
+    }
+
+    @Override
+    public List<DomainEvent> load(long aggregateId, long afterVersion) {
+        Stream stream = streams.get(aggregateId);
+        if (stream == null) return List.of();
+        Events committed = stream.committed;
+        if (afterVersion >= committed.size) return List.of();
+        DomainEvent[] copy = Arrays.copyOfRange(committed.array, (int) Math.max(0, afterVersion), committed.size);
+        return Collections.unmodifiableList(Arrays.asList(copy));
+    }
+
+    @Override
+    public long version(long aggregateId) {
+        Stream stream = streams.get(aggregateId);
+        return stream == null ? 0 : stream.committed.size;
+    }
+
+    /** A snapshot of a deleted aggregate is dropped. */
+    @Override
+    public void saveSnapshot(Snapshot snapshot) {
+        Stream stream = streams.computeIfAbsent(snapshot.aggregateId(), id -> new Stream());
+        stream.lock.lock();
+        try {
+            if (stream.deleted) return;
+            snapshots.merge(snapshot.aggregateId(), snapshot, (old, candidate) -> candidate.version() > old.version() ? candidate : old);
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    @Override
+    public Optional<Snapshot> latestSnapshot(long aggregateId) {
+        return Optional.ofNullable(snapshots.get(aggregateId));
+    }
+
+    /** Drops the events and the snapshot; later appends to the id throw IllegalStateException. */
+    @Override
+    public void delete(long aggregateId) {
+        Stream stream = streams.computeIfAbsent(aggregateId, id -> new Stream());
+        stream.lock.lock();
+        try {
+            stream.deleted = true;
+            stream.committed = Stream.EMPTY;
+            snapshots.remove(aggregateId);
+        } finally {
+            stream.lock.unlock();
+        }
+    }
+
+    // array slots at and after size are only written by the appender before it publishes a larger size
+    private record Events(DomainEvent[] array, int size) {
+    }
+
+    private static final class Stream {
+        private static final Events EMPTY = new Events(new DomainEvent[0], 0);
+
+        final ReentrantLock lock = new ReentrantLock();
+        volatile Events committed = EMPTY;
+        boolean deleted; // guarded by lock
+
+        long append(long aggregateId, long expectedVersion, List<? extends DomainEvent> events) {
+            lock.lock();
+            try {
+                checkNotDeleted(aggregateId);
+                long actual = committed.size;
+                if (actual != expectedVersion) throw new ConcurrencyConflictException(aggregateId, expectedVersion, actual);
+                return publish(events);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // caller holds the lock
+        void checkNotDeleted(long aggregateId) {
+            if (deleted) throw new IllegalStateException("aggregate " + aggregateId + " was deleted");
+        }
+
+        // caller holds the lock
+        long publish(List<? extends DomainEvent> events) {
+            Events current = committed;
+            int size = current.size + events.size();
+            DomainEvent[] array = current.array;
+            if (size > array.length) array = Arrays.copyOf(array, Math.max(size, array.length * 2));
+            for (int i = current.size; i < size; i++) array[i] = events.get(i - current.size);
+            committed = new Events(array, size);
+            return size;
+        }
+    }
+}
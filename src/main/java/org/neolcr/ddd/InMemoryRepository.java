@@ -0,0 +1,151 @@
+package org.neolcr.ddd;
+
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.LongFunction;
+import java.util.function.UnaryOperator;
+
+/**
+ * Repository for state-stored aggregates with optimistic concurrency. The map holds one private, committed copy of
+ * each aggregate; callers only ever get their own copy, so a committed copy is never mutated and a lock-free
+ * {@code get} always returns a consistent version.
+ *
+ * {@code save} commits a new copy at {@code getVersion() + 1} only if the stored copy is still at
+ * {@code getVersion()} (a compare-and-set on the map entry, by identity); otherwise another writer got there first and it throws
+ * {@link ConcurrencyConflictException}, leaving the caller to reload and retry. There is no global lock: writers of
+ * different aggregates never contend.
+ *
+ * {@code saveAll} is all or nothing: it first reserves every entry (compare-and-set from the expected version to a
+ * reservation that still serves the old copy to readers), then swaps the reservations for the new copies. A stale
+ * aggregate, or an entry another batch has reserved, releases the reservations taken so far and throws
+ * {@link ConcurrencyConflictException}; nothing of the batch is stored.
+ */
+public class InMemoryRepository<T extends AggregateRoot> implements Repository<T> {
+    private final ConcurrentHashMap<Long, Committed<T>> committed = new ConcurrentHashMap<>();
+    private final UnaryOperator<T> copier;
+
+    /** @param copier returns a deep copy of the aggregate's state (events and version are handled here) */
+    public InMemoryRepository(UnaryOperator<T> copier) {
+        this.copier = copier;
+    }
+
+    /** Copies through {@link Snapshottable#snapshot()} / {@link Snapshottable#restore(Object)} into {@code factory}'s empty aggregate. */
+    public static <S, T extends AggregateRoot & Snapshottable<S>> InMemoryRepository<T> ofSnapshottable(LongFunction<T> factory) {
+        return new InMemoryRepository<>(aggregate -> {
+            T copy = factory.apply(aggregate.getIdAsLong());
+            copy.restore(aggregate.snapshot());
+            return copy;
+        });
+    }
+
+    /** Returns a private copy of the latest committed version, or null. */
+    @Override
+    public T findById(Long id) {
+        Committed<T> current = committed.get(id);
+        return current == null || current.aggregate == null ? null : copyOf(current.aggregate, current.version);
+    }
+
+    @Override
+    public void save(T aggregate) {
+        long expected = aggregate.getVersion();
+        Committed<T> next = new Committed<>(copyOf(aggregate, expected + 1));
+        long id = aggregate.getIdAsLong();
+        if (expected == 0) {
+            Committed<T> existing = committed.putIfAbsent(id, next);
+            if (existing != null) throw new ConcurrencyConflictException(id, expected, existing.version);
+        } else {
+            Committed<T> current = committed.get(id);
+            if (current == null || current.reserved || current.version != expected || !committed.replace(id, current, next)) {
+                throw new ConcurrencyConflictException(id, expected, version(id));
+            }
+        }
+        aggregate.markCommitted(expected + 1);
+    }
+
+    /** Each aggregate may appear at most once in the batch. */
+    @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public void saveAll(List<? extends T> aggregates) {
+        int n = aggregates.size();
+        Committed<T>[] next = new Committed[n];
+        Committed<T>[] previous = new Committed[n];
+        Committed<T>[] reservations = new Committed[n];
+        for (int i = 0; i < n; i++) { // copy first: a failing copier leaves the map untouched
+            T aggregate = aggregates.get(i);
+            next[i] = new Committed<>(copyOf(aggregate, aggregate.getVersion() + 1));
+        }
+        int reserved = 0;
+        try {
+            for (; reserved < n; reserved++) {
+                T aggregate = aggregates.get(reserved);
+                long id = aggregate.getIdAsLong();
+                long expected = aggregate.getVersion();
+                Committed<T> current = committed.get(id);
+                Committed<T> reservation = current == null ? new Committed<>(null, 0, true) : new Committed<>(current.aggregate, current.version, true);
+                boolean ok = expected == 0
+                        ? current == null && committed.putIfAbsent(id, reservation) == null
+                        : current != null && !current.reserved && current.version == expected && committed.replace(id, current, reservation);
+                if (!ok) throw new ConcurrencyConflictException(id, expected, version(id));
+                previous[reserved] = current;
+                reservations[reserved] = reservation;
+            }
+        } catch (RuntimeException e) {
+            for (int i = reserved - 1; i >= 0; i--) {
+                long id = aggregates.get(i).getIdAsLong();
+                if (previous[i] == null) committed.remove(id, reservations[i]);
+                else committed.replace(id, reservations[i], previous[i]);
+            }
+            throw e;
+        }
+        for (int i = 0; i < n; i++) committed.replace(aggregates.get(i).getIdAsLong(), reservations[i], next[i]); // only we replace our own reservation
+        for (int i = 0; i < n; i++) {
+            T aggregate = aggregates.get(i);
+            aggregate.markCommitted(aggregate.getVersion() + 1);
+        }
+    }
+
+    /** Deletes only the version the caller has seen; throws ConcurrencyConflictException if it has moved on. */
+    @Override
+    public void delete(T aggregate) {
+        long id = aggregate.getIdAsLong();
+        Committed<T> current = committed.get(id);
+        if (current == null) return;
+        if (current.reserved || current.version != aggregate.getVersion() || !committed.remove(id, current)) {
+            throw new ConcurrencyConflictException(id, aggregate.getVersion(), version(id));
+        }
+    }
+
+    public long version(long id) {
+        Committed<T> current = committed.get(id);
+        return current == null ? 0 : current.version;
+    }
+
+    public int size() {
+        return committed.size();
+    }
+
+    private T copyOf(T aggregate, long version) {
+        T copy = copier.apply(aggregate);
+        if (copy == aggregate || !copy.hasId() || copy.getIdAsLong() != aggregate.getIdAsLong()) throw new IllegalStateException("copier must return a new aggregate with the same id");
+        copy.markCommitted(version);
+        return copy;
+    }
+
+    // identity equality on purpose: replace/remove must compare the exact committed entry, not the aggregate's id
+    private static final class Committed<T extends AggregateRoot> {
+        final T aggregate;
+        final long version;
+
+        final boolean reserved; // held by a saveAll in progress; aggregate is then the previous copy (null if none)
+
+        Committed(T aggregate) {
+            this(aggregate, aggregate.getVersion(), false);
+        }
+
+        Committed(T aggregate, long version, boolean reserved) {
+            this.aggregate = aggregate;
+            this.version = version;
+            this.reserved = reserved;
+        }
+    }
+}
@@ -1,8 +1,17 @@
 package org.neolcr.ddd;
 
+import java.util.List;
+
 public interface Repository<T extends AggregateRoot> {
     T findById(Long id);
     void save(T aggregate);
     void delete(T aggregate);
-}
 
+    /**
+     * Saves a batch. Implementations that can should write it in one round-trip and all or nothing (on failure no
+     * aggregate of the batch is stored or marked committed); this default just saves one at a time.
+     */
+    default void saveAll(List<? extends T> aggregates) {
+        for (T aggregate : aggregates) save(aggregate);
+    }
+}
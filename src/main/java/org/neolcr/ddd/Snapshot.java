@@ -0,0 +1,5 @@
+package org.neolcr.ddd;
+
+/** State of aggregate {@code aggregateId} after the first {@code version} events of its stream. */
+public record Snapshot(long aggregateId, long version, Object state) {
+}
@@ -0,0 +1,11 @@
+package org.neolcr.ddd;
+
+/**
+ * Implemented by event-sourced aggregates whose state can be captured, so a repository loads them from the latest
+ * snapshot plus the events after it instead of replaying the whole stream. {@code S} must be immutable.
+ */
+public interface Snapshottable<S> {
+    S snapshot();
+
+    void restore(S state);
+}
@@ -0,0 +1,21 @@
+package org.neolcr.ddd;
+
+/** Handle of one EventBus subscriber. Closing it unsubscribes; events already queued are still delivered. */
+public interface Subscription extends AutoCloseable {
+    DeliveryMode mode();
+
+    /** Events handed to the handler. */
+    long delivered();
+
+    /** Events discarded or rejected because the queue was full, or offered after the subscription was closed. */
+    long dropped();
+
+    /** Handler invocations that threw; the subscriber keeps receiving. */
+    long failures();
+
+    /** Events waiting in the queue (0 for SYNC). */
+    int backlog();
+
+    @Override
+    void close();
+}
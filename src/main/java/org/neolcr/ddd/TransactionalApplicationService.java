@@ -0,0 +1,56 @@
+package org.neolcr.ddd;
+
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * ApplicationService whose {@link #execute()} runs inside a {@link UnitOfWork}: the subclass loads and changes
+ * aggregates through the unit, and the changed ones are written in one batch per repository when it returns.
+ * If it throws, or the commit fails, the unit is rolled back and the exception propagates. Events the bus rejects
+ * after a successful commit do not fail the execution: they are counted and handed to
+ * {@link #onPublicationFailures}.
+ */
+public abstract class TransactionalApplicationService implements ApplicationService {
+    private final EventBus eventBus;
+    private final LongAdder publicationFailures = new LongAdder();
+
+    protected TransactionalApplicationService() {
+        this(null);
+    }
+
+    /** @param eventBus receives the saved aggregates' events after each successful commit; may be null */
+    protected TransactionalApplicationService(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    @Override
+    public final void execute() {
+        UnitOfWork unitOfWork = new UnitOfWork(eventBus);
+        List<UnitOfWork.PublicationFailure> failures;
+        try {
+            execute(unitOfWork);
+            failures = unitOfWork.commit();
+        } catch (RuntimeException | Error e) {
+            unitOfWork.rollback();
+            throw e;
+        }
+        if (!failures.isEmpty()) {
+            publicationFailures.add(failures.size());
+            onPublicationFailures(failures);
+        }
+    }
+
+    /** Events rejected by the bus so far, over all executions. */
+    public long publicationFailures() {
+        return publicationFailures.sum();
+    }
+
+    /**
+     * Called after a committed execution whose events were not all published. The changes are stored; override
+     * to log, or to hand the events to an outbox for redelivery. Does nothing by default.
+     */
+    protected void onPublicationFailures(List<UnitOfWork.PublicationFailure> failures) {
+    }
+
+    protected abstract void execute(UnitOfWork unitOfWork);
+}
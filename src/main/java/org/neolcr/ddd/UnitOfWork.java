@@ -0,0 +1,187 @@
+package org.neolcr.ddd;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Tracks the aggregates one application-service execution loads or creates and writes the changed ones at
+ * {@link #commit()}: one {@link Repository#saveAll} per repository, however many aggregates were touched.
+ *
+ * Loads go through an identity map, so the same id yields the same instance for the whole unit. At commit an
+ * aggregate is dirty if it was registered as new or dirty, has uncommitted events, or is {@link Snapshottable} and
+ * its snapshot no longer equals the one taken when it was loaded. Clean aggregates are not written.
+ *
+ * With repositories whose {@code saveAll} is all or nothing (InMemoryRepository, EventSourcedRepository) a unit
+ * that uses one repository commits atomically; with several, each repository's batch is atomic but a later batch
+ * failing does not undo an earlier one. {@link #rollback()} writes nothing and puts every uncommitted Snapshottable
+ * aggregate back to its loaded state without its pending events. Not thread-safe: one unit per execution.
+ */
+public final class UnitOfWork {
+    private final EventBus eventBus;
+    private final Map<Repository<?>, Tracked<?>> tracked = new IdentityHashMap<>();
+    private final List<Tracked<?>> flushOrder = new ArrayList<>(); // repositories in first-use order
+    private boolean finished;
+
+    public UnitOfWork() {
+        this(null);
+    }
+
+    /** @param eventBus receives the events of the saved aggregates after a successful commit; may be null */
+    public UnitOfWork(EventBus eventBus) {
+        this.eventBus = eventBus;
+    }
+
+    /** Returns the tracked instance if this unit already loaded {@code id}, otherwise loads it; null if absent. */
+    public <T extends AggregateRoot> T load(Repository<T> repository, long id) {
+        checkActive();
+        Tracked<T> t = tracked(repository);
+        Entry<T> entry = t.entries.get(id);
+        if (entry != null) return entry.aggregate;
+        T aggregate = repository.findById(id);
+        if (aggregate != null) t.entries.put(id, new Entry<>(aggregate, false));
+        return aggregate;
+    }
+
+    /** Tracks an aggregate created during this unit; it is saved at commit. */
+    public <T extends AggregateRoot> void registerNew(Repository<T> repository, T aggregate) {
+        track(repository, aggregate, true).dirty = true;
+    }
+
+    /**
+     * Marks an aggregate to be saved at commit, for changes the unit cannot see (no events and not
+     * Snapshottable), or to track one loaded elsewhere.
+     */
+    public <T extends AggregateRoot> void registerDirty(Repository<T> repository, T aggregate) {
+        track(repository, aggregate, false).dirty = true;
+    }
+
+    public int trackedCount() {
+        int count = 0;
+        for (Tracked<?> t : flushOrder) count += t.entries.size();
+        return count;
+    }
+
+    /**
+     * Saves the dirty aggregates, one batch per repository, then publishes their events. If a save fails the
+     * exception propagates and the unit stays open for {@link #rollback()}. Once the saves succeeded the unit is
+     * committed whatever publication does: every event is offered to the bus, and the events the bus rejected are
+     * returned with their exceptions instead of thrown, so callers do not mistake a committed unit for a failed one
+     * and apply it twice.
+     *
+     * @return the publication failures, in publication order; empty if all events were published
+     */
+    public List<PublicationFailure> commit() {
+        checkActive();
+        List<AggregateRoot> saved = new ArrayList<>();
+        for (Tracked<?> t : flushOrder) t.flush(saved);
+        finished = true;
+        tracked.clear();
+        flushOrder.clear();
+        if (eventBus == null) return List.of();
+        List<PublicationFailure> failures = new ArrayList<>(0);
+        for (AggregateRoot aggregate : saved) {
+            for (DomainEvent event : aggregate.pullDomainEvents()) {
+                try {
+                    eventBus.publish(event);
+                } catch (RuntimeException e) {
+                    failures.add(new PublicationFailure(event, e));
+                }
+            }
+        }
+        return failures;
+    }
+
+    /** Discards the unit; safe to call after a failed commit and a no-op after a successful one. */
+    public void rollback() {
+        for (Tracked<?> t : flushOrder) t.restore();
+        finished = true;
+        tracked.clear();
+        flushOrder.clear();
+    }
+
+    /** An event of a committed aggregate that the bus rejected; the aggregate's state is stored regardless. */
+    public record PublicationFailure(DomainEvent event, RuntimeException cause) {
+    }
+
+    private <T extends AggregateRoot> Entry<T> track(Repository<T> repository, T aggregate, boolean isNew) {
+        checkActive();
+        if (!aggregate.hasId()) throw new IllegalArgumentException("aggregate has no id");
+        Tracked<T> t = tracked(repository);
+        Entry<T> entry = t.entries.get(aggregate.getIdAsLong());
+        if (entry == null) {
+            entry = new Entry<>(aggregate, isNew);
+            t.entries.put(aggregate.getIdAsLong(), entry);
+        } else if (entry.aggregate != aggregate) {
+            throw new IllegalStateException("another instance of aggregate " + aggregate.getIdAsLong() + " is already tracked");
+        }
+        return entry;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T extends AggregateRoot> Tracked<T> tracked(Repository<T> repository) {
+        Tracked<T> t = (Tracked<T>) tracked.get(repository);
+        if (t == null) {
+            t = new Tracked<>(repository);
+            tracked.put(repository, t);
+            flushOrder.add(t);
+        }
+        return t;
+    }
+
+    private void checkActive() {
+        if (finished) throw new IllegalStateException("unit of work already finished");
+    }
+
+    private static final class Tracked<T extends AggregateRoot> {
+        final Repository<T> repository;
+        final EntityIdMap<Entry<T>> entries = new EntityIdMap<>();
+
+        Tracked(Repository<T> repository) {
+            this.repository = repository;
+        }
+
+        void flush(List<AggregateRoot> saved) {
+            List<T> dirty = new ArrayList<>();
+            for (Iterator<Entry<T>> it = entries.values(); it.hasNext(); ) {
+                Entry<T> entry = it.next();
+                if (entry.isDirty()) dirty.add(entry.aggregate);
+            }
+            if (dirty.isEmpty()) return;
+            repository.saveAll(dirty);
+            saved.addAll(dirty);
+        }
+
+        void restore() {
+            for (Iterator<Entry<T>> it = entries.values(); it.hasNext(); ) it.next().restore();
+        }
+    }
+
+    private static final class Entry<T extends AggregateRoot> {
+        final T aggregate;
+        final long loadedVersion;
+        final Object loadedState; // snapshot at load time, Snapshottable aggregates only
+        boolean dirty;
+
+        Entry(T aggregate, boolean isNew) {
+            this.aggregate = aggregate;
+            this.loadedVersion = aggregate.getVersion();
+            this.loadedState = !isNew && aggregate instanceof Snapshottable<?> s ? s.snapshot() : null;
+            this.dirty = isNew;
+        }
+
+        boolean isDirty() {
+            if (dirty || !aggregate.getUncommittedEvents().isEmpty()) return true;
+            return loadedState != null && !loadedState.equals(((Snapshottable<?>) aggregate).snapshot());
+        }
+
+        @SuppressWarnings("unchecked")
+        void restore() {
+            if (loadedState == null || aggregate.getVersion() != loadedVersion) return; // not restorable, or committed by an earlier batch
+            ((Snapshottable<Object>) aggregate).restore(loadedState);
+            aggregate.discardUncommittedEvents();
+        }
+    }
+}
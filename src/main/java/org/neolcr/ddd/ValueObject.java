@@ -2,6 +2,7 @@ package org.neolcr.ddd;
 
 import java.util.Objects;
 
+/** Equal values may be shared through a {@link ValueObjectInterner}; equals then succeeds on identity. */
 public class ValueObject {
     private final String value;
 
@@ -23,7 +24,7 @@ public class ValueObject {
 
     @Override
     public int hashCode() {
-        return Objects.hash(value);
+        return 31 + Objects.hashCode(value); // same as Objects.hash(value), without the varargs array
     }
 }
 
@@ -0,0 +1,179 @@
+package org.neolcr.ddd;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Function;
+
+/**
+ * Thread-safe, bounded pool of canonical ValueObject instances, the FontFactory of the Flyweight example grown up
+ * for concurrent domains with many equal values (currency codes, country codes, statuses). Interning returns one
+ * shared instance per value, so equal interned values are the same object and {@code equals} succeeds on its
+ * identity check without comparing strings, and millions of equal values cost one object.
+ *
+ * The pool is split into segments. Lookups read a segment's table without locking; a miss locks only that segment
+ * to insert. Entries are weak references: a value nobody else uses can be collected, and its entry is purged on
+ * the segment's next insert. Once a segment holds {@code maximumSize / segments} live values, new values are
+ * returned without being pooled (still correct under equals, just not shared).
+ */
+public class ValueObjectInterner<V extends ValueObject> {
+    private final Function<String, ? extends V> factory;
+    private final Segment<V>[] segments;
+    private final int segmentShift;
+
+    /** @param factory creates the value object for a string, e.g. {@code CurrencyCode::new} */
+    public ValueObjectInterner(Function<String, ? extends V> factory, int maximumSize) {
+        this(factory, maximumSize, 16);
+    }
+
+    @SuppressWarnings("unchecked")
+    public ValueObjectInterner(Function<String, ? extends V> factory, int maximumSize, int concurrency) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize <= 0");
+        if (concurrency <= 0 || concurrency > 1 << 16) throw new IllegalArgumentException("concurrency out of range");
+        int count = Math.max(1, Integer.highestOneBit(concurrency - 1) << 1); // next power of two
+        this.factory = factory;
+        this.segments = (Segment<V>[]) new Segment<?>[count];
+        this.segmentShift = 32 - Integer.numberOfTrailingZeros(count);
+        int perSegment = Math.max(1, (maximumSize + count - 1) / count);
+        for (int i = 0; i < count; i++) segments[i] = new Segment<>(perSegment);
+    }
+
+    /** Canonical instance for {@code value}, created with the factory only if the pool has none. */
+    public V intern(String value) {
+        if (value == null) throw new IllegalArgumentException("value null");
+        int hash = spread(value.hashCode());
+        Segment<V> segment = segmentFor(hash);
+        V found = segment.find(hash, value);
+        return found != null ? found : segment.insert(hash, value, null, factory);
+    }
+
+    /** Canonical instance equal to {@code candidate}; the candidate itself becomes canonical if there is none yet. */
+    public V intern(V candidate) {
+        String value = candidate.getValue();
+        if (value == null) return candidate;
+        int hash = spread(value.hashCode());
+        Segment<V> segment = segmentFor(hash);
+        V found = segment.find(hash, value);
+        if (found == null) found = segment.insert(hash, value, candidate, factory);
+        return found.getClass() == candidate.getClass() ? found : candidate;
+    }
+
+    /** Drops the entries of collected values now rather than on the next insert into their segment. */
+    public void cleanUp() {
+        for (Segment<V> segment : segments) segment.cleanUp();
+    }
+
+    /** Pooled entries, including values collected since their segment's last insert or {@link #cleanUp()}. */
+    public int size() {
+        int size = 0;
+        for (Segment<V> segment : segments) size += segment.count;
+        return size;
+    }
+
+    private Segment<V> segmentFor(int hash) {
+        return segments[segmentShift == 32 ? 0 : hash >>> segmentShift];
+    }
+
+    private static int spread(int hash) {
+        return hash * 0x9E3779B9; // segments take the high bits of the product
+    }
+
+    private static int indexFor(int hash, int length) {
+        return (hash ^ hash >>> 16) & length - 1;
+    }
+
+    private static final class Entry<V> extends WeakReference<V> {
+        final int hash;
+        volatile Entry<V> next;
+
+        Entry(V value, int hash, Entry<V> next, ReferenceQueue<V> queue) {
+            super(value, queue);
+            this.hash = hash;
+            this.next = next;
+        }
+    }
+
+    private static final class Segment<V extends ValueObject> {
+        private final ReferenceQueue<V> collected = new ReferenceQueue<>();
+        private final int maximumSize;
+        private volatile AtomicReferenceArray<Entry<V>> table = new AtomicReferenceArray<>(16);
+        volatile int count;
+
+        Segment(int maximumSize) {
+            this.maximumSize = maximumSize;
+        }
+
+        /** Lock-free; may miss an entry being inserted or rehashed concurrently, which insert then finds. */
+        V find(int hash, String value) {
+            AtomicReferenceArray<Entry<V>> t = table;
+            for (Entry<V> e = t.get(indexFor(hash, t.length())); e != null; e = e.next) {
+                if (e.hash != hash) continue;
+                V v = e.get();
+                if (v != null && value.equals(v.getValue())) return v;
+            }
+            return null;
+        }
+
+        synchronized V insert(int hash, String value, V candidate, Function<String, ? extends V> factory) {
+            purgeCollected();
+            V found = find(hash, value);
+            if (found != null) return found;
+            V created = candidate != null ? candidate : factory.apply(value);
+            if (!value.equals(created.getValue())) throw new IllegalArgumentException("factory changed the value: " + value);
+            if (count >= maximumSize) return created; // full: hand it out unshared
+            AtomicReferenceArray<Entry<V>> t = table;
+            if (count >= t.length() - (t.length() >> 2)) t = resize(t);
+            int index = indexFor(hash, t.length());
+            t.set(index, new Entry<>(created, hash, t.get(index), collected));
+            count++;
+            return created;
+        }
+
+        synchronized void cleanUp() {
+            purgeCollected();
+        }
+
+        private void purgeCollected() {
+            Object stale;
+            while ((stale = collected.poll()) != null) {
+                Entry<?> dead = (Entry<?>) stale;
+                AtomicReferenceArray<Entry<V>> t = table;
+                int index = indexFor(dead.hash, t.length());
+                Entry<V> previous = null;
+                for (Entry<V> e = t.get(index); e != null; previous = e, e = e.next) {
+                    if (e != dead) continue;
+                    if (previous == null) t.set(index, e.next);
+                    else previous.next = e.next;
+                    count--;
+                    break;
+                }
+            }
+        }
+
+        /**
+         * Moves the existing entries into a table twice the size by relinking them, so no weak reference is created
+         * or left registered twice with the queue. A concurrent find on the old table may follow a relinked entry
+         * into another chain and miss its value; it then falls back to insert, which waits for this lock.
+         */
+        private AtomicReferenceArray<Entry<V>> resize(AtomicReferenceArray<Entry<V>> old) {
+            AtomicReferenceArray<Entry<V>> bigger = new AtomicReferenceArray<>(old.length() * 2);
+            int live = 0;
+            for (int i = 0; i < old.length(); i++) {
+                Entry<V> e = old.get(i);
+                while (e != null) {
+                    Entry<V> next = e.next;
+                    if (e.get() != null) { // collected entries are dropped; purgeCollected no longer finds them
+                        int index = indexFor(e.hash, bigger.length());
+                        e.next = bigger.get(index);
+                        bigger.set(index, e);
+                        live++;
+                    }
+                    e = next;
+                }
+            }
+            count = live;
+            table = bigger;
+            return bigger;
+        }
+    }
+}
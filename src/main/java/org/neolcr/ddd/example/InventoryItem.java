@@ -0,0 +1,109 @@
+package org.neolcr.ddd.example;
+
+import org.neolcr.ddd.AggregateRoot;
+import org.neolcr.ddd.DomainEvent;
+import org.neolcr.ddd.Snapshottable;
+
+/**
+ * Event-sourced sample aggregate: a stock-keeping item whose on-hand count never goes negative.
+ * Domain methods validate and record an event; {@link #apply(DomainEvent)} is the only place state changes.
+ */
+public class InventoryItem extends AggregateRoot implements Snapshottable<InventoryItem.State> {
+    private String name;
+    private int onHand;
+    private boolean active;
+
+    /** Empty aggregate, to be rebuilt from its stream (see EventSourcedRepository). */
+    public InventoryItem(long id) {
+        super(id);
+    }
+
+    public static InventoryItem create(long id, String name) {
+        if (name == null || name.isBlank()) throw new IllegalArgumentException("name blank");
+        InventoryItem item = new InventoryItem(id);
+        item.addDomainEvent(new Created(name));
+        return item;
+    }
+
+    public void checkIn(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count <= 0");
+        requireActive();
+        addDomainEvent(new CheckedIn(count));
+    }
+
+    public void remove(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count <= 0");
+        requireActive();
+        if (count > onHand) throw new IllegalStateException("insufficient stock");
+        addDomainEvent(new Removed(count));
+    }
+
+    public void deactivate() {
+        requireActive();
+        addDomainEvent(new Deactivated());
+    }
+
+    public String getName() { return name; }
+    public int getOnHand() { return onHand; }
+    public boolean isActive() { return active; }
+
+    @Override
+    protected void apply(DomainEvent event) {
+        switch (event) {
+            case Created e -> {
+                name = e.name;
+                active = true;
+            }
+            case CheckedIn e -> onHand += e.count;
+            case Removed e -> onHand -= e.count;
+            case Deactivated e -> active = false;
+            default -> throw new IllegalArgumentException("unexpected event " + event.getClass().getName());
+        }
+    }
+
+    @Override
+    public State snapshot() {
+        return new State(name, onHand, active);
+    }
+
+    @Override
+    public void restore(State state) {
+        name = state.name();
+        onHand = state.onHand();
+        active = state.active();
+    }
+
+    private void requireActive() {
+        if (!active) throw new IllegalStateException("item inactive");
+    }
+
+    public record State(String name, int onHand, boolean active) {
+    }
+
+    public static final class Created extends DomainEvent {
+        final String name;
+
+        public Created(String name) {
+            this.name = name;
+        }
+    }
+
+    public static final class CheckedIn extends DomainEvent {
+        final int count;
+
+        public CheckedIn(int count) {
+            this.count = count;
+        }
+    }
+
+    public static final class Removed extends DomainEvent {
+        final int count;
+
+        public Removed(int count) {
+            this.count = count;
+        }
+    }
+
+    public static final class Deactivated extends DomainEvent {
+    }
+}
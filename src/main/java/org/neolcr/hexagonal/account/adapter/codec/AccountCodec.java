@@ -0,0 +1,232 @@
+package org.neolcr.hexagonal.account.adapter.codec;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Currency;
+
+/**
+ * Versioned binary form of {@link Account} and {@link Money}, shared by persistence, replication and the wire.
+ * Encoding and decoding work directly on the caller's buffer (heap, direct or memory-mapped) at its position and
+ * advance it. Nothing is allocated on the way except the decoded owner String and, for a buffer without a backing
+ * array, a copy of the owner name's bytes. Multi-byte integers are big-endian whatever the buffer's byte order.
+ *
+ * <pre>
+ * account : [byte VERSION][byte flags][long id, if FLAG_HAS_ID][varint ownerLen][owner UTF-8][money]
+ * money   : [3 bytes ISO 4217 alphabetic code][long minor units]
+ * </pre>
+ * {@code flags} holds {@link #FLAG_HAS_ID} (the account has been persisted) and {@link #FLAG_HOT} (BalanceMode.HOT).
+ * {@code varint} is an unsigned LEB128 int: one byte for owner names up to 127 bytes. A decoder rejects versions
+ * it does not know, so the layout can evolve behind a new version number.
+ */
+public final class AccountCodec {
+    public static final byte VERSION = 1;
+    public static final int FLAG_HAS_ID = 1;
+    public static final int FLAG_HOT = 1 << 1;
+    public static final int MONEY_SIZE = 3 + Long.BYTES;
+    public static final int MAX_OWNER_BYTES = 1 << 16;
+
+    private static final int[] CURRENCY_CODES;
+    private static final Currency[] CURRENCIES;
+    private static final int DEFAULT_CURRENCY_CODE = pack(Money.DEFAULT_CURRENCY);
+
+    static {
+        // sorted packed codes so decoding a currency is a binary search instead of Currency.getInstance(new String(...))
+        Currency[] all = Currency.getAvailableCurrencies().toArray(new Currency[0]);
+        Arrays.sort(all, (a, b) -> Integer.compare(pack(a), pack(b)));
+        CURRENCY_CODES = new int[all.length];
+        for (int i = 0; i < all.length; i++) CURRENCY_CODES[i] = pack(all[i]);
+        CURRENCIES = all;
+    }
+
+    private AccountCodec() {
+    }
+
+    /** Exact number of bytes {@link #encode(Account, ByteBuffer)} writes. */
+    public static int encodedSize(Account account) {
+        int owner = utf8Length(account.getOwnerName());
+        return 2 + (account.getId() == null ? 0 : Long.BYTES) + varintSize(owner) + owner + MONEY_SIZE;
+    }
+
+    /**
+     * Writes {@code account} at the buffer's position and advances it. Throws {@link BufferOverflowException},
+     * leaving the buffer untouched, if fewer than {@link #encodedSize(Account)} bytes remain.
+     */
+    public static void encode(Account account, ByteBuffer buffer) {
+        String owner = account.getOwnerName();
+        int ownerBytes = utf8Length(owner);
+        if (ownerBytes > MAX_OWNER_BYTES) throw new IllegalArgumentException("owner name too long");
+        Long id = account.getId();
+        int size = 2 + (id == null ? 0 : Long.BYTES) + varintSize(ownerBytes) + ownerBytes + MONEY_SIZE;
+        if (buffer.remaining() < size) throw new BufferOverflowException();
+        int flags = (id == null ? 0 : FLAG_HAS_ID) | (account.getBalanceMode() == BalanceMode.HOT ? FLAG_HOT : 0);
+        buffer.put(VERSION).put((byte) flags);
+        if (id != null) putLong(buffer, id);
+        putVarint(buffer, ownerBytes);
+        putUtf8(buffer, owner);
+        putMoney(buffer, account.getCurrency(), account.getBalanceMinorUnits());
+    }
+
+    /** Reads one account at the buffer's position and advances past it. */
+    public static Account decode(ByteBuffer buffer) {
+        byte version = buffer.get();
+        if (version != VERSION) throw new IllegalArgumentException("unsupported account encoding version " + version);
+        int flags = buffer.get();
+        Long id = (flags & FLAG_HAS_ID) != 0 ? getLong(buffer) : null;
+        int ownerBytes = getVarint(buffer);
+        if (ownerBytes < 0 || ownerBytes > MAX_OWNER_BYTES || ownerBytes > buffer.remaining()) throw new IllegalArgumentException("owner length out of range");
+        String owner = getUtf8(buffer, ownerBytes);
+        Money balance = decodeMoney(buffer);
+        return new Account(id, owner, balance, (flags & FLAG_HOT) != 0 ? BalanceMode.HOT : BalanceMode.STANDARD);
+    }
+
+    /** Id of the encoded account starting at {@code index}, without decoding it or moving the position. */
+    public static long idAt(ByteBuffer buffer, int index) {
+        if (buffer.get(index) != VERSION) throw new IllegalArgumentException("unsupported account encoding version " + buffer.get(index));
+        if ((buffer.get(index + 1) & FLAG_HAS_ID) == 0) throw new IllegalArgumentException("account has no id");
+        long id = buffer.getLong(index + 2);
+        return buffer.order() == ByteOrder.BIG_ENDIAN ? id : Long.reverseBytes(id);
+    }
+
+    public static void encodeMoney(Money money, ByteBuffer buffer) {
+        if (buffer.remaining() < MONEY_SIZE) throw new BufferOverflowException();
+        putMoney(buffer, money.currency(), money.minorUnits());
+    }
+
+    public static Money decodeMoney(ByteBuffer buffer) {
+        int code = (buffer.get() & 0xFF) << 16 | (buffer.get() & 0xFF) << 8 | buffer.get() & 0xFF;
+        return Money.ofMinor(getLong(buffer), currency(code));
+    }
+
+    private static void putMoney(ByteBuffer buffer, Currency currency, long minorUnits) {
+        String code = currency.getCurrencyCode();
+        buffer.put((byte) code.charAt(0)).put((byte) code.charAt(1)).put((byte) code.charAt(2));
+        putLong(buffer, minorUnits);
+    }
+
+    private static Currency currency(int code) {
+        if (code == DEFAULT_CURRENCY_CODE) return Money.DEFAULT_CURRENCY;
+        int i = Arrays.binarySearch(CURRENCY_CODES, code);
+        if (i >= 0) return CURRENCIES[i];
+        char[] chars = {(char) (code >>> 16), (char) (code >>> 8 & 0xFF), (char) (code & 0xFF)};
+        return Currency.getInstance(new String(chars)); // added to the JDK after class init, or invalid (throws)
+    }
+
+    private static int pack(Currency currency) {
+        String code = currency.getCurrencyCode();
+        return code.charAt(0) << 16 | code.charAt(1) << 8 | code.charAt(2);
+    }
+
+    private static void putLong(ByteBuffer buffer, long value) {
+        buffer.putLong(buffer.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value));
+    }
+
+    private static long getLong(ByteBuffer buffer) {
+        long value = buffer.getLong();
+        return buffer.order() == ByteOrder.BIG_ENDIAN ? value : Long.reverseBytes(value);
+    }
+
+    private static int varintSize(int value) {
+        return value < 1 << 7 ? 1 : value < 1 << 14 ? 2 : value < 1 << 21 ? 3 : value < 1 << 28 ? 4 : 5;
+    }
+
+    private static void putVarint(ByteBuffer buffer, int value) {
+        while ((value & ~0x7F) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    private static int getVarint(ByteBuffer buffer) {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = buffer.get();
+            value |= (b & 0x7F) << shift;
+            if (b >= 0) return value;
+        }
+        throw new IllegalArgumentException("malformed varint");
+    }
+
+    /** Same byte count as {@code s.getBytes(UTF_8).length}: unpaired surrogates count as one '?' byte. */
+    static int utf8Length(String s) {
+        int n = s.length();
+        int bytes = n;
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) continue;
+            if (c < 0x800) {
+                bytes += 1;
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                bytes += 2; // two chars, four bytes
+                i++;
+            } else if (!Character.isSurrogate(c)) {
+                bytes += 2;
+            }
+        }
+        return bytes;
+    }
+
+    private static void putUtf8(ByteBuffer buffer, String s) {
+        int n = s.length();
+        int at = buffer.position();
+        if (buffer.hasArray()) { // write straight into the backing array
+            byte[] array = buffer.array();
+            int offset = buffer.arrayOffset() + at;
+            int i = 0;
+            for (char c; i < n && (c = s.charAt(i)) < 0x80; i++) array[offset + i] = (byte) c;
+            buffer.position(at + i);
+            if (i < n) putUtf8Slow(buffer, s, i);
+            return;
+        }
+        int i = 0;
+        for (char c; i < n && (c = s.charAt(i)) < 0x80; i++) buffer.put(at + i, (byte) c);
+        buffer.position(at + i);
+        if (i < n) putUtf8Slow(buffer, s, i);
+    }
+
+    private static void putUtf8Slow(ByteBuffer buffer, String s, int from) {
+        int n = s.length();
+        for (int i = from; i < n; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | c >> 6)).put((byte) (0x80 | c & 0x3F));
+            } else if (Character.isHighSurrogate(c) && i + 1 < n && Character.isLowSurrogate(s.charAt(i + 1))) {
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buffer.put((byte) (0xF0 | cp >> 18)).put((byte) (0x80 | cp >> 12 & 0x3F))
+                        .put((byte) (0x80 | cp >> 6 & 0x3F)).put((byte) (0x80 | cp & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | c >> 12)).put((byte) (0x80 | c >> 6 & 0x3F)).put((byte) (0x80 | c & 0x3F));
+            }
+        }
+    }
+
+    /**
+     * Heap buffers decode in place from their backing array. Direct and mapped ones are bulk-copied into an array of
+     * exactly {@code length} bytes first (one memcpy) so the JDK's vectorized decoder does the work; a per-thread
+     * scratch array of the maximum length would cost 64 KB for every short-lived virtual thread instead.
+     */
+    private static String getUtf8(ByteBuffer buffer, int length) {
+        int start = buffer.position();
+        String s;
+        if (buffer.hasArray()) {
+            s = new String(buffer.array(), buffer.arrayOffset() + start, length, StandardCharsets.UTF_8);
+        } else {
+            byte[] bytes = new byte[length];
+            buffer.get(start, bytes);
+            s = new String(bytes, StandardCharsets.UTF_8);
+        }
+        buffer.position(start + length);
+        return s;
+    }
+}
@@ -0,0 +1,263 @@
+package org.neolcr.hexagonal.account.adapter.in.tcp;
+
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.net.InetSocketAddress;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Driving adapter speaking {@link BinaryProtocol} over non-blocking NIO. An acceptor thread hands connections
+ * round-robin to {@code ioThreads} event loops, each owning a {@link Selector}. A loop decodes every complete frame
+ * it has read, calls the use case inline and encodes the response into the connection's write buffer, so a
+ * client may pipeline any number of requests; responses leave in request order.
+ *
+ * Read and write buffers are direct buffers taken from the loop's {@link DirectBufferPool} and returned when the
+ * connection closes, so framing allocates nothing per request. When the write buffer is full the loop stops
+ * decoding and reading for that connection until the peer has drained it (per-connection backpressure).
+ *
+ * The use case runs on the I/O thread, so it should not block: this adapter suits in-memory repositories, not
+ * ones that wait for fsync per call.
+ */
+public class BinaryAccountServer implements Closeable {
+    private final CreateAccountUseCase createAccount;
+    private final ServerSocketChannel serverChannel;
+    private final EventLoop[] loops;
+    private final int bufferSize;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+
+    public BinaryAccountServer(CreateAccountUseCase createAccount, InetSocketAddress address, int ioThreads) throws IOException {
+        this(createAccount, address, ioThreads, 64 << 10);
+    }
+
+    public BinaryAccountServer(CreateAccountUseCase createAccount, InetSocketAddress address, int ioThreads, int bufferSize) throws IOException {
+        if (ioThreads <= 0) throw new IllegalArgumentException("ioThreads <= 0");
+        if (bufferSize < 2 * BinaryProtocol.MAX_RESPONSE) throw new IllegalArgumentException("bufferSize too small");
+        this.createAccount = createAccount;
+        this.bufferSize = bufferSize;
+        this.serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(address, 4096);
+        this.loops = new EventLoop[ioThreads];
+        for (int i = 0; i < ioThreads; i++) loops[i] = new EventLoop(i);
+        this.acceptor = new Thread(this::accept, "binary-account-acceptor");
+    }
+
+    public BinaryAccountServer start() {
+        for (EventLoop loop : loops) loop.thread.start();
+        acceptor.start();
+        return this;
+    }
+
+    public int port() {
+        try {
+            return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverChannel.close();
+        for (EventLoop loop : loops) loop.selector.wakeup();
+        try {
+            acceptor.join();
+            for (EventLoop loop : loops) loop.thread.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void accept() {
+        int next = 0;
+        while (running) {
+            try {
+                SocketChannel channel = serverChannel.accept();
+                channel.configureBlocking(false);
+                channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+                loops[next++ % loops.length].register(channel);
+            } catch (ClosedChannelException e) {
+                return;
+            } catch (IOException e) {
+                if (!running) return;
+            }
+        }
+    }
+
+    private final class EventLoop implements Runnable {
+        final Selector selector;
+        final Thread thread;
+        final DirectBufferPool pool = new DirectBufferPool(bufferSize, 1024);
+        final List<SocketChannel> pending = new ArrayList<>();
+        final byte[] scratch = new byte[bufferSize];
+
+        EventLoop(int index) throws IOException {
+            this.selector = Selector.open();
+            this.thread = new Thread(this, "binary-account-io-" + index);
+        }
+
+        void register(SocketChannel channel) {
+            synchronized (pending) {
+                pending.add(channel);
+            }
+            selector.wakeup();
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (running) {
+                    selector.select();
+                    registerPending();
+                    for (SelectionKey key : selector.selectedKeys()) {
+                        Connection connection = (Connection) key.attachment();
+                        try {
+                            if (key.isWritable()) connection.onWritable();
+                            if (key.isValid() && key.isReadable()) connection.onReadable();
+                        } catch (IOException | RuntimeException e) {
+                            connection.close();
+                        }
+                    }
+                    selector.selectedKeys().clear();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                for (SelectionKey key : selector.keys()) ((Connection) key.attachment()).close();
+                try {
+                    selector.close();
+                } catch (IOException ignored) {
+                }
+            }
+        }
+
+        private void registerPending() throws IOException {
+            synchronized (pending) {
+                for (SocketChannel channel : pending) {
+                    Connection connection = new Connection(this, channel);
+                    connection.key = channel.register(selector, SelectionKey.OP_READ, connection);
+                }
+                pending.clear();
+            }
+        }
+    }
+
+    private final class Connection {
+        private final EventLoop loop;
+        private final SocketChannel channel;
+        private final ByteBuffer in;  // write mode: filled by the channel, compacted after decoding
+        private final ByteBuffer out; // write mode: filled with responses, compacted after flushing
+        private SelectionKey key;
+
+        Connection(EventLoop loop, SocketChannel channel) {
+            this.loop = loop;
+            this.channel = channel;
+            this.in = loop.pool.acquire();
+            this.out = loop.pool.acquire();
+        }
+
+        void onReadable() throws IOException {
+            if (channel.read(in) < 0) {
+                close();
+                return;
+            }
+            decodeAndFlush();
+        }
+
+        void onWritable() throws IOException {
+            flush();
+            if (out.position() == 0) decodeAndFlush(); // frames held back while the write buffer was full
+        }
+
+        private void decodeAndFlush() throws IOException {
+            boolean blocked;
+            do {
+                in.flip();
+                try {
+                    blocked = decode();
+                } finally {
+                    in.compact();
+                }
+                flush();
+            } while (blocked && out.position() == 0); // everything went out at once: keep decoding
+        }
+
+        /** Returns true if it stopped with frames left only because the write buffer was full. */
+        private boolean decode() {
+            while (in.remaining() >= Integer.BYTES) {
+                if (out.remaining() < BinaryProtocol.MAX_RESPONSE) return true;
+                int length = in.getInt(in.position());
+                if (length < BinaryProtocol.HEADER - Integer.BYTES || length > in.capacity() - Integer.BYTES) {
+                    throw new IllegalStateException("bad frame length " + length);
+                }
+                if (in.remaining() < Integer.BYTES + length) return false;
+                int end = in.position() + Integer.BYTES + length;
+                in.position(in.position() + Integer.BYTES);
+                long correlationId = in.getLong();
+                byte op = in.get();
+                try {
+                    if (op != BinaryProtocol.OP_CREATE) throw new IllegalArgumentException("unknown op " + op);
+                    if (end - in.position() < Short.BYTES + Long.BYTES + 1) throw new IllegalArgumentException("truncated create request");
+                    int ownerLength = in.getShort();
+                    if (ownerLength < 0 || ownerLength + Long.BYTES + 1 > end - in.position()) throw new IllegalArgumentException("bad owner length");
+                    in.get(loop.scratch, 0, ownerLength);
+                    String ownerName = new String(loop.scratch, 0, ownerLength, StandardCharsets.UTF_8);
+                    long unscaled = in.getLong();
+                    int scale = in.get();
+                    Long id = createAccount.createAccount(ownerName, BigDecimal.valueOf(unscaled, scale));
+                    out.putInt(BinaryProtocol.HEADER - Integer.BYTES + Long.BYTES).putLong(correlationId).put(BinaryProtocol.STATUS_OK).putLong(id);
+                } catch (RuntimeException e) {
+                    putError(correlationId, e instanceof IllegalArgumentException ? e.getMessage() : "internal error");
+                }
+                in.position(end);
+            }
+            return false;
+        }
+
+        private void putError(long correlationId, String message) {
+            byte[] text = (message == null ? "" : message).getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(text.length, BinaryProtocol.MAX_ERROR_MESSAGE);
+            out.putInt(BinaryProtocol.HEADER - Integer.BYTES + Short.BYTES + length)
+                    .putLong(correlationId)
+                    .put(BinaryProtocol.STATUS_ERROR)
+                    .putShort((short) length)
+                    .put(text, 0, length);
+        }
+
+        private void flush() throws IOException {
+            out.flip();
+            try {
+                channel.write(out);
+            } finally {
+                out.compact();
+            }
+            // stop reading while responses are backed up; resume once the peer has drained them
+            key.interestOps(out.position() > 0 ? SelectionKey.OP_WRITE : SelectionKey.OP_READ);
+        }
+
+        void close() {
+            if (!channel.isOpen()) return;
+            key.cancel();
+            try {
+                channel.close();
+            } catch (IOException ignored) {
+            }
+            loop.pool.release(in);
+            loop.pool.release(out);
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package org.neolcr.hexagonal.account.adapter.in.tcp;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+
+/**
+ * Wire format of {@link BinaryAccountServer}. All integers are big-endian; every frame starts with an
+ * {@code int} length counting the bytes after it, followed by the caller's correlation id, which the server echoes
+ * so a client can keep many requests in flight on one connection and match responses (sent in request order).
+ *
+ * <pre>
+ * request  CREATE : [int len][long correlationId][byte OP_CREATE][short ownerLen][owner UTF-8][long unscaled][byte scale]
+ * response OK     : [int len][long correlationId][byte STATUS_OK][long accountId]
+ * response ERROR  : [int len][long correlationId][byte STATUS_ERROR][short messageLen][message UTF-8]
+ * </pre>
+ * The initial balance is {@code unscaled * 10^-scale}, i.e. {@link BigDecimal#valueOf(long, int)}.
+ */
+public final class BinaryProtocol {
+    public static final byte OP_CREATE = 1;
+    public static final byte STATUS_OK = 0;
+    public static final byte STATUS_ERROR = 1;
+
+    /** Bytes of a frame before its operation- or status-specific part: length, correlation id, op/status. */
+    public static final int HEADER = Integer.BYTES + Long.BYTES + 1;
+    public static final int MAX_ERROR_MESSAGE = 256;
+    public static final int MAX_RESPONSE = HEADER + Short.BYTES + MAX_ERROR_MESSAGE;
+
+    private BinaryProtocol() {
+    }
+
+    public static int createRequestSize(byte[] ownerUtf8) {
+        return HEADER + Short.BYTES + ownerUtf8.length + Long.BYTES + 1;
+    }
+
+    public static void putCreateRequest(ByteBuffer buffer, long correlationId, byte[] ownerUtf8, BigDecimal initialBalance) {
+        if (ownerUtf8.length > Short.MAX_VALUE) throw new IllegalArgumentException("owner name too long");
+        if (initialBalance.scale() < Byte.MIN_VALUE || initialBalance.scale() > Byte.MAX_VALUE) throw new IllegalArgumentException("scale out of range");
+        buffer.putInt(createRequestSize(ownerUtf8) - Integer.BYTES)
+                .putLong(correlationId)
+                .put(OP_CREATE)
+                .putShort((short) ownerUtf8.length)
+                .put(ownerUtf8)
+                .putLong(initialBalance.unscaledValue().longValueExact())
+                .put((byte) initialBalance.scale());
+    }
+}
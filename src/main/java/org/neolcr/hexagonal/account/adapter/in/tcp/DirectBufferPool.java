@@ -0,0 +1,29 @@
+package org.neolcr.hexagonal.account.adapter.in.tcp;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+
+/**
+ * Free list of equally sized direct buffers, owned by one event loop thread and therefore unsynchronized.
+ * Direct buffers are expensive to allocate and only freed by the GC, so they are reused across connections;
+ * at most {@code maxPooled} idle buffers are retained.
+ */
+final class DirectBufferPool {
+    private final ArrayDeque<ByteBuffer> free = new ArrayDeque<>();
+    private final int bufferSize;
+    private final int maxPooled;
+
+    DirectBufferPool(int bufferSize, int maxPooled) {
+        this.bufferSize = bufferSize;
+        this.maxPooled = maxPooled;
+    }
+
+    ByteBuffer acquire() {
+        ByteBuffer buffer = free.pollFirst();
+        return buffer != null ? buffer : ByteBuffer.allocateDirect(bufferSize);
+    }
+
+    void release(ByteBuffer buffer) {
+        if (free.size() < maxPooled) free.addFirst(buffer.clear());
+    }
+}
@@ -0,0 +1,107 @@
+package org.neolcr.hexagonal.account.adapter.in.web;
+
+import com.sun.net.httpserver.Filter;
+import com.sun.net.httpserver.HttpContext;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Driving HTTP adapter on the JDK's built-in {@link HttpServer}. Every exchange is handled on its own virtual
+ * thread, so a request blocked on a slow repository costs a few hundred bytes instead of a platform thread.
+ *
+ * At most {@code maxInFlight} exchanges are admitted at once, counted from the moment the server dispatches them
+ * (so exchanges still waiting for a carrier thread count too). An exchange dispatched while all permits are taken
+ * skips the use case and is answered 503 with {@code Retry-After}, so latency stays bounded under overload and
+ * clients back off.
+ *
+ * The JDK server reads its tuning from system properties once, when the first server is created, so they belong to
+ * the launcher ({@code -D} flags or its {@code main}), not to this class. For keep-alive load pass
+ * {@code -Dsun.net.httpserver.nodelay=true} (headers and body go out in separate writes, so Nagle plus delayed ACKs
+ * would add ~40ms per request) and raise {@code -Dsun.net.httpserver.maxIdleConnections} (default 200, beyond which
+ * idle keep-alive connections are closed); HttpLoadBenchmark (src/jmh/java) shows both.
+ */
+public class AccountHttpServer implements Closeable {
+    // every exchange runs on a fresh virtual thread, so the flag never outlives its exchange
+    private static final ThreadLocal<Boolean> ADMITTED = ThreadLocal.withInitial(() -> Boolean.TRUE);
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Semaphore inFlight;
+    private final LongAdder shed = new LongAdder();
+
+    public AccountHttpServer(CreateAccountUseCase createAccount, InetSocketAddress address, int maxInFlight) throws IOException {
+        this(createAccount, address, maxInFlight, 4096);
+    }
+
+    public AccountHttpServer(CreateAccountUseCase createAccount, InetSocketAddress address, int maxInFlight, int backlog) throws IOException {
+        if (maxInFlight <= 0) throw new IllegalArgumentException("maxInFlight <= 0");
+        this.inFlight = new Semaphore(maxInFlight);
+        this.server = HttpServer.create(address, backlog);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        server.setExecutor(this::dispatch);
+        HttpContext accounts = server.createContext("/accounts", new CreateAccountHandler(createAccount));
+        accounts.getFilters().add(new LoadShedding());
+    }
+
+    public AccountHttpServer start() {
+        server.start();
+        return this;
+    }
+
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /** Requests answered 503 because all in-flight permits were taken. */
+    public long shedCount() {
+        return shed.sum();
+    }
+
+    /** Runs on the server's dispatcher thread; the permit is held until the exchange's virtual thread is done. */
+    private void dispatch(Runnable exchange) {
+        boolean admitted = inFlight.tryAcquire();
+        executor.execute(() -> {
+            ADMITTED.set(admitted);
+            try {
+                exchange.run();
+            } finally {
+                if (admitted) inFlight.release();
+            }
+        });
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private final class LoadShedding extends Filter {
+        @Override
+        public void doFilter(HttpExchange exchange, Chain chain) throws IOException {
+            if (ADMITTED.get()) {
+                chain.doFilter(exchange);
+                return;
+            }
+            shed.increment();
+            try (exchange) {
+                exchange.getResponseHeaders().set("Retry-After", "1");
+                CreateAccountHandler.respond(exchange, 503, JsonCommands.error("server saturated"));
+            }
+        }
+
+        @Override
+        public String description() {
+            return "sheds load with 503 once all in-flight permits are taken";
+        }
+    }
+}
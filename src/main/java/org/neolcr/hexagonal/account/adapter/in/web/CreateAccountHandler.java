@@ -0,0 +1,75 @@
+package org.neolcr.hexagonal.account.adapter.in.web;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountCommand;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+import org.neolcr.hexagonal.account.domain.port.in.IdempotentCreateAccountUseCase;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * {@code POST /accounts} with {@code {"ownerName": "...", "initialBalance": 12.50}} answers 201 {@code {"id": n}};
+ * a JSON array of such objects is created as one batch and answers 201 {@code {"ids": [...]}}.
+ * Invalid input answers 400, anything but POST answers 405. If the use case is idempotent, a single create with an
+ * {@code Idempotency-Key} header answers the first id again on a retry with the same key.
+ */
+class CreateAccountHandler implements HttpHandler {
+    private static final int MAX_BODY = 1 << 20;
+
+    private final CreateAccountUseCase createAccount;
+
+    CreateAccountHandler(CreateAccountUseCase createAccount) {
+        this.createAccount = createAccount;
+    }
+
+    @Override
+    public void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"POST".equals(exchange.getRequestMethod())) {
+                exchange.getResponseHeaders().set("Allow", "POST");
+                respond(exchange, 405, JsonCommands.error("method not allowed"));
+                return;
+            }
+            byte[] response;
+            try {
+                String body = readBody(exchange.getRequestBody());
+                if (JsonCommands.isArray(body)) {
+                    List<CreateAccountCommand> commands = JsonCommands.parseCommands(body);
+                    response = JsonCommands.ids(createAccount.createAccounts(commands));
+                } else {
+                    CreateAccountCommand command = JsonCommands.parseCommand(body);
+                    String key = exchange.getRequestHeaders().getFirst("Idempotency-Key");
+                    response = JsonCommands.id(key != null && createAccount instanceof IdempotentCreateAccountUseCase idempotent
+                            ? idempotent.createAccount(key, command.ownerName(), command.initialBalance())
+                            : createAccount.createAccount(command.ownerName(), command.initialBalance()));
+                }
+            } catch (IllegalArgumentException e) {
+                respond(exchange, 400, JsonCommands.error(e.getMessage()));
+                return;
+            } catch (RuntimeException e) {
+                respond(exchange, 500, JsonCommands.error("internal error"));
+                return;
+            }
+            respond(exchange, 201, response);
+        }
+    }
+
+    static void respond(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static String readBody(InputStream in) throws IOException {
+        byte[] body = in.readNBytes(MAX_BODY + 1);
+        if (body.length > MAX_BODY) throw new IllegalArgumentException("body too large");
+        return new String(body, StandardCharsets.UTF_8);
+    }
+}
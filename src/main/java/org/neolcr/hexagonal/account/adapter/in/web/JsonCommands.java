@@ -0,0 +1,191 @@
+package org.neolcr.hexagonal.account.adapter.in.web;
+
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountCommand;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Just enough JSON for the create-account resource: flat objects with string, number, boolean or null members,
+ * or an array of them. Unknown members are skipped; nested values are rejected. Amounts are parsed straight into
+ * BigDecimal so no precision is lost on the way to the use case. Malformed input throws IllegalArgumentException.
+ */
+final class JsonCommands {
+    private final String json;
+    private int pos;
+
+    private JsonCommands(String json) {
+        this.json = json;
+    }
+
+    static boolean isArray(String json) {
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (!Character.isWhitespace(c)) return c == '[';
+        }
+        return false;
+    }
+
+    static CreateAccountCommand parseCommand(String json) {
+        JsonCommands reader = new JsonCommands(json);
+        CreateAccountCommand command = reader.command();
+        reader.end();
+        return command;
+    }
+
+    static List<CreateAccountCommand> parseCommands(String json) {
+        JsonCommands reader = new JsonCommands(json);
+        List<CreateAccountCommand> commands = new ArrayList<>();
+        reader.expect('[');
+        if (!reader.consume(']')) {
+            do {
+                commands.add(reader.command());
+            } while (reader.consume(','));
+            reader.expect(']');
+        }
+        reader.end();
+        return commands;
+    }
+
+    static byte[] id(Long id) {
+        return ("{\"id\":" + id + "}").getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static byte[] ids(List<Long> ids) {
+        StringBuilder sb = new StringBuilder(16 + ids.size() * 12).append("{\"ids\":[");
+        for (int i = 0; i < ids.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(ids.get(i));
+        }
+        return sb.append("]}").toString().getBytes(StandardCharsets.US_ASCII);
+    }
+
+    static byte[] error(String message) {
+        StringBuilder sb = new StringBuilder("{\"error\":\"");
+        String text = message == null ? "" : message;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') sb.append('\\').append(c);
+            else if (c < 0x20) sb.append(String.format("\\u%04x", (int) c));
+            else sb.append(c);
+        }
+        return sb.append("\"}").toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private CreateAccountCommand command() {
+        String ownerName = null;
+        BigDecimal initialBalance = null;
+        expect('{');
+        if (!consume('}')) {
+            do {
+                String name = string();
+                expect(':');
+                switch (name) {
+                    case "ownerName" -> ownerName = nullOr(this::string);
+                    case "initialBalance" -> initialBalance = nullOr(this::number);
+                    default -> scalar();
+                }
+            } while (consume(','));
+            expect('}');
+        }
+        return new CreateAccountCommand(ownerName, initialBalance);
+    }
+
+    private <T> T nullOr(Supplier<T> value) {
+        skipWhitespace();
+        if (json.startsWith("null", pos)) {
+            pos += 4;
+            return null;
+        }
+        return value.get();
+    }
+
+    private void scalar() {
+        skipWhitespace();
+        char c = peek();
+        if (c == '"') string();
+        else if (c == '-' || (c >= '0' && c <= '9')) number();
+        else if (json.startsWith("true", pos) || json.startsWith("null", pos)) pos += 4;
+        else if (json.startsWith("false", pos)) pos += 5;
+        else throw new IllegalArgumentException("unsupported value at " + pos);
+    }
+
+    private String string() {
+        expect('"');
+        StringBuilder sb = null;
+        int start = pos;
+        while (true) {
+            if (pos >= json.length()) throw new IllegalArgumentException("unterminated string");
+            char c = json.charAt(pos++);
+            if (c == '"') break;
+            if (c != '\\') {
+                if (sb != null) sb.append(c);
+                continue;
+            }
+            if (sb == null) sb = new StringBuilder().append(json, start, pos - 1);
+            if (pos >= json.length()) throw new IllegalArgumentException("unterminated string");
+            char e = json.charAt(pos++);
+            switch (e) {
+                case '"', '\\', '/' -> sb.append(e);
+                case 'b' -> sb.append('\b');
+                case 'f' -> sb.append('\f');
+                case 'n' -> sb.append('\n');
+                case 'r' -> sb.append('\r');
+                case 't' -> sb.append('\t');
+                case 'u' -> {
+                    if (pos + 4 > json.length()) throw new IllegalArgumentException("bad escape");
+                    try {
+                        sb.append((char) Integer.parseInt(json, pos, pos + 4, 16));
+                    } catch (NumberFormatException ex) {
+                        throw new IllegalArgumentException("bad escape");
+                    }
+                    pos += 4;
+                }
+                default -> throw new IllegalArgumentException("bad escape");
+            }
+        }
+        return sb == null ? json.substring(start, pos - 1) : sb.toString();
+    }
+
+    private BigDecimal number() {
+        skipWhitespace();
+        int start = pos;
+        while (pos < json.length() && "+-0123456789.eE".indexOf(json.charAt(pos)) >= 0) pos++;
+        if (start == pos) throw new IllegalArgumentException("number expected at " + start);
+        try {
+            return new BigDecimal(json.substring(start, pos));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("bad number at " + start);
+        }
+    }
+
+    private void expect(char c) {
+        if (!consume(c)) throw new IllegalArgumentException("'" + c + "' expected at " + pos);
+    }
+
+    private boolean consume(char c) {
+        skipWhitespace();
+        if (pos < json.length() && json.charAt(pos) == c) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private char peek() {
+        if (pos >= json.length()) throw new IllegalArgumentException("unexpected end of input");
+        return json.charAt(pos);
+    }
+
+    private void end() {
+        skipWhitespace();
+        if (pos != json.length()) throw new IllegalArgumentException("trailing content at " + pos);
+    }
+
+    private void skipWhitespace() {
+        while (pos < json.length() && Character.isWhitespace(json.charAt(pos))) pos++;
+    }
+}
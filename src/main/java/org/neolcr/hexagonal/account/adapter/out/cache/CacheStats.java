@@ -0,0 +1,8 @@
+package org.neolcr.hexagonal.account.adapter.out.cache;
+
+public record CacheStats(long hits, long misses, long evictions, long rejections, long size) {
+    public double hitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 1.0 : (double) hits / requests;
+    }
+}
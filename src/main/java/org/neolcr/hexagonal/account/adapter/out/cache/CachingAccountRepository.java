@@ -0,0 +1,215 @@
+package org.neolcr.hexagonal.account.adapter.out.cache;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Read-through, write-through cache in front of any {@link AccountRepository}, holding at most
+ * {@code maximumSize} accounts.
+ *
+ * The cache is split into segments, each with its own lock, an LRU list and a
+ * {@link FrequencySketch}. A missed account is only admitted into a full segment if the sketch says it has been
+ * requested more often than the LRU victim it would replace (TinyLFU admission), so one-off scans cannot flush
+ * the hot set. Saves go to the delegate first and then refresh the cached copy, if there is one.
+ *
+ * Lookups take no lock: they read a ConcurrentHashMap and note the id in the segment's small ring of recent reads.
+ * Whoever fills the ring replays it into the LRU order and the sketch, but only if the lock is free; admissions
+ * replay it too before choosing a victim. Reads that arrive while the ring waits to be replayed overwrite older
+ * ones, so recency and frequency are sampled rather than exact, which TinyLFU tolerates.
+ */
+public class CachingAccountRepository implements AccountRepository {
+    private static final int READ_BUFFER = 64; // power of two
+    private static final long NO_READ = Long.MIN_VALUE;
+
+    private final AccountRepository delegate;
+    private final Segment[] segments;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rejections = new LongAdder();
+
+    public CachingAccountRepository(AccountRepository delegate, int maximumSize) {
+        this(delegate, maximumSize, 16);
+    }
+
+    public CachingAccountRepository(AccountRepository delegate, int maximumSize, int segmentCount) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize <= 0");
+        int count = Math.max(1, Math.min(segmentCount, maximumSize));
+        this.delegate = delegate;
+        this.segments = new Segment[count];
+        for (int i = 0; i < count; i++) segments[i] = new Segment((maximumSize + count - 1) / count);
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
+        Segment segment = segmentFor(id);
+        long writes = segment.writes;
+        Account cached = segment.get(id);
+        if (cached != null) {
+            hits.increment();
+            return Optional.of(cached);
+        }
+        misses.increment();
+        Optional<Account> loaded = delegate.findById(id);
+        loaded.ifPresent(account -> segment.admit(id, account, writes));
+        return loaded;
+    }
+
+    @Override
+    public Account save(Account account) {
+        Account saved = delegate.save(account);
+        segmentFor(saved.getId()).refresh(saved.getId(), saved);
+        return saved;
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        List<Account> saved = delegate.saveAll(accounts);
+        for (Account account : saved) segmentFor(account.getId()).refresh(account.getId(), account);
+        return saved;
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void forEach(Consumer<Account> action) {
+        delegate.forEach(action);
+    }
+
+    public CacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) size += segment.size();
+        return new CacheStats(hits.sum(), misses.sum(), evictions.sum(), rejections.sum(), size);
+    }
+
+    private Segment segmentFor(long id) {
+        return segments[(int) Math.floorMod(id ^ (id >>> 32), (long) segments.length)];
+    }
+
+    /** A cached account; the links form the segment's LRU list and are guarded by the segment lock. */
+    private static final class Node {
+        final long id;
+        volatile Account account;
+        Node prev;
+        Node next;
+
+        Node(long id, Account account) {
+            this.id = id;
+            this.account = account;
+        }
+    }
+
+    private final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private final ConcurrentHashMap<Long, Node> entries = new ConcurrentHashMap<>();
+        private final Node lru = new Node(0, null); // sentinel: lru.next is the eldest, lru.prev the most recent
+        private final AtomicLongArray reads = new AtomicLongArray(READ_BUFFER);
+        private final AtomicLong readCount = new AtomicLong();
+        private long drained; // reads numbered below this were replayed or overwritten, guarded by lock
+        private final FrequencySketch sketch;
+        private final int capacity;
+        // bumped by every save; a load that raced with a save must not cache what it read
+        private volatile long writes;
+
+        Segment(int capacity) {
+            this.capacity = capacity;
+            this.sketch = new FrequencySketch(capacity);
+            lru.prev = lru;
+            lru.next = lru;
+            for (int i = 0; i < READ_BUFFER; i++) reads.set(i, NO_READ);
+        }
+
+        Account get(long id) {
+            Node node = entries.get(id);
+            long n = readCount.getAndIncrement();
+            reads.setRelease((int) n & (READ_BUFFER - 1), id);
+            if ((n & (READ_BUFFER - 1)) == READ_BUFFER - 1 && lock.tryLock()) {
+                try {
+                    drainReads();
+                } finally {
+                    lock.unlock();
+                }
+            }
+            return node == null ? null : node.account;
+        }
+
+        void admit(long id, Account account, long writesBeforeLoad) {
+            lock.lock();
+            try {
+                drainReads();
+                if (writes != writesBeforeLoad || entries.containsKey(id)) return;
+                if (entries.size() >= capacity) {
+                    Node victim = lru.next;
+                    if (sketch.frequency(id) <= sketch.frequency(victim.id)) {
+                        rejections.increment();
+                        return;
+                    }
+                    unlink(victim);
+                    entries.remove(victim.id);
+                    evictions.increment();
+                }
+                Node node = new Node(id, account);
+                linkLast(node);
+                entries.put(id, node);
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void refresh(long id, Account account) {
+            lock.lock();
+            try {
+                writes++;
+                Node node = entries.get(id);
+                if (node != null) node.account = account;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        int size() {
+            return entries.size();
+        }
+
+        // Called with the lock held: counts the reads buffered since the last replay in the sketch and moves cached
+        // ids to the MRU end.
+        private void drainReads() {
+            long end = readCount.get();
+            for (long n = Math.max(drained, end - READ_BUFFER); n < end; n++) {
+                long id = reads.getAndSet((int) n & (READ_BUFFER - 1), NO_READ);
+                if (id == NO_READ) continue; // reader not done writing its slot: lost
+                sketch.increment(id);
+                Node node = entries.get(id);
+                if (node != null && node != lru.prev) {
+                    unlink(node);
+                    linkLast(node);
+                }
+            }
+            drained = end;
+        }
+
+        private void unlink(Node node) {
+            node.prev.next = node.next;
+            node.next.prev = node.prev;
+        }
+
+        private void linkLast(Node node) {
+            node.prev = lru.prev;
+            node.next = lru;
+            lru.prev.next = node;
+            lru.prev = node;
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package org.neolcr.hexagonal.account.adapter.out.cache;
+
+/**
+ * Count-min sketch of 4-bit counters estimating how often each account id was accessed recently.
+ * Every counter is halved once {@code 10 * maximumSize} increments have been recorded, so old popularity fades.
+ * Not thread-safe: each cache segment owns one and uses it under its lock.
+ */
+final class FrequencySketch {
+    private static final long[] SEEDS = {0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+
+    private final long[] table;
+    private final int mask;
+    private final int sampleSize;
+    private int additions;
+
+    FrequencySketch(int maximumSize) {
+        int size = Integer.highestOneBit(Math.max(16, maximumSize) - 1) << 1;
+        this.table = new long[size];
+        this.mask = size - 1;
+        this.sampleSize = 10 * Math.max(1, maximumSize);
+    }
+
+    int frequency(long key) {
+        long h = spread(key);
+        int min = 15;
+        for (int i = 0; i < 4; i++) {
+            min = Math.min(min, (int) ((table[indexOf(h, i)] >>> offsetOf(h, i)) & 0xfL));
+        }
+        return min;
+    }
+
+    void increment(long key) {
+        long h = spread(key);
+        boolean added = false;
+        for (int i = 0; i < 4; i++) {
+            int index = indexOf(h, i);
+            int offset = offsetOf(h, i);
+            if (((table[index] >>> offset) & 0xfL) != 0xfL) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions == sampleSize) reset();
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) table[i] = (table[i] >>> 1) & RESET_MASK;
+        additions >>>= 1;
+    }
+
+    private int indexOf(long h, int i) {
+        long x = (h + SEEDS[i]) * SEEDS[i];
+        x += x >>> 32;
+        return (int) x & mask;
+    }
+
+    // which of the 16 counters packed into the long is used for hash function i
+    private static int offsetOf(long h, int i) {
+        return (int) ((h >>> (i << 2)) & 0xfL) << 2;
+    }
+
+    private static long spread(long key) {
+        key = (key ^ (key >>> 33)) * 0xff51afd7ed558ccdL;
+        return key ^ (key >>> 33);
+    }
+}
@@ -0,0 +1,49 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands each thread a private block of consecutive ids, so the shared counter is touched once per block
+ * instead of once per id. Ids stay unique and roughly ordered: two ids taken at the same time differ by at
+ * most {@code blockSize * threads}.
+ *
+ * Unused ids of a block are lost when its thread ends, which matters for short-lived virtual threads;
+ * keep the block size small there (or reuse carrier-like worker threads).
+ */
+public class BlockIdGenerator implements IdGenerator {
+    private final AtomicLong nextBlockStart;
+    private final int blockSize;
+    private final ThreadLocal<Block> blocks = ThreadLocal.withInitial(Block::new);
+
+    public BlockIdGenerator() {
+        this(1, 1024);
+    }
+
+    public BlockIdGenerator(long firstId, int blockSize) {
+        if (blockSize <= 0) throw new IllegalArgumentException("blockSize <= 0");
+        this.nextBlockStart = new AtomicLong(firstId);
+        this.blockSize = blockSize;
+    }
+
+    @Override
+    public long nextId() {
+        Block block = blocks.get();
+        if (block.next == block.limit) {
+            block.next = nextBlockStart.getAndAdd(blockSize);
+            block.limit = block.next + blockSize;
+        }
+        return block.next++;
+    }
+
+    /** Batches bypass the thread's block and take a dedicated range straight from the shared counter. */
+    @Override
+    public long reserve(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count <= 0");
+        return nextBlockStart.getAndAdd(count);
+    }
+
+    private static final class Block {
+        long next;
+        long limit;
+    }
+}
@@ -0,0 +1,29 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+
+import java.util.List;
+
+/**
+ * Strategy used by the persistence adapters to assign identities to new accounts.
+ * Implementations must hand out unique, positive ids from any number of threads.
+ */
+public interface IdGenerator {
+    long nextId();
+
+    /** Reserves {@code count} consecutive ids in one step and returns the first of them. */
+    long reserve(int count);
+
+    /** Gives every account of the batch that has no id yet one id from a single reserved range. */
+    default void assignIds(List<Account> accounts) {
+        int missing = 0;
+        for (Account account : accounts) {
+            if (account.getId() == null) missing++;
+        }
+        if (missing == 0) return;
+        long next = reserve(missing);
+        for (Account account : accounts) {
+            if (account.getId() == null) account.setIdIfNull(next++);
+        }
+    }
+}
@@ -3,20 +3,52 @@ package org.neolcr.hexagonal.account.adapter.out.persistence;
 import org.neolcr.hexagonal.account.domain.model.Account;
 import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
 
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
 
 public class InMemoryAccountRepository implements AccountRepository {
     private final Map<Long, Account> store = new ConcurrentHashMap<>();
-    private final AtomicLong sequence = new AtomicLong(1);
+    private final IdGenerator idGenerator;
+
+    public InMemoryAccountRepository() {
+        this(new SequenceIdGenerator());
+    }
+
+    public InMemoryAccountRepository(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+    }
 
     @Override
     public Account save(Account account) {
         if (account.getId() == null) {
-            account.setIdIfNull(sequence.getAndIncrement());
+            account.setIdIfNull(idGenerator.nextId());
         }
         store.put(account.getId(), account);
         return account;
     }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        idGenerator.assignIds(accounts);
+        for (Account account : accounts) store.put(account.getId(), account);
+        return accounts;
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public void forEach(Consumer<Account> action) {
+        store.values().forEach(action);
+    }
 }
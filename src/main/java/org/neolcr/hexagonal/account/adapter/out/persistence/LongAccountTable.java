@@ -0,0 +1,204 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Concurrent hash table keyed by a primitive {@code long} account id.
+ *
+ * Keys live in a {@code long[]} and values in a parallel {@code Account[]} (open addressing, linear probing),
+ * so an entry costs two array slots instead of a boxed {@code Long} plus a map node.
+ * The key space is split into independently locked segments: writers lock one segment, readers never lock.
+ * A slot is published by writing the key first and then the value with release semantics; readers load the
+ * value with acquire semantics, so a non-null value always comes with its key. Entries are never removed,
+ * which keeps probing free of tombstones.
+ */
+public final class LongAccountTable {
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Account[].class);
+    private static final float LOAD_FACTOR = 0.75f;
+
+    private final Segment[] segments;
+    private final int segmentShift;
+
+    public LongAccountTable() {
+        this(64, 1 << 10);
+    }
+
+    public LongAccountTable(int concurrencyLevel, int initialCapacity) {
+        int segmentCount = Integer.highestOneBit(Math.max(1, concurrencyLevel - 1) << 1);
+        int perSegment = Math.max(16, Integer.highestOneBit(Math.max(1, initialCapacity / segmentCount - 1) << 1));
+        this.segments = new Segment[segmentCount];
+        this.segmentShift = 64 - Integer.numberOfTrailingZeros(segmentCount);
+        for (int i = 0; i < segmentCount; i++) segments[i] = new Segment(perSegment);
+    }
+
+    public Account get(long id) {
+        long h = mix(id);
+        return segmentFor(h).get(id, h);
+    }
+
+    /** Inserts or replaces the account stored under {@code id}; returns the previous one, if any. */
+    public Account put(long id, Account account) {
+        if (account == null) throw new IllegalArgumentException("account null");
+        long h = mix(id);
+        return segmentFor(h).put(id, h, account);
+    }
+
+    /**
+     * Inserts or replaces every account of the batch under its id. Accounts are grouped by segment first,
+     * so each segment is locked (and grown) at most once per batch.
+     */
+    public void putAll(List<Account> accounts) {
+        int n = accounts.size();
+        long[] hashes = new long[n];
+        int[] segmentStart = new int[segments.length + 1];
+        for (int i = 0; i < n; i++) {
+            Account a = accounts.get(i);
+            if (a == null || a.getId() == null) throw new IllegalArgumentException("account or id null");
+            hashes[i] = mix(a.getId());
+            segmentStart[segmentIndex(hashes[i]) + 1]++;
+        }
+        for (int s = 0; s < segments.length; s++) segmentStart[s + 1] += segmentStart[s];
+        int[] order = new int[n];
+        int[] cursor = segmentStart.clone();
+        for (int i = 0; i < n; i++) order[cursor[segmentIndex(hashes[i])]++] = i;
+        for (int s = 0; s < segments.length; s++) {
+            if (segmentStart[s] < segmentStart[s + 1]) {
+                segments[s].putAll(accounts, hashes, order, segmentStart[s], segmentStart[s + 1]);
+            }
+        }
+    }
+
+    public long size() {
+        long total = 0;
+        for (Segment s : segments) total += s.size;
+        return total;
+    }
+
+    /** Weakly consistent traversal: sees every entry present when the call starts, may see later ones. */
+    public void forEach(Consumer<Account> action) {
+        for (Segment s : segments) {
+            Table t = s.table;
+            for (int i = 0; i < t.values.length; i++) {
+                Account a = (Account) SLOT.getAcquire(t.values, i);
+                if (a != null) action.accept(a);
+            }
+        }
+    }
+
+    private Segment segmentFor(long h) {
+        return segments[segmentIndex(h)];
+    }
+
+    private int segmentIndex(long h) {
+        return segments.length == 1 ? 0 : (int) (h >>> segmentShift);
+    }
+
+    // Stafford variant 13 of the murmur3 finalizer: sequential ids spread over segments and slots.
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    private static final class Table {
+        final long[] keys;
+        final Account[] values;
+        final int mask;
+
+        Table(int capacity) {
+            this.keys = new long[capacity];
+            this.values = new Account[capacity];
+            this.mask = capacity - 1;
+        }
+    }
+
+    private static final class Segment {
+        private final ReentrantLock lock = new ReentrantLock();
+        private volatile Table table;
+        private volatile int size;
+        private int threshold;
+
+        Segment(int capacity) {
+            this.table = new Table(capacity);
+            this.threshold = (int) (capacity * LOAD_FACTOR);
+        }
+
+        Account get(long id, long h) {
+            Table t = table;
+            Account[] values = t.values;
+            for (int i = (int) h & t.mask, probes = 0; probes <= t.mask; i = (i + 1) & t.mask, probes++) {
+                Account a = (Account) SLOT.getAcquire(values, i);
+                if (a == null) return null;
+                if (t.keys[i] == id) return a;
+            }
+            return null;
+        }
+
+        Account put(long id, long h, Account account) {
+            lock.lock();
+            try {
+                Account previous = insert(id, h, account);
+                if (previous == null && size > threshold) resize(table.values.length << 1);
+                return previous;
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        void putAll(List<Account> accounts, long[] hashes, int[] order, int from, int to) {
+            lock.lock();
+            try {
+                int capacity = table.values.length;
+                while ((int) (capacity * LOAD_FACTOR) < size + (to - from)) capacity <<= 1;
+                if (capacity != table.values.length) resize(capacity);
+                for (int k = from; k < to; k++) {
+                    int i = order[k];
+                    insert(accounts.get(i).getId(), hashes[i], accounts.get(i));
+                }
+            } finally {
+                lock.unlock();
+            }
+        }
+
+        // Called with the lock held; the caller keeps the table below its threshold.
+        private Account insert(long id, long h, Account account) {
+            Table t = table;
+            for (int i = (int) h & t.mask; ; i = (i + 1) & t.mask) {
+                Account existing = t.values[i];
+                if (existing == null) {
+                    t.keys[i] = id;
+                    SLOT.setRelease(t.values, i, account);
+                    size++;
+                    return null;
+                }
+                if (t.keys[i] == id) {
+                    SLOT.setRelease(t.values, i, account);
+                    return existing;
+                }
+            }
+        }
+
+        // Called with the lock held. Readers keep probing the old table until the new one is published.
+        private void resize(int capacity) {
+            Table old = table;
+            Table next = new Table(capacity);
+            for (int i = 0; i < old.values.length; i++) {
+                Account a = old.values[i];
+                if (a == null) continue;
+                long key = old.keys[i];
+                int j = (int) mix(key) & next.mask;
+                while (next.values[j] != null) j = (j + 1) & next.mask;
+                next.keys[j] = key;
+                next.values[j] = a;
+            }
+            threshold = (int) (next.values.length * LOAD_FACTOR);
+            table = next;
+        }
+    }
+}
@@ -0,0 +1,407 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.Arrays;
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.Currency;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+
+/**
+ * Multi-version in-memory adapter: every commit prepends an immutable version of the account state (balance and
+ * commit timestamp) to the account's version chain, so a reader can look at the store as of any committed
+ * timestamp that is still retained.
+ *
+ * Writers lock the stripe of each account they save (one stripe per account, stripes locked in index order for a
+ * batch), allocate their versions, take the next timestamp from a global clock, install the versions and release
+ * the stripes. Nothing between taking a timestamp and publishing it allocates or can throw, so every timestamp
+ * taken is published. The commit becomes visible to new readers once every earlier timestamp has been installed:
+ * the committed watermark only moves in timestamp order, so a writer may wait for an earlier writer's last few
+ * stores, never for a reader.
+ * {@link #saveAll} commits the whole batch under one timestamp, so a snapshot sees all of it or none of it.
+ *
+ * Readers take no lock at all: {@link #openSnapshot()} pins the current watermark and every read walks a chain to
+ * its newest version at or below it. {@link #findById} reads at the watermark without pinning it and walks again at
+ * the new watermark when a trim cut the chain under it. Accounts returned by reads are detached copies stamped with the commit
+ * timestamp of the version they were read from ({@link Account#getVersion()}). A save is first-committer-wins: under
+ * the stripe locks every account's chain head must still carry that timestamp (0 for an account not stored yet),
+ * otherwise the save throws {@link ConcurrentModificationException} and installs nothing. A successful save stamps
+ * the saved instances with the new timestamp, so the same instance can be modified and saved again.
+ *
+ * Versions are trimmed once no snapshot can reach them. The horizon is the oldest open snapshot, or the watermark
+ * when none is open; each commit trims the chain it wrote, and {@link #collectGarbage()} trims every chain, e.g.
+ * after a long report has closed its snapshot.
+ */
+public class MvccAccountRepository implements AccountRepository {
+    private static final int STRIPES = 256;
+    private static final int HORIZON_INTERVAL = 1024; // commits between opportunistic horizon advances
+
+    private final Map<Long, Chain> chains = new ConcurrentHashMap<>();
+    private final ReentrantLock[] stripes = new ReentrantLock[STRIPES];
+    private final IdGenerator idGenerator;
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicLong committed = new AtomicLong();
+    private final AtomicLong size = new AtomicLong(); // accounts whose first version is committed
+
+    // open snapshots by timestamp; only touched when a snapshot opens or closes and by horizon advances
+    private final ReentrantLock registryLock = new ReentrantLock();
+    private final TreeMap<Long, Integer> openSnapshots = new TreeMap<>();
+    private volatile long horizon; // never above an open snapshot nor above a snapshot opened later
+
+    public MvccAccountRepository() {
+        this(new SequenceIdGenerator());
+    }
+
+    public MvccAccountRepository(IdGenerator idGenerator) {
+        this.idGenerator = idGenerator;
+        for (int i = 0; i < STRIPES; i++) stripes[i] = new ReentrantLock();
+    }
+
+    @Override
+    public Account save(Account account) {
+        if (account.getId() == null) {
+            account.setIdIfNull(idGenerator.nextId());
+        }
+        long id = account.getId();
+        ReentrantLock stripe = stripes[stripeIndex(id)];
+        Chain chain;
+        boolean created;
+        long ts;
+        stripe.lock();
+        try {
+            chain = chains.get(id);
+            checkCurrent(id, chain, account);
+            created = chain == null;
+            Version version = new Version(account.getBalanceMinorUnits(), created ? null : chain.head);
+            if (created) chain = register(account);
+            ts = clock.incrementAndGet(); // from here to publish() only stores
+            version.commitTs = ts;
+            chain.head = version;
+        } finally {
+            stripe.unlock();
+        }
+        account.setVersion(ts);
+        publish(ts);
+        if (created) size.incrementAndGet();
+        trim(chain.head, horizon);
+        return account;
+    }
+
+    /**
+     * Commits the batch atomically under a single timestamp, or nothing of it if any account is stale. The same
+     * instance may appear more than once; two different instances of one account may not.
+     */
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        if (accounts.isEmpty()) return accounts;
+        idGenerator.assignIds(accounts);
+        List<Account> unique = distinct(accounts);
+        int n = unique.size();
+        Chain[] batch = new Chain[n];
+        Version[] versions = new Version[n];
+        int[] stripeIndexes = new int[n];
+        for (int i = 0; i < n; i++) stripeIndexes[i] = stripeIndex(unique.get(i).getId());
+        Arrays.sort(stripeIndexes); // one global lock order, no deadlock between overlapping batches
+        int locked = 0;
+        int created = 0;
+        long ts;
+        try {
+            for (int i = 0; i < n; i++) {
+                if (i == 0 || stripeIndexes[i] != stripeIndexes[i - 1]) {
+                    stripes[stripeIndexes[i]].lock();
+                    stripeIndexes[locked++] = stripeIndexes[i];
+                }
+            }
+            for (int i = 0; i < n; i++) {
+                Account account = unique.get(i);
+                batch[i] = chains.get(account.getId());
+                checkCurrent(account.getId(), batch[i], account);
+            }
+            for (int i = 0; i < n; i++) {
+                versions[i] = new Version(unique.get(i).getBalanceMinorUnits(), batch[i] == null ? null : batch[i].head);
+            }
+            try {
+                for (int i = 0; i < n; i++) {
+                    if (batch[i] == null) {
+                        batch[i] = register(unique.get(i));
+                        created++;
+                    }
+                }
+            } catch (RuntimeException | Error e) {
+                for (Chain chain : batch) {
+                    if (chain != null && chain.head == null) chains.remove(chain.id, chain);
+                }
+                throw e;
+            }
+            ts = clock.incrementAndGet(); // from here to publish() only stores
+            for (int i = 0; i < n; i++) {
+                versions[i].commitTs = ts;
+                batch[i].head = versions[i];
+            }
+        } finally {
+            for (int i = locked - 1; i >= 0; i--) stripes[stripeIndexes[i]].unlock();
+        }
+        for (Account account : unique) account.setVersion(ts);
+        publish(ts);
+        if (created > 0) size.addAndGet(created);
+        long h = horizon;
+        for (Chain chain : batch) trim(chain.head, h);
+        return accounts;
+    }
+
+    /** Latest committed state of the account. */
+    @Override
+    public Optional<Account> findById(long id) {
+        Chain chain = chains.get(id);
+        if (chain == null) return Optional.empty();
+        while (true) {
+            long ts = committed.get();
+            Account account = read(chain, ts);
+            // the read timestamp is not pinned, so trim() may cut the chain below a version newer than ts. The horizon
+            // it cut at is at most the watermark, so a walk that fell off a cut sees the watermark moved past ts.
+            if (account != null || committed.get() == ts) return Optional.ofNullable(account);
+        }
+    }
+
+    /** Accounts whose first save has committed. */
+    @Override
+    public long count() {
+        return size.get();
+    }
+
+    /** Iterates one consistent view: a snapshot opened for the duration of the call. */
+    @Override
+    public void forEach(Consumer<Account> action) {
+        try (Snapshot snapshot = openSnapshot()) {
+            snapshot.forEach(action);
+        }
+    }
+
+    /**
+     * Pins the current committed timestamp. Close the snapshot when done: the versions it can reach are retained
+     * until then.
+     */
+    public Snapshot openSnapshot() {
+        registryLock.lock();
+        try {
+            long ts = committed.get();
+            openSnapshots.merge(ts, 1, Integer::sum);
+            return new Snapshot(ts);
+        } finally {
+            registryLock.unlock();
+        }
+    }
+
+    /** Committed watermark: the timestamp a snapshot opened now would read at. */
+    public long lastCommitted() {
+        return committed.get();
+    }
+
+    /** Trims every chain to the versions still reachable by an open or future snapshot. */
+    public void collectGarbage() {
+        registryLock.lock();
+        try {
+            advanceHorizon();
+        } finally {
+            registryLock.unlock();
+        }
+        long h = horizon;
+        for (Chain chain : chains.values()) trim(chain.head, h);
+    }
+
+    /** Number of versions currently reachable from all chains; walks the whole store. */
+    public long retainedVersions() {
+        long total = 0;
+        for (Chain chain : chains.values()) {
+            for (Version v = chain.head; v != null; v = v.older) total++;
+        }
+        return total;
+    }
+
+    /** Caller holds the account's stripe; {@code chain} is null for an account not stored yet. */
+    private static void checkCurrent(long id, Chain chain, Account account) {
+        long current = chain == null ? 0 : chain.head.commitTs;
+        if (current != account.getVersion()) {
+            throw new ConcurrentModificationException("account " + id + " is at version " + current
+                    + ", the saved copy was read at version " + account.getVersion());
+        }
+    }
+
+    private static List<Account> distinct(List<Account> accounts) {
+        int n = accounts.size();
+        long[] ids = new long[n];
+        for (int i = 0; i < n; i++) ids[i] = accounts.get(i).getId();
+        Arrays.sort(ids);
+        boolean duplicates = false;
+        for (int i = 1; i < n && !duplicates; i++) duplicates = ids[i] == ids[i - 1];
+        if (!duplicates) return accounts;
+        Map<Long, Account> byId = new LinkedHashMap<>();
+        for (Account account : accounts) {
+            Account previous = byId.putIfAbsent(account.getId(), account);
+            if (previous != null && previous != account) {
+                throw new IllegalArgumentException("two different copies of account " + account.getId() + " in one batch");
+            }
+        }
+        return new ArrayList<>(byId.values());
+    }
+
+    /**
+     * Caller holds the account's stripe and installs the chain's first version before releasing it; until then the
+     * chain has no head and every read treats the account as absent.
+     */
+    private Chain register(Account account) {
+        Chain chain = new Chain(account.getId(), account.getOwnerName(), account.getCurrency(), account.getBalanceMode());
+        chains.put(chain.id, chain);
+        return chain;
+    }
+
+    /**
+     * Moves the watermark to {@code ts} once every earlier timestamp is installed. Timestamps are taken while the
+     * stripes are held and the wait starts after they are released, so the writer being waited for is never
+     * blocked by the waiter.
+     */
+    private void publish(long ts) {
+        for (int spins = 0; committed.get() != ts - 1; spins++) {
+            if (spins < 64) Thread.onSpinWait();
+            else Thread.yield();
+        }
+        committed.set(ts);
+        if ((ts & (HORIZON_INTERVAL - 1)) == 0 && registryLock.tryLock()) { // a writer never waits for the registry
+            try {
+                advanceHorizon();
+            } finally {
+                registryLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * Caller holds the registry lock. The watermark is read under the same lock that registers snapshots, so no
+     * snapshot can open below the new horizon afterwards.
+     */
+    private void advanceHorizon() {
+        horizon = openSnapshots.isEmpty() ? committed.get() : openSnapshots.firstKey();
+    }
+
+    private void release(long ts) {
+        registryLock.lock();
+        try {
+            openSnapshots.compute(ts, (k, count) -> count == 1 ? null : count - 1);
+            advanceHorizon();
+        } finally {
+            registryLock.unlock();
+        }
+    }
+
+    /**
+     * Cuts the chain below its newest version at or below {@code horizon}; no snapshot reads past that version.
+     * Runs without a lock: a concurrent writer only prepends, and concurrent trims cut at safe points as well.
+     */
+    private static void trim(Version head, long horizon) {
+        for (Version v = head; v != null; v = v.older) {
+            if (v.commitTs <= horizon) {
+                v.older = null;
+                return;
+            }
+        }
+    }
+
+    private static Account read(Chain chain, long ts) {
+        if (chain == null) return null;
+        for (Version v = chain.head; v != null; v = v.older) {
+            if (v.commitTs <= ts) {
+                Account account = new Account(chain.id, chain.ownerName, Money.ofMinor(v.balance, chain.currency), chain.mode);
+                account.setVersion(v.commitTs);
+                return account;
+            }
+        }
+        return null; // created after the snapshot
+    }
+
+    private static int stripeIndex(long id) {
+        return (int) ((id * 0x9E3779B97F4A7C15L) >>> 56) & (STRIPES - 1);
+    }
+
+    /**
+     * Consistent read-only view of the store at one commit timestamp. Reads never block and are never blocked by
+     * writers; the snapshot keeps the versions it can reach alive until it is closed.
+     */
+    public final class Snapshot implements AutoCloseable {
+        private final long timestamp;
+        private boolean closed;
+
+        private Snapshot(long timestamp) {
+            this.timestamp = timestamp;
+        }
+
+        public long timestamp() {
+            return timestamp;
+        }
+
+        public Optional<Account> findById(long id) {
+            checkOpen();
+            return Optional.ofNullable(read(chains.get(id), timestamp));
+        }
+
+        /** Visits every account that existed at the snapshot's timestamp, in no particular order. */
+        public void forEach(Consumer<Account> action) {
+            checkOpen();
+            // a chain is registered under its stripe before its first version is published and removed only by a
+            // first save that failed, so every account committed at or before the timestamp is visited
+            for (Chain chain : chains.values()) {
+                Account account = read(chain, timestamp);
+                if (account != null) action.accept(account);
+            }
+        }
+
+        @Override
+        public void close() {
+            if (closed) return;
+            closed = true;
+            release(timestamp);
+        }
+
+        private void checkOpen() {
+            if (closed) throw new IllegalStateException("snapshot closed");
+        }
+    }
+
+    /** Immutable per-account attributes plus the newest version; versions are linked newest first. */
+    private static final class Chain {
+        final long id;
+        final String ownerName;
+        final Currency currency;
+        final BalanceMode mode;
+        volatile Version head;
+
+        Chain(long id, String ownerName, Currency currency, BalanceMode mode) {
+            this.id = id;
+            this.ownerName = ownerName;
+            this.currency = currency;
+            this.mode = mode;
+        }
+    }
+
+    private static final class Version {
+        long commitTs; // set once, before the volatile store of Chain.head that makes the version reachable
+        final long balance;
+        Version older; // plain field: only cut by trim(), below anything a reader still walks to
+
+        Version(long balance, Version older) {
+            this.balance = balance;
+            this.older = older;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * In-memory adapter backed by {@link LongAccountTable}: same behaviour as {@link InMemoryAccountRepository}
+ * without a boxed key and map node per account.
+ */
+public class OpenAddressingAccountRepository implements AccountRepository {
+    private final LongAccountTable store;
+    private final IdGenerator idGenerator;
+
+    public OpenAddressingAccountRepository() {
+        this(new LongAccountTable(), new SequenceIdGenerator());
+    }
+
+    public OpenAddressingAccountRepository(IdGenerator idGenerator) {
+        this(new LongAccountTable(), idGenerator);
+    }
+
+    public OpenAddressingAccountRepository(LongAccountTable store, IdGenerator idGenerator) {
+        this.store = store;
+        this.idGenerator = idGenerator;
+    }
+
+    @Override
+    public Account save(Account account) {
+        if (account.getId() == null) {
+            account.setIdIfNull(idGenerator.nextId());
+        }
+        store.put(account.getId(), account);
+        return account;
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        idGenerator.assignIds(accounts);
+        store.putAll(accounts);
+        return accounts;
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public void forEach(Consumer<Account> action) {
+        store.forEach(action);
+    }
+}
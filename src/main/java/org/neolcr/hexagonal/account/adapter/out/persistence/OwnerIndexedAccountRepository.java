@@ -0,0 +1,74 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountQueryRepository;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Decorator that keeps an {@link OwnerNameIndex} in step with any {@link AccountRepository} and answers owner
+ * name queries from it. Every save indexes the saved accounts after the delegate has stored them; the index ignores
+ * an id it already holds under that name, so updates cost no extra repository lookup and two concurrent first
+ * saves of one account still index it once.
+ */
+public class OwnerIndexedAccountRepository implements AccountRepository, AccountQueryRepository {
+    private final AccountRepository delegate;
+    private final OwnerNameIndex index = new OwnerNameIndex();
+
+    public OwnerIndexedAccountRepository(AccountRepository delegate) {
+        this.delegate = delegate;
+        delegate.forEach(account -> index.add(account.getOwnerName(), account.getId()));
+    }
+
+    @Override
+    public Account save(Account account) {
+        Account saved = delegate.save(account);
+        index.add(saved.getOwnerName(), saved.getId());
+        return saved;
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        List<Account> saved = delegate.saveAll(accounts);
+        for (Account account : saved) index.add(account.getOwnerName(), account.getId());
+        return saved;
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
+        return delegate.findById(id);
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void forEach(Consumer<Account> action) {
+        delegate.forEach(action);
+    }
+
+    @Override
+    public List<Account> findByOwnerName(String ownerName) {
+        List<Account> result = new ArrayList<>();
+        for (long id : index.idsOf(ownerName)) delegate.findById(id).ifPresent(result::add);
+        return result;
+    }
+
+    @Override
+    public List<Account> findByOwnerNamePrefix(String prefix, int limit) {
+        if (limit < 0) throw new IllegalArgumentException("limit < 0");
+        if (limit == 0) return List.of();
+        List<Account> result = new ArrayList<>();
+        index.forEachWithPrefix(prefix, id -> {
+            delegate.findById(id).ifPresent(result::add);
+            return result.size() < limit;
+        });
+        return result;
+    }
+}
@@ -0,0 +1,153 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentSkipListSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongPredicate;
+
+/**
+ * Concurrent owner name -> account ids index. Exact lookups go through a hash map and take no locks.
+ * Prefix lookups walk a sorted set holding each distinct name once. Keeping that set sorted is the expensive
+ * part, so the create path only queues a name the first time it is seen; queued names are folded into the set
+ * in the background every {@value #FOLD_BATCH} names, and a prefix lookup folds whatever is still queued before
+ * it reads, so it always sees every account indexed before it started. A name is queued only after its id list is
+ * in the map, so every name in the sorted set resolves. Adding an id that is already indexed under the name is a
+ * no-op, so callers can index on every save without first checking whether the account is new.
+ */
+public final class OwnerNameIndex {
+    private static final int FOLD_BATCH = 4096;
+
+    private final ConcurrentHashMap<String, IdList> byName = new ConcurrentHashMap<>();
+    private final ConcurrentSkipListSet<String> sortedNames = new ConcurrentSkipListSet<>();
+    private final ConcurrentLinkedQueue<String> unsortedNames = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger unsortedCount = new AtomicInteger();
+    private final ReentrantLock foldLock = new ReentrantLock();
+
+    public void add(String ownerName, long id) {
+        IdList ids = byName.get(ownerName);
+        if (ids == null) {
+            IdList created = new IdList();
+            ids = byName.putIfAbsent(ownerName, created);
+            if (ids == null) {
+                ids = created;
+                unsortedNames.offer(ownerName);
+                if (unsortedCount.incrementAndGet() % FOLD_BATCH == 0) ForkJoinPool.commonPool().execute(this::foldInBackground);
+            }
+        }
+        ids.add(id);
+    }
+
+    public long[] idsOf(String ownerName) {
+        IdList ids = byName.get(ownerName);
+        return ids == null ? new long[0] : ids.snapshot();
+    }
+
+    /**
+     * Feeds the ids of every owner name starting with {@code prefix} to {@code sink}, in name order,
+     * until the sink returns false.
+     */
+    public void forEachWithPrefix(String prefix, LongPredicate sink) {
+        foldLock.lock();
+        try {
+            fold();
+        } finally {
+            foldLock.unlock();
+        }
+        for (String name : sortedNames.tailSet(prefix)) {
+            if (!name.startsWith(prefix)) return;
+            for (long id : byName.get(name).snapshot()) {
+                if (!sink.test(id)) return;
+            }
+        }
+    }
+
+    public int distinctNames() {
+        return byName.size();
+    }
+
+    private void foldInBackground() {
+        if (!foldLock.tryLock()) return; // whoever holds the lock is folding already
+        try {
+            fold();
+        } finally {
+            foldLock.unlock();
+        }
+    }
+
+    // Called with foldLock held, so a name polled here is in the sorted set before any prefix lookup proceeds.
+    private void fold() {
+        String name;
+        while ((name = unsortedNames.poll()) != null) sortedNames.add(name);
+    }
+
+    // Append-only; readers see a prefix of the ids without locking (size is published after the slot). Writers
+    // skip ids already present: a scan for short lists, an open-addressing set (writers only) once it grows.
+    private static final class IdList {
+        private static final int SCAN_LIMIT = 16;
+
+        private volatile long[] ids = new long[1];
+        private volatile int size;
+        private long[] set; // ids are positive, 0 marks a free slot; null while size <= SCAN_LIMIT
+
+        synchronized void add(long id) {
+            if (contains(id)) return;
+            long[] current = ids;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, size * 2);
+                ids = current;
+            }
+            current[size] = id;
+            size = size + 1;
+            if (set != null) insert(id);
+            else if (size > SCAN_LIMIT) rebuildSet();
+        }
+
+        private boolean contains(long id) {
+            if (set == null) {
+                long[] current = ids;
+                for (int i = 0; i < size; i++) if (current[i] == id) return true;
+                return false;
+            }
+            int mask = set.length - 1;
+            for (int i = slot(id, mask); set[i] != 0; i = (i + 1) & mask) {
+                if (set[i] == id) return true;
+            }
+            return false;
+        }
+
+        private void insert(long id) {
+            if (size * 2 > set.length) {
+                rebuildSet();
+                return;
+            }
+            int mask = set.length - 1;
+            int i = slot(id, mask);
+            while (set[i] != 0) i = (i + 1) & mask;
+            set[i] = id;
+        }
+
+        private void rebuildSet() {
+            set = new long[Integer.highestOneBit(size) << 2];
+            int mask = set.length - 1;
+            long[] current = ids;
+            for (int n = 0; n < size; n++) {
+                int i = slot(current[n], mask);
+                while (set[i] != 0) i = (i + 1) & mask;
+                set[i] = current[n];
+            }
+        }
+
+        private static int slot(long id, int mask) {
+            return (int) ((id * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+        }
+
+        long[] snapshot() {
+            int n = size;
+            return Arrays.copyOf(ids, n);
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/** Strictly increasing ids from one shared counter. Simple, but every call contends on the same cache line. */
+public class SequenceIdGenerator implements IdGenerator {
+    private final AtomicLong sequence;
+
+    public SequenceIdGenerator() {
+        this(1);
+    }
+
+    public SequenceIdGenerator(long firstId) {
+        this.sequence = new AtomicLong(firstId);
+    }
+
+    @Override
+    public long nextId() {
+        return sequence.getAndIncrement();
+    }
+
+    @Override
+    public long reserve(int count) {
+        if (count <= 0) throw new IllegalArgumentException("count <= 0");
+        return sequence.getAndAdd(count);
+    }
+}
@@ -0,0 +1,95 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Spreads accounts over N independent repositories. Shard {@code i} owns the id range starting at
+ * {@code i << SHARD_BITS}, so routing an id is a shift and every shard generates ids without talking to the
+ * others. New accounts go to a random shard; counts and scans fan out to all shards in parallel. A batch save is
+ * atomic per shard, not across shards (see {@link #saveAll}).
+ */
+public class ShardedAccountRepository implements AccountRepository {
+    public static final int SHARD_BITS = 40;
+
+    private final AccountRepository[] shards;
+
+    /**
+     * @param shardFactory builds one shard from the first id of its range, e.g.
+     *                     {@code first -> new OpenAddressingAccountRepository(new SequenceIdGenerator(first))}
+     */
+    public ShardedAccountRepository(int shardCount, LongFunction<AccountRepository> shardFactory) {
+        if (shardCount <= 0 || shardCount > 1 << (63 - SHARD_BITS)) throw new IllegalArgumentException("shardCount out of range");
+        this.shards = new AccountRepository[shardCount];
+        for (int i = 0; i < shardCount; i++) shards[i] = shardFactory.apply(firstId(i));
+    }
+
+    public static long firstId(int shard) {
+        return ((long) shard << SHARD_BITS) + 1;
+    }
+
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public Account save(Account account) {
+        AccountRepository shard = account.getId() == null ? anyShard() : shardFor(account.getId());
+        return shard.save(account);
+    }
+
+    /**
+     * Atomic per shard only: each shard's part of the batch is one {@code saveAll} on that shard, and the parts are
+     * written one after another in shard order, on the calling thread (shards may block on I/O). If a shard fails,
+     * the parts already written stay written and the later ones are not attempted. New accounts of the batch all go
+     * to one shard, so they still share a single id reservation and are stored or rejected together.
+     */
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        List<List<Account>> perShard = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) perShard.add(new ArrayList<>());
+        int target = ThreadLocalRandom.current().nextInt(shards.length);
+        for (Account account : accounts) {
+            perShard.get(account.getId() == null ? target : indexOf(account.getId())).add(account);
+        }
+        for (int i = 0; i < shards.length; i++) {
+            if (!perShard.get(i).isEmpty()) shards[i].saveAll(perShard.get(i));
+        }
+        return accounts;
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
+        return shardFor(id).findById(id);
+    }
+
+    @Override
+    public long count() {
+        return Arrays.stream(shards).parallel().mapToLong(AccountRepository::count).sum();
+    }
+
+    @Override
+    public void forEach(Consumer<Account> action) {
+        Arrays.stream(shards).parallel().forEach(shard -> shard.forEach(action));
+    }
+
+    private AccountRepository anyShard() {
+        return shards[ThreadLocalRandom.current().nextInt(shards.length)];
+    }
+
+    private AccountRepository shardFor(long id) {
+        return shards[indexOf(id)];
+    }
+
+    private int indexOf(long id) {
+        return (int) Math.floorMod((id - 1) >>> SHARD_BITS, (long) shards.length);
+    }
+}
@@ -0,0 +1,75 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence.wal;
+
+import org.neolcr.hexagonal.account.adapter.codec.AccountCodec;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+
+/**
+ * Log payload for an account upsert: [byte {@link #ACCOUNT}][{@link AccountCodec} encoding, id always present].
+ *
+ * The first byte is the record type, and a type's layout never changes; older types are still read but no longer
+ * written. All of them start with [byte type][long id][int ownerLength][owner UTF-8], followed by:
+ * - {@link #UPSERT} / {@link #UPSERT_HOT} (standard / hot account, before fixed-point Money):
+ *   [int balanceScale][int unscaledLength][unscaled two's-complement bytes], a BigDecimal in the default currency
+ * - {@link #UPSERT_MINOR} / {@link #UPSERT_MINOR_HOT}: [3 bytes ISO 4217 currency code][long balance in minor units]
+ */
+final class AccountRecords {
+    static final byte UPSERT = 1;
+    static final byte UPSERT_HOT = 2;
+    static final byte ACCOUNT = 3;
+    static final byte UPSERT_MINOR = 4;
+    static final byte UPSERT_MINOR_HOT = 5;
+
+    private AccountRecords() {
+    }
+
+    static int size(Account account) {
+        return 1 + AccountCodec.encodedSize(account);
+    }
+
+    static byte[] encode(Account account) {
+        byte[] payload = new byte[size(account)];
+        encode(account, ByteBuffer.wrap(payload));
+        return payload;
+    }
+
+    /** Writes the payload at the buffer's position; {@link #size(Account)} bytes must remain. */
+    static void encode(Account account, ByteBuffer buffer) {
+        buffer.put(ACCOUNT);
+        AccountCodec.encode(account, buffer);
+    }
+
+    static long idOf(ByteBuffer payload) {
+        int at = payload.position();
+        return payload.get(at) == ACCOUNT ? AccountCodec.idAt(payload, at + 1) : payload.getLong(at + 1);
+    }
+
+    static Account decode(ByteBuffer payload) {
+        ByteBuffer in = payload.duplicate();
+        byte type = in.get();
+        if (type == ACCOUNT) return AccountCodec.decode(in);
+        if (type < UPSERT || type > UPSERT_MINOR_HOT) throw new IllegalStateException("unknown record type " + type);
+        long id = in.getLong();
+        byte[] owner = new byte[in.getInt()];
+        in.get(owner);
+        Money balance;
+        if (type == UPSERT || type == UPSERT_HOT) {
+            int scale = in.getInt();
+            byte[] unscaled = new byte[in.getInt()];
+            in.get(unscaled);
+            balance = Money.of(new BigDecimal(new BigInteger(unscaled), scale), Money.DEFAULT_CURRENCY);
+        } else {
+            char[] code = {(char) in.get(), (char) in.get(), (char) in.get()};
+            balance = Money.ofMinor(in.getLong(), Currency.getInstance(new String(code)));
+        }
+        BalanceMode mode = type == UPSERT_HOT || type == UPSERT_MINOR_HOT ? BalanceMode.HOT : BalanceMode.STANDARD;
+        return new Account(id, new String(owner, StandardCharsets.UTF_8), balance, mode);
+    }
+}
@@ -0,0 +1,182 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence.wal;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.LongAccountTable;
+import org.neolcr.hexagonal.account.domain.model.Account;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Point-in-time image of the account store, named after the log segment replay has to resume from.
+ *
+ * Layout: a fixed header [int magic][int version][long logSequence][long count][long maxId][long indexOffset],
+ * the account records as [int length][payload] (same payload as the log), and an index
+ * [int sections][long sectionStart]* that splits the records into independent sections, so loading maps and
+ * decodes the sections in parallel.
+ */
+final class AccountSnapshots {
+    private static final int MAGIC = 0x41534E50; // "ASNP"
+    private static final int VERSION = 1;
+    private static final int HEADER = 4 + 4 + 8 + 8 + 8 + 8;
+    private static final int SECTION_RECORDS = 1 << 16;
+    private static final String SUFFIX = ".snapshot";
+    private static final String TEMP_SUFFIX = ".tmp";
+
+    record Loaded(LongAccountTable store, long logSequence, long count, long maxId) {
+    }
+
+    private AccountSnapshots() {
+    }
+
+    static Optional<Path> latest(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) return Optional.empty();
+        try (Stream<Path> files = Files.list(directory)) {
+            List<Path> all = files.toList();
+            for (Path p : all) {
+                if (p.getFileName().toString().endsWith(SUFFIX + TEMP_SUFFIX)) Files.delete(p); // interrupted write
+            }
+            return all.stream().filter(p -> p.getFileName().toString().endsWith(SUFFIX)).max(Path::compareTo);
+        }
+    }
+
+    /**
+     * Writes every account currently in {@code store}. The store may keep changing meanwhile; records appended
+     * to the log from {@code logSequence} on are replayed over the snapshot, so a fuzzy image is enough.
+     */
+    static Path write(Path directory, long logSequence, LongAccountTable store) throws IOException {
+        Path target = directory.resolve(String.format("%020d", logSequence) + SUFFIX);
+        Path temp = directory.resolve(target.getFileName() + TEMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            SectionWriter writer = new SectionWriter(channel);
+            try {
+                store.forEach(writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            writer.flush();
+            long indexOffset = writer.position;
+            ByteBuffer index = ByteBuffer.allocate(4 + 8 * writer.sections);
+            index.putInt(writer.sections);
+            for (int i = 0; i < writer.sections; i++) index.putLong(writer.sectionStarts[i]);
+            writeFully(channel, index.flip(), indexOffset);
+            ByteBuffer header = ByteBuffer.allocate(HEADER);
+            header.putInt(MAGIC).putInt(VERSION).putLong(logSequence).putLong(writer.count).putLong(writer.maxId).putLong(indexOffset);
+            writeFully(channel, header.flip(), 0);
+            channel.force(true);
+        }
+        Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE);
+        SegmentedLog.syncDirectory(directory);
+        return target;
+    }
+
+    static void deleteAllExcept(Path directory, Path keep) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path p : files.filter(p -> p.getFileName().toString().endsWith(SUFFIX)).toList()) {
+                if (!p.equals(keep)) Files.delete(p);
+            }
+        }
+    }
+
+    /** Loads the snapshot into a new table sized for its account count. */
+    static Loaded load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer header = channel.map(FileChannel.MapMode.READ_ONLY, 0, HEADER);
+            if (header.getInt() != MAGIC) throw new IOException("not an account snapshot: " + file);
+            if (header.getInt() != VERSION) throw new IOException("unsupported snapshot version: " + file);
+            long logSequence = header.getLong();
+            long count = header.getLong();
+            long maxId = header.getLong();
+            long indexOffset = header.getLong();
+            LongAccountTable store = new LongAccountTable(64, (int) Math.min(Integer.MAX_VALUE / 2, count * 2));
+            MappedByteBuffer index = channel.map(FileChannel.MapMode.READ_ONLY, indexOffset, channel.size() - indexOffset);
+            long[] starts = new long[index.getInt()];
+            for (int i = 0; i < starts.length; i++) starts[i] = index.getLong();
+            try {
+                IntStream.range(0, starts.length).parallel().forEach(i -> {
+                    long end = i + 1 < starts.length ? starts[i + 1] : indexOffset;
+                    loadSection(channel, starts[i], end, store);
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return new Loaded(store, logSequence, count, maxId);
+        }
+    }
+
+    private static void loadSection(FileChannel channel, long start, long end, LongAccountTable store) {
+        try {
+            MappedByteBuffer section = channel.map(FileChannel.MapMode.READ_ONLY, start, end - start);
+            while (section.hasRemaining()) {
+                int length = section.getInt();
+                Account account = AccountRecords.decode(section.slice(section.position(), length));
+                store.put(account.getId(), account);
+                section.position(section.position() + length);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        while (buffer.hasRemaining()) position += channel.write(buffer, position);
+    }
+
+    private static final class SectionWriter implements Consumer<Account> {
+        private final FileChannel channel;
+        private final ByteBuffer buffer = ByteBuffer.allocateDirect(1 << 20);
+        private long position = HEADER;
+        private long[] sectionStarts = new long[16];
+        private int sections;
+        private long count;
+        private long maxId;
+
+        SectionWriter(FileChannel channel) {
+            this.channel = channel;
+        }
+
+        @Override
+        public void accept(Account account) {
+            try {
+                int length = AccountRecords.size(account);
+                if (buffer.remaining() < 4 + length) flush();
+                if (count % SECTION_RECORDS == 0) {
+                    if (sections == sectionStarts.length) sectionStarts = Arrays.copyOf(sectionStarts, sections * 2);
+                    sectionStarts[sections++] = position + buffer.position();
+                }
+                if (buffer.remaining() < 4 + length) { // larger than the whole staging buffer
+                    ByteBuffer record = ByteBuffer.allocate(4 + length).putInt(length);
+                    AccountRecords.encode(account, record);
+                    writeFully(channel, record.flip(), position);
+                    position += 4 + length;
+                } else {
+                    AccountRecords.encode(account, buffer.putInt(length)); // straight into the direct buffer
+                }
+                count++;
+                maxId = Math.max(maxId, account.getId());
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void flush() throws IOException {
+            buffer.flip();
+            int written = buffer.remaining();
+            writeFully(channel, buffer, position);
+            position += written;
+            buffer.clear();
+        }
+    }
+}
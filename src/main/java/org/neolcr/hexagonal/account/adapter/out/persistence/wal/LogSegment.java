@@ -0,0 +1,118 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence.wal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * One memory-mapped file of the log. Records are framed as [int length][int crc32c][payload];
+ * a zero length (the file is zero-filled when created) marks the end of the written data.
+ * Not thread-safe: {@link SegmentedLog} serializes appends and owns the flush bookkeeping.
+ */
+final class LogSegment implements Closeable {
+    static final int RECORD_HEADER = 8;
+
+    final long sequence;
+    final Path path;
+    private final FileChannel channel;
+    private final MappedByteBuffer buffer;
+    int writePosition;
+    int flushedPosition;
+
+    private LogSegment(long sequence, Path path, FileChannel channel, int capacity) throws IOException {
+        this.sequence = sequence;
+        this.path = path;
+        this.channel = channel;
+        this.buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacity);
+    }
+
+    static LogSegment create(Path directory, long sequence, int capacity) throws IOException {
+        return createFile(directory.resolve(fileName(sequence)), sequence, capacity);
+    }
+
+    static LogSegment createFile(Path path, long sequence, int capacity) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new LogSegment(sequence, path, channel, capacity);
+    }
+
+    static LogSegment open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new LogSegment(sequenceOf(path), path, channel, (int) channel.size());
+    }
+
+    static String fileName(long sequence) {
+        return String.format("%020d.log", sequence);
+    }
+
+    static boolean isSegment(Path path) {
+        return path.getFileName().toString().matches("\\d{20}\\.log");
+    }
+
+    static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.indexOf('.')));
+    }
+
+    static int framedLength(int payloadLength) {
+        return RECORD_HEADER + payloadLength;
+    }
+
+    int capacity() {
+        return buffer.capacity();
+    }
+
+    boolean hasRoom(int payloadLength) {
+        return writePosition + framedLength(payloadLength) <= buffer.capacity();
+    }
+
+    void append(byte[] payload) {
+        CRC32C crc = new CRC32C();
+        crc.update(payload);
+        int at = writePosition;
+        buffer.putInt(at + 4, (int) crc.getValue());
+        buffer.put(at + RECORD_HEADER, payload);
+        buffer.putInt(at, payload.length); // length last: a record only becomes visible to scan() once complete
+        writePosition = at + framedLength(payload.length);
+    }
+
+    /** Zeroes everything written from {@code position} on, so scan() stops there, and appends from there again. */
+    void truncate(int position) {
+        if (writePosition > position) buffer.put(position, new byte[writePosition - position]);
+        writePosition = position;
+    }
+
+    /**
+     * Hands every intact record's payload, in order, to {@code consumer} and returns the offset just past the
+     * last one. Scanning stops at the first empty or corrupt frame (e.g. a torn write before a crash).
+     */
+    int scan(Consumer<ByteBuffer> consumer) {
+        int position = 0;
+        CRC32C crc = new CRC32C();
+        while (position + RECORD_HEADER <= buffer.capacity()) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + framedLength(length) > buffer.capacity()) break;
+            ByteBuffer payload = buffer.slice(position + RECORD_HEADER, length);
+            crc.reset();
+            crc.update(payload.duplicate());
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) break;
+            consumer.accept(payload);
+            position += framedLength(length);
+        }
+        return position;
+    }
+
+    void force(int from, int to) {
+        if (to > from) buffer.force(from, to - from);
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
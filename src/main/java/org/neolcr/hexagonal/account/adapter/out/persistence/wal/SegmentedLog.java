@@ -0,0 +1,358 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence.wal;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+import java.util.stream.Stream;
+
+/**
+ * Append-only log made of fixed-size, memory-mapped segments, with group commit and background compaction.
+ *
+ * Writers copy their records into the active segment under a short lock and then wait for a dedicated
+ * committer thread to force them to disk. Each flush covers everything appended since the previous one, so
+ * all writers that arrive while a flush is running share the next single fsync instead of paying one each.
+ * When more than {@code compactionThreshold} segments are sealed, a background thread rewrites them into one
+ * file that keeps only the latest record per key (records are upserts keyed by {@code keyOf}).
+ */
+public final class SegmentedLog implements Closeable {
+    private static final String COMPACTING_SUFFIX = ".compacting";
+
+    private final Path directory;
+    private final int segmentSize;
+    private final int compactionThreshold;
+    private final ToLongFunction<ByteBuffer> keyOf;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition pending = lock.newCondition();
+    private final Condition flushed = lock.newCondition();
+    private final List<LogSegment> rolled = new ArrayList<>(); // full segments not forced yet, guarded by lock
+    private final ArrayDeque<Callback> callbacks = new ArrayDeque<>(); // onDurable actions in ticket order, guarded by lock
+    private LogSegment active;
+    private long appendedTicket;
+    private long durableTicket;
+    private IOException failure;
+    private boolean closed;
+
+    private final ConcurrentSkipListMap<Long, Path> sealed = new ConcurrentSkipListMap<>();
+    private final AtomicBoolean compacting = new AtomicBoolean();
+    private final ExecutorService compactor;
+    private final Thread committer;
+    private volatile long syncCount;
+    private volatile long retainFrom;
+
+    private SegmentedLog(Path directory, int segmentSize, int compactionThreshold, ToLongFunction<ByteBuffer> keyOf) {
+        this.directory = directory;
+        this.segmentSize = segmentSize;
+        this.compactionThreshold = compactionThreshold;
+        this.keyOf = keyOf;
+        this.compactor = Executors.newSingleThreadExecutor(r -> daemon(r, "wal-compactor"));
+        this.committer = daemon(this::commitLoop, "wal-committer");
+    }
+
+    /**
+     * Opens (or creates) the log in {@code directory}, handing every stored record of the segments numbered
+     * {@code replayFrom} or higher to {@code replay} in append order before the log accepts new writes.
+     * Older segments are already covered by a snapshot (see {@link #checkpoint()}) and are deleted.
+     */
+    public static SegmentedLog open(Path directory, int segmentSize, int compactionThreshold, long replayFrom,
+                                    ToLongFunction<ByteBuffer> keyOf, Consumer<ByteBuffer> replay) throws IOException {
+        if (segmentSize <= LogSegment.RECORD_HEADER) throw new IllegalArgumentException("segmentSize too small");
+        Files.createDirectories(directory);
+        List<Path> segments;
+        try (Stream<Path> files = Files.list(directory)) {
+            segments = files.sorted().toList();
+        }
+        for (Path p : segments) {
+            if (p.getFileName().toString().endsWith(COMPACTING_SUFFIX)) Files.delete(p); // interrupted compaction
+        }
+        List<Path> obsolete = segments.stream().filter(LogSegment::isSegment).filter(p -> LogSegment.sequenceOf(p) < replayFrom).toList();
+        segments = segments.stream().filter(LogSegment::isSegment).filter(p -> LogSegment.sequenceOf(p) >= replayFrom).toList();
+
+        SegmentedLog log = new SegmentedLog(directory, segmentSize, compactionThreshold, keyOf);
+        log.retainFrom = replayFrom;
+        for (Path p : obsolete) Files.delete(p);
+        for (Path path : segments) {
+            try (LogSegment segment = LogSegment.open(path)) {
+                segment.scan(replay);
+            }
+            log.sealed.put(LogSegment.sequenceOf(path), path);
+        }
+        // Never append to a recovered segment: bytes after its last intact record may be a torn write, and
+        // since nothing follows them, scanning will always stop at the same place.
+        long next = segments.isEmpty() ? Math.max(1, replayFrom) : LogSegment.sequenceOf(segments.get(segments.size() - 1)) + 1;
+        log.active = LogSegment.create(directory, next, segmentSize);
+        log.committer.start();
+        return log;
+    }
+
+    /**
+     * Appends the records and returns once they are durable. Either all of them are written or, if a size check
+     * or a segment roll fails, none are. {@code onDurable} runs once the records are on disk, on the committer
+     * thread under the append lock and in ticket order, so state derived from the log is applied in exactly the
+     * log's order and never shows records a failed flush may have lost; it must be quick and must not throw.
+     * The caller is released only after it has run.
+     */
+    public void append(List<byte[]> payloads, Runnable onDurable) {
+        for (byte[] payload : payloads) {
+            if (LogSegment.framedLength(payload.length) > segmentSize) throw new IllegalArgumentException("record larger than a segment");
+        }
+        lock.lock();
+        try {
+            ensureWritable();
+            write(payloads);
+            long ticket = ++appendedTicket;
+            if (onDurable != null) callbacks.add(new Callback(ticket, onDurable));
+            pending.signal();
+            awaitDurable(ticket);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Called with the lock held. A roll that fails part-way takes back the records already written.
+    private void write(List<byte[]> payloads) throws IOException {
+        LogSegment first = active;
+        int start = first.writePosition;
+        int rolledBefore = rolled.size();
+        try {
+            for (byte[] payload : payloads) {
+                if (!active.hasRoom(payload.length)) roll();
+                active.append(payload);
+            }
+        } catch (IOException e) {
+            List<LogSegment> touched = new ArrayList<>(rolled.subList(rolledBefore, rolled.size()));
+            touched.add(active);
+            for (LogSegment segment : touched) segment.truncate(segment == first ? start : 0);
+            throw e;
+        }
+    }
+
+    // Called with the lock held.
+    private void awaitDurable(long ticket) {
+        while (durableTicket < ticket && failure == null) flushed.awaitUninterruptibly();
+        if (durableTicket < ticket) throw new UncheckedIOException("log flush failed", failure);
+    }
+
+    /**
+     * Starts a new segment so that everything appended so far lives in lower-numbered segments, and returns the
+     * new segment's number once those records are durable. State built from the log (see {@code onDurable})
+     * then reflects every record below that number, so a snapshot of it plus a replay from the returned segment
+     * restores the log's state.
+     */
+    public long checkpoint() {
+        lock.lock();
+        try {
+            ensureWritable();
+            if (active.writePosition > 0) roll();
+            long sequence = active.sequence;
+            awaitDurable(appendedTicket);
+            return sequence;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /** Deletes, in the background, all sealed segments numbered below {@code sequence}. */
+    public void truncateBefore(long sequence) {
+        if (sequence <= retainFrom) return;
+        retainFrom = sequence;
+        compactor.execute(() -> {
+            for (Map.Entry<Long, Path> obsolete : new ArrayList<>(sealed.headMap(sequence).entrySet())) {
+                try {
+                    Files.deleteIfExists(obsolete.getValue());
+                    sealed.remove(obsolete.getKey());
+                } catch (IOException e) {
+                    // retried by the next truncation
+                }
+            }
+        });
+    }
+
+    /** Number of fsyncs issued so far; compare with the number of appends to see how well commits are grouped. */
+    public long syncCount() {
+        return syncCount;
+    }
+
+    public int sealedSegmentCount() {
+        return sealed.size();
+    }
+
+    private void ensureWritable() {
+        if (closed) throw new IllegalStateException("log closed");
+        if (failure != null) throw new UncheckedIOException("log failed earlier", failure);
+    }
+
+    // Called with the lock held.
+    private void roll() throws IOException {
+        rolled.add(active);
+        active = LogSegment.create(directory, active.sequence + 1, segmentSize);
+    }
+
+    private void commitLoop() {
+        while (true) {
+            long target;
+            List<LogSegment> full;
+            LogSegment current;
+            int upTo;
+            lock.lock();
+            try {
+                while (durableTicket == appendedTicket && !closed) pending.awaitUninterruptibly();
+                if (durableTicket == appendedTicket) return;
+                target = appendedTicket;
+                full = new ArrayList<>(rolled);
+                rolled.clear();
+                current = active;
+                upTo = current.writePosition;
+            } finally {
+                lock.unlock();
+            }
+            IOException error = flush(full, current, upTo);
+            lock.lock();
+            try {
+                if (error == null) {
+                    while (!callbacks.isEmpty() && callbacks.peek().ticket() <= target) callbacks.poll().action().run();
+                    durableTicket = target;
+                } else {
+                    failure = error;
+                    callbacks.clear();
+                }
+                flushed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+            if (error != null) return;
+        }
+    }
+
+    // Runs on the committer thread only, which therefore owns flushedPosition.
+    private IOException flush(List<LogSegment> full, LogSegment current, int upTo) {
+        try {
+            for (LogSegment segment : full) {
+                segment.force(segment.flushedPosition, segment.writePosition);
+                segment.close();
+                if (segment.sequence < retainFrom) Files.deleteIfExists(segment.path);
+                else sealed.put(segment.sequence, segment.path);
+            }
+            if (!full.isEmpty()) syncDirectory(directory);
+            current.force(current.flushedPosition, upTo);
+            current.flushedPosition = upTo;
+            syncCount++;
+            if (sealed.size() > compactionThreshold) compactInBackground();
+            return null;
+        } catch (IOException e) {
+            return e;
+        }
+    }
+
+    private void compactInBackground() {
+        if (!compacting.compareAndSet(false, true)) return;
+        compactor.execute(() -> {
+            try {
+                compact();
+            } catch (IOException e) {
+                // the sealed segments stay as they are; the next roll retries
+            } finally {
+                compacting.set(false);
+            }
+        });
+    }
+
+    /**
+     * Rewrites all currently sealed segments into a single file that keeps only the latest record per key.
+     * The result takes the newest victim's name (atomic rename), so replay order is preserved; a crash before
+     * the older victims are deleted only means some records are replayed twice, which upserts tolerate.
+     */
+    void compact() throws IOException {
+        List<Map.Entry<Long, Path>> victims = new ArrayList<>(sealed.tailMap(retainFrom).entrySet());
+        if (victims.size() < 2) return;
+        Map<Long, byte[]> latest = new HashMap<>();
+        for (Map.Entry<Long, Path> victim : victims) {
+            try (LogSegment segment = LogSegment.open(victim.getValue())) {
+                segment.scan(payload -> {
+                    byte[] copy = new byte[payload.remaining()];
+                    payload.duplicate().get(copy);
+                    latest.put(keyOf.applyAsLong(payload), copy);
+                });
+            }
+        }
+        long size = LogSegment.RECORD_HEADER;
+        for (byte[] payload : latest.values()) size += LogSegment.framedLength(payload.length);
+        if (size > Integer.MAX_VALUE) throw new IOException("compacted segment exceeds 2 GiB");
+
+        Map.Entry<Long, Path> newest = victims.get(victims.size() - 1);
+        Path temp = directory.resolve(newest.getValue().getFileName() + COMPACTING_SUFFIX);
+        try (LogSegment out = LogSegment.createFile(temp, newest.getKey(), (int) size)) {
+            for (byte[] payload : latest.values()) out.append(payload);
+            out.force(0, out.writePosition);
+        }
+        Files.move(temp, newest.getValue(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        for (Map.Entry<Long, Path> victim : victims.subList(0, victims.size() - 1)) {
+            Files.deleteIfExists(victim.getValue());
+            sealed.remove(victim.getKey());
+        }
+        syncDirectory(directory);
+    }
+
+    /** Makes file creations, renames and deletions in {@code directory} durable. */
+    static void syncDirectory(Path directory) {
+        try (FileChannel dir = FileChannel.open(directory, StandardOpenOption.READ)) {
+            dir.force(true);
+        } catch (IOException e) {
+            // not supported on every platform (e.g. Windows); file contents are already forced
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        lock.lock();
+        try {
+            if (closed) return;
+            closed = true;
+            pending.signal();
+        } finally {
+            lock.unlock();
+        }
+        try {
+            committer.join();
+            compactor.shutdown();
+            compactor.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        for (LogSegment segment : rolled) segment.close();
+        active.close();
+    }
+
+    private record Callback(long ticket, Runnable action) {
+    }
+
+    private static Thread daemon(Runnable task, String name) {
+        Thread thread = new Thread(task, name);
+        thread.setDaemon(true);
+        return thread;
+    }
+}
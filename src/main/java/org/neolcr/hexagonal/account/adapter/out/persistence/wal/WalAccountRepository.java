@@ -0,0 +1,124 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence.wal;
+
+import org.neolcr.hexagonal.account.adapter.out.persistence.IdGenerator;
+import org.neolcr.hexagonal.account.adapter.out.persistence.LongAccountTable;
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.function.LongFunction;
+
+/**
+ * Durable adapter: every save is appended to a {@link SegmentedLog} and acknowledged once it is on disk;
+ * reads are served from an in-memory {@link LongAccountTable} rebuilt on startup from the latest snapshot
+ * plus the log segments written after it. The table takes a saved account only once its record is durable.
+ */
+public class WalAccountRepository implements AccountRepository, Closeable {
+    public static final int DEFAULT_SEGMENT_SIZE = 64 << 20;
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 4;
+
+    private final Path directory;
+    private final LongAccountTable store;
+    private final SegmentedLog log;
+    private final IdGenerator idGenerator;
+    private final ReentrantLock snapshotLock = new ReentrantLock();
+
+    private WalAccountRepository(Path directory, LongAccountTable store, SegmentedLog log, IdGenerator idGenerator) {
+        this.directory = directory;
+        this.store = store;
+        this.log = log;
+        this.idGenerator = idGenerator;
+    }
+
+    public static WalAccountRepository open(Path directory) throws IOException {
+        return open(directory, DEFAULT_SEGMENT_SIZE, DEFAULT_COMPACTION_THRESHOLD, SequenceIdGenerator::new);
+    }
+
+    /**
+     * @param idGenerators builds the id generator from the first id that is still free after recovery
+     */
+    public static WalAccountRepository open(Path directory, int segmentSize, int compactionThreshold,
+                                            LongFunction<IdGenerator> idGenerators) throws IOException {
+        Optional<Path> snapshot = AccountSnapshots.latest(directory);
+        AccountSnapshots.Loaded loaded = snapshot.isPresent()
+                ? AccountSnapshots.load(snapshot.get())
+                : new AccountSnapshots.Loaded(new LongAccountTable(), 0, 0, 0);
+        LongAccountTable store = loaded.store();
+        AtomicLong maxId = new AtomicLong(loaded.maxId());
+        SegmentedLog log = SegmentedLog.open(directory, segmentSize, compactionThreshold, loaded.logSequence(), AccountRecords::idOf, payload -> {
+            Account account = AccountRecords.decode(payload);
+            store.put(account.getId(), account);
+            if (account.getId() > maxId.get()) maxId.set(account.getId());
+        });
+        return new WalAccountRepository(directory, store, log, idGenerators.apply(maxId.get() + 1));
+    }
+
+    @Override
+    public Account save(Account account) {
+        if (account.getId() == null) {
+            account.setIdIfNull(idGenerator.nextId());
+        }
+        log.append(List.of(AccountRecords.encode(account)), () -> store.put(account.getId(), account));
+        return account;
+    }
+
+    /** The whole batch goes to disk with a single group commit. */
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        idGenerator.assignIds(accounts);
+        List<byte[]> payloads = new ArrayList<>(accounts.size());
+        for (Account account : accounts) payloads.add(AccountRecords.encode(account));
+        log.append(payloads, () -> store.putAll(accounts));
+        return accounts;
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
+        return Optional.ofNullable(store.get(id));
+    }
+
+    @Override
+    public long count() {
+        return store.size();
+    }
+
+    @Override
+    public void forEach(Consumer<Account> action) {
+        store.forEach(action);
+    }
+
+    /**
+     * Writes a snapshot of all accounts and drops the log segments it covers. Saves keep running meanwhile:
+     * the log is only locked long enough to start a new segment, which becomes the replay starting point.
+     */
+    public Path snapshot() throws IOException {
+        snapshotLock.lock();
+        try {
+            long replayFrom = log.checkpoint();
+            Path file = AccountSnapshots.write(directory, replayFrom, store);
+            AccountSnapshots.deleteAllExcept(directory, file);
+            log.truncateBefore(replayFrom);
+            return file;
+        } finally {
+            snapshotLock.unlock();
+        }
+    }
+
+    public SegmentedLog log() {
+        return log;
+    }
+
+    @Override
+    public void close() throws IOException {
+        log.close();
+    }
+}
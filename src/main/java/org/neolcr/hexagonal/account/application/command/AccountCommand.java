@@ -0,0 +1,22 @@
+package org.neolcr.hexagonal.account.application.command;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.List;
+
+/**
+ * An account mutation as an object, in the spirit of {@code designpatterns.behavioral.Command}: it is queued in a
+ * partition's ring buffer and executed later by that partition's single writer thread.
+ *
+ * Execution has two steps so the writer can batch persistence: {@link #apply} mutates the domain and adds the
+ * accounts to persist to {@code dirty}; after the whole batch has been saved with one {@code saveAll},
+ * {@link #result()} produces the value the caller's future completes with. {@code apply} must validate before it
+ * mutates, so a command that throws leaves no trace.
+ */
+public sealed interface AccountCommand<R> permits CreateAccount, Deposit {
+
+    void apply(AccountRepository repository, List<Account> dirty);
+
+    R result();
+}
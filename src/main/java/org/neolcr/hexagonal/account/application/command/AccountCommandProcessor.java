@@ -0,0 +1,270 @@
+package org.neolcr.hexagonal.account.application.command;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+import java.util.function.IntFunction;
+
+/**
+ * Single-writer execution mode for account mutations. Accounts are split into partitions, each with its own
+ * repository, {@link CommandRing} and writer thread; only that thread ever mutates or saves the partition's
+ * accounts, so mutations never contend with each other and no locks are taken.
+ *
+ * Partition {@code i} owns the id range starting at {@link #firstId(int)}, so a {@link Deposit} is routed by a
+ * shift of its account id. A {@link CreateAccount} may go to any partition and is placed by the submitting thread.
+ * The writer drains up to {@code maxBatch} published commands at once, applies them in order and persists every
+ * account they touched with a single {@code saveAll} before completing their futures. Within a batch every account
+ * is loaded once, so commands of the batch share one instance even when the repository hands out copies.
+ *
+ * A command that fails validation completes its own future exceptionally. If {@code saveAll} fails, every other
+ * future of the batch does too and each account the batch loaded is put back to the balance it was loaded with:
+ * with an identity-map repository the deposits were applied to the live instances, and a caller retrying a failed
+ * deposit must not find it applied already. Futures are completed on the writer thread, so callers should chain
+ * with the {@code *Async} stages rather than run work on it.
+ */
+public class AccountCommandProcessor implements AutoCloseable {
+    public static final int PARTITION_BITS = 40;
+
+    private final Partition[] partitions;
+    private final int maxBatch;
+    private final LongAdder submitting = new LongAdder(); // submitters between their running check and their publish
+    private volatile boolean running = true;
+
+    /**
+     * @param repositoryFactory builds the repository of partition {@code i}; it must assign new ids starting at
+     *                          {@code firstId(i)}, e.g.
+     *                          {@code i -> new OpenAddressingAccountRepository(new SequenceIdGenerator(firstId(i)))}
+     */
+    public AccountCommandProcessor(int partitionCount, int ringSize, int maxBatch, IntFunction<AccountRepository> repositoryFactory) {
+        if (partitionCount <= 0 || partitionCount > 1 << (63 - PARTITION_BITS)) throw new IllegalArgumentException("partitionCount out of range");
+        if (maxBatch <= 0) throw new IllegalArgumentException("maxBatch <= 0");
+        this.maxBatch = maxBatch;
+        this.partitions = new Partition[partitionCount];
+        for (int i = 0; i < partitionCount; i++) partitions[i] = new Partition(i, repositoryFactory.apply(i), new CommandRing(ringSize));
+        for (Partition partition : partitions) partition.writer.start();
+    }
+
+    public static long firstId(int partition) {
+        return ((long) partition << PARTITION_BITS) + 1;
+    }
+
+    public int partitionCount() {
+        return partitions.length;
+    }
+
+    public CompletableFuture<Long> submit(CreateAccount command) {
+        return submit(partitions[Math.floorMod(Thread.currentThread().threadId(), partitions.length)], command);
+    }
+
+    public CompletableFuture<Money> submit(Deposit command) {
+        return submit(partitionFor(command.accountId()), command);
+    }
+
+    /** Reads go straight to the partition's repository and see every mutation whose future has completed. */
+    public Optional<Account> findById(long id) {
+        return partitionFor(id).repository.findById(id);
+    }
+
+    public long count() {
+        long count = 0;
+        for (Partition partition : partitions) count += partition.repository.count();
+        return count;
+    }
+
+    /**
+     * Rejects new submissions, executes every command accepted before that, then stops the writers. A command a
+     * writer can no longer execute (it died) completes exceptionally instead of leaving its caller waiting.
+     * Interruption does not cut the wait short; the thread's interrupt status is restored on return.
+     */
+    @Override
+    public void close() {
+        running = false;
+        boolean interrupted = false;
+        for (Partition partition : partitions) {
+            LockSupport.unpark(partition.writer);
+            while (true) {
+                try {
+                    partition.writer.join();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            partition.failLeftovers();
+        }
+        if (interrupted) Thread.currentThread().interrupt();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <R> CompletableFuture<R> submit(Partition partition, AccountCommand<R> command) {
+        submitting.increment();
+        try {
+            if (!running) throw new IllegalStateException("processor closed");
+            CompletableFuture<Object> future = new CompletableFuture<>();
+            partition.ring.publish(command, future);
+            return (CompletableFuture<R>) (CompletableFuture<?>) future;
+        } finally {
+            submitting.decrement();
+        }
+    }
+
+    // A submitter counted in submitting has either seen running == false or will publish; a writer that exits
+    // only once nobody is counted and its ring is empty therefore never strands an accepted command.
+    private boolean drained(CommandRing ring) {
+        return !running && submitting.sum() == 0 && ring.backlog() == 0;
+    }
+
+    private Partition partitionFor(long id) {
+        long index = (id - 1) >>> PARTITION_BITS;
+        if (id <= 0 || index >= partitions.length) throw new IllegalArgumentException("account not found: " + id);
+        return partitions[(int) index];
+    }
+
+    private final class Partition implements Runnable {
+        final AccountRepository repository;
+        final CommandRing ring;
+        final Thread writer;
+        final BatchScope scope;
+        final List<Account> dirty = new ArrayList<>();
+        final boolean[] failed = new boolean[maxBatch];
+
+        Partition(int index, AccountRepository repository, CommandRing ring) {
+            this.repository = repository;
+            this.scope = new BatchScope(repository);
+            this.ring = ring;
+            this.writer = new Thread(this, "account-writer-" + index);
+            writer.setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            int idle = 0;
+            while (true) {
+                int n = ring.available(maxBatch);
+                if (n > 0) {
+                    execute(n);
+                    idle = 0;
+                } else if (drained(ring)) {
+                    return;
+                } else if (++idle < 100) {
+                    Thread.onSpinWait();
+                } else if (idle < 200) {
+                    Thread.yield();
+                } else {
+                    LockSupport.parkNanos(20_000); // quiet partition: back off without a producer-side wake-up
+                }
+            }
+        }
+
+        private void execute(int n) {
+            for (int i = 0; i < n; i++) {
+                CommandRing.Slot slot = ring.slot(i);
+                failed[i] = false;
+                try {
+                    slot.command.apply(scope, dirty);
+                } catch (RuntimeException e) {
+                    failed[i] = true;
+                    slot.future.completeExceptionally(e);
+                }
+            }
+            RuntimeException saveFailure = null;
+            if (!dirty.isEmpty()) {
+                try {
+                    repository.saveAll(dirty);
+                } catch (RuntimeException e) {
+                    saveFailure = e;
+                    scope.rollback();
+                }
+                dirty.clear();
+            }
+            scope.loaded.clear();
+            for (int i = 0; i < n; i++) {
+                if (failed[i]) continue;
+                CommandRing.Slot slot = ring.slot(i);
+                if (saveFailure != null) slot.future.completeExceptionally(saveFailure);
+                else slot.future.complete(slot.command.result());
+            }
+            ring.release(n);
+        }
+
+        /** Called after the writer has stopped; does nothing unless it died before draining its ring. */
+        void failLeftovers() {
+            IllegalStateException closed = null;
+            while (!drained(ring)) {
+                int n = ring.available(maxBatch);
+                if (n == 0) {
+                    Thread.onSpinWait();
+                    continue;
+                }
+                if (closed == null) closed = new IllegalStateException("processor closed before the command was executed");
+                for (int i = 0; i < n; i++) ring.slot(i).future.completeExceptionally(closed);
+                ring.release(n);
+            }
+        }
+    }
+
+    /**
+     * The partition's repository as seen by one batch: each account is loaded at most once per batch, and its balance
+     * at load time is kept so a batch whose save failed can be undone.
+     */
+    private static final class BatchScope implements AccountRepository {
+        final AccountRepository repository;
+        final Map<Long, Loaded> loaded = new HashMap<>();
+
+        BatchScope(AccountRepository repository) {
+            this.repository = repository;
+        }
+
+        @Override
+        public Optional<Account> findById(long id) {
+            Loaded hit = loaded.get(id);
+            if (hit != null) return Optional.of(hit.account());
+            Optional<Account> found = repository.findById(id);
+            found.ifPresent(a -> loaded.put(id, new Loaded(a, a.getBalanceMinorUnits())));
+            return found;
+        }
+
+        /** Puts every account loaded by the batch back to its balance at load time; only the writer mutates them. */
+        void rollback() {
+            for (Loaded entry : loaded.values()) {
+                Account account = entry.account();
+                long applied = account.getBalanceMinorUnits() - entry.balance();
+                if (applied > 0) account.withdraw(Money.ofMinor(applied, account.getCurrency()));
+                else if (applied < 0) account.deposit(Money.ofMinor(-applied, account.getCurrency()));
+            }
+        }
+
+        @Override
+        public Account save(Account account) {
+            return repository.save(account);
+        }
+
+        @Override
+        public List<Account> saveAll(List<Account> accounts) {
+            return repository.saveAll(accounts);
+        }
+
+        @Override
+        public long count() {
+            return repository.count();
+        }
+
+        @Override
+        public void forEach(Consumer<Account> action) {
+            repository.forEach(action);
+        }
+
+        private record Loaded(Account account, long balance) {
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package org.neolcr.hexagonal.account.application.command;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Preallocated multi-producer, single-consumer ring of command slots.
+ *
+ * A producer claims a sequence number with one {@code getAndIncrement}, waits (spinning, then yielding) until the
+ * consumer has freed that slot, fills it and publishes it by storing the sequence into the slot with release
+ * semantics. The consumer takes every consecutively published slot in one go, so a backlog is drained as a batch
+ * and the consumed cursor is written once per batch, not once per command.
+ */
+final class CommandRing {
+    private static final VarHandle PUBLISHED;
+    private static final VarHandle CONSUMED;
+
+    static {
+        try {
+            PUBLISHED = MethodHandles.lookup().findVarHandle(Slot.class, "published", long.class);
+            CONSUMED = MethodHandles.lookup().findVarHandle(CommandRing.class, "consumed", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    static final class Slot {
+        private long published = -1;
+        AccountCommand<?> command;
+        CompletableFuture<Object> future;
+    }
+
+    private final Slot[] slots;
+    private final int mask;
+    private final AtomicLong claimed = new AtomicLong();
+    private volatile long consumed; // every sequence below this is free again; written by the consumer only
+    private long next;              // consumer-local: next sequence to take
+
+    CommandRing(int capacity) {
+        if (capacity <= 0 || Integer.bitCount(capacity) != 1) throw new IllegalArgumentException("capacity must be a power of two");
+        this.slots = new Slot[capacity];
+        for (int i = 0; i < capacity; i++) slots[i] = new Slot();
+        this.mask = capacity - 1;
+    }
+
+    /** Called by any thread; waits while the ring is full (backpressure). */
+    void publish(AccountCommand<?> command, CompletableFuture<Object> future) {
+        long sequence = claimed.getAndIncrement();
+        for (int spins = 0; sequence - slots.length >= (long) CONSUMED.getAcquire(this); spins++) {
+            if (spins < 64) Thread.onSpinWait();
+            else Thread.yield();
+        }
+        Slot slot = slots[(int) sequence & mask];
+        slot.command = command;
+        slot.future = future;
+        PUBLISHED.setRelease(slot, sequence);
+    }
+
+    /** Consumer only: number of consecutively published slots not yet taken, at most {@code max}. */
+    int available(int max) {
+        int n = 0;
+        while (n < max && (long) PUBLISHED.getAcquire(slots[(int) (next + n) & mask]) == next + n) n++;
+        return n;
+    }
+
+    Slot slot(int offset) {
+        return slots[(int) (next + offset) & mask];
+    }
+
+    /** Consumer only: hands the first {@code n} slots back to the producers. */
+    void release(int n) {
+        for (int i = 0; i < n; i++) {
+            Slot slot = slot(i);
+            slot.command = null;
+            slot.future = null;
+        }
+        next += n;
+        CONSUMED.setRelease(this, next);
+    }
+
+    long backlog() {
+        return claimed.get() - consumed;
+    }
+}
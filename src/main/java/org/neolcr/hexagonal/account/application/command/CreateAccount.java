@@ -0,0 +1,30 @@
+package org.neolcr.hexagonal.account.application.command;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.List;
+
+/** Creates an account; completes with its id once the batch holding it has been saved. */
+public final class CreateAccount implements AccountCommand<Long> {
+    private final String ownerName;
+    private final Money initialBalance;
+    private Account account;
+
+    public CreateAccount(String ownerName, Money initialBalance) {
+        this.ownerName = ownerName;
+        this.initialBalance = initialBalance;
+    }
+
+    @Override
+    public void apply(AccountRepository repository, List<Account> dirty) {
+        account = Account.newAccount(ownerName, initialBalance);
+        dirty.add(account);
+    }
+
+    @Override
+    public Long result() {
+        return account.getId();
+    }
+}
@@ -0,0 +1,37 @@
+package org.neolcr.hexagonal.account.application.command;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.List;
+
+/** Deposits into an existing account; completes with the balance right after this deposit. */
+public final class Deposit implements AccountCommand<Money> {
+    private final long accountId;
+    private final Money amount;
+    private Money balanceAfter;
+
+    public Deposit(long accountId, Money amount) {
+        this.accountId = accountId;
+        this.amount = amount;
+    }
+
+    public long accountId() {
+        return accountId;
+    }
+
+    @Override
+    public void apply(AccountRepository repository, List<Account> dirty) {
+        Account account = repository.findById(accountId).orElseThrow(() -> new IllegalArgumentException("account not found: " + accountId));
+        account.deposit(amount);
+        balanceAfter = account.getBalance();
+        // consecutive deposits into one hot account are saved once per batch
+        if (dirty.isEmpty() || dirty.get(dirty.size() - 1) != account) dirty.add(account);
+    }
+
+    @Override
+    public Money result() {
+        return balanceAfter;
+    }
+}
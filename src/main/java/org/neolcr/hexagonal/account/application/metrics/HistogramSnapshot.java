@@ -0,0 +1,64 @@
+package org.neolcr.hexagonal.account.application.metrics;
+
+import java.util.Locale;
+
+/**
+ * Point-in-time copy of a {@link LatencyHistogram}. {@code calls} and {@code errors} count every call, the bucket
+ * {@code counts} and {@code totalNanos} only the timed (sampled) ones. Everything is cumulative since the histogram
+ * was created; {@link #since(HistogramSnapshot)} turns two snapshots into the exact histogram of the interval
+ * between them.
+ */
+public record HistogramSnapshot(String name, long takenAtNanos, long intervalNanos, long[] counts, long calls, long errors, long totalNanos) {
+
+    public long sampleCount() {
+        long count = 0;
+        for (long c : counts) count += c;
+        return count;
+    }
+
+    public double throughputPerSecond() {
+        return intervalNanos <= 0 ? 0 : calls * 1e9 / intervalNanos;
+    }
+
+    public double meanNanos() {
+        long samples = sampleCount();
+        return samples == 0 ? 0 : (double) totalNanos / samples;
+    }
+
+    /** Upper bound of the bucket holding the given percentile (0-100), i.e. never under-reports. */
+    public long percentile(double percentile) {
+        long count = sampleCount();
+        if (count == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank) return LatencyHistogram.highestValue(i);
+        }
+        return LatencyHistogram.highestValue(counts.length - 1);
+    }
+
+    public long max() {
+        for (int i = counts.length - 1; i >= 0; i--) if (counts[i] != 0) return LatencyHistogram.highestValue(i);
+        return 0;
+    }
+
+    /** What was recorded after {@code previous} (an earlier snapshot of the same histogram) up to this one. */
+    public HistogramSnapshot since(HistogramSnapshot previous) {
+        long[] delta = new long[counts.length];
+        for (int i = 0; i < counts.length; i++) delta[i] = counts[i] - previous.counts[i];
+        return new HistogramSnapshot(name, takenAtNanos, takenAtNanos - previous.takenAtNanos, delta,
+                calls - previous.calls, errors - previous.errors, totalNanos - previous.totalNanos);
+    }
+
+    public String toText() {
+        return String.format(Locale.ROOT, "%s calls=%d errors=%d rate=%.1f/s mean=%.0fns p50=%dns p90=%dns p99=%dns p999=%dns max=%dns",
+                name, calls, errors, throughputPerSecond(), meanNanos(), percentile(50), percentile(90), percentile(99), percentile(99.9), max());
+    }
+
+    public String toJson() {
+        return String.format(Locale.ROOT, "{\"name\":\"%s\",\"calls\":%d,\"samples\":%d,\"errors\":%d,\"ratePerSecond\":%.1f,\"meanNanos\":%.0f,"
+                        + "\"p50Nanos\":%d,\"p90Nanos\":%d,\"p99Nanos\":%d,\"p999Nanos\":%d,\"maxNanos\":%d}",
+                name, calls, sampleCount(), errors, throughputPerSecond(), meanNanos(), percentile(50), percentile(90), percentile(99), percentile(99.9), max());
+    }
+}
@@ -0,0 +1,75 @@
+package org.neolcr.hexagonal.account.application.metrics;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Records the latency of {@code save}, {@code saveAll} and {@code findById} into {@code repository.*} histograms.
+ * {@code count} and {@code forEach} are administrative scans and pass straight through.
+ */
+public class InstrumentedAccountRepository implements AccountRepository {
+    private final AccountRepository delegate;
+    private final LatencyHistogram save;
+    private final LatencyHistogram saveAll;
+    private final LatencyHistogram findById;
+
+    public InstrumentedAccountRepository(AccountRepository delegate, LatencyMetrics metrics) {
+        this.delegate = delegate;
+        this.save = metrics.histogram("repository.save");
+        this.saveAll = metrics.histogram("repository.saveAll");
+        this.findById = metrics.histogram("repository.findById");
+    }
+
+    @Override
+    public Account save(Account account) {
+        long start = save.start();
+        try {
+            Account saved = delegate.save(account);
+            save.stop(start);
+            return saved;
+        } catch (RuntimeException e) {
+            save.stopWithError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Account> saveAll(List<Account> accounts) {
+        long start = saveAll.start();
+        try {
+            List<Account> saved = delegate.saveAll(accounts);
+            saveAll.stop(start);
+            return saved;
+        } catch (RuntimeException e) {
+            saveAll.stopWithError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public Optional<Account> findById(long id) {
+        long start = findById.start();
+        try {
+            Optional<Account> found = delegate.findById(id);
+            findById.stop(start);
+            return found;
+        } catch (RuntimeException e) {
+            findById.stopWithError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public long count() {
+        return delegate.count();
+    }
+
+    @Override
+    public void forEach(Consumer<Account> action) {
+        delegate.forEach(action);
+    }
+}
@@ -0,0 +1,46 @@
+package org.neolcr.hexagonal.account.application.metrics;
+
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountCommand;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/** Records the latency of every call into {@code usecase.createAccount} / {@code usecase.createAccounts}. */
+public class InstrumentedCreateAccountUseCase implements CreateAccountUseCase {
+    private final CreateAccountUseCase delegate;
+    private final LatencyHistogram createAccount;
+    private final LatencyHistogram createAccounts;
+
+    public InstrumentedCreateAccountUseCase(CreateAccountUseCase delegate, LatencyMetrics metrics) {
+        this.delegate = delegate;
+        this.createAccount = metrics.histogram("usecase.createAccount");
+        this.createAccounts = metrics.histogram("usecase.createAccounts");
+    }
+
+    @Override
+    public Long createAccount(String ownerName, BigDecimal initialBalance) {
+        long start = createAccount.start();
+        try {
+            Long id = delegate.createAccount(ownerName, initialBalance);
+            createAccount.stop(start);
+            return id;
+        } catch (RuntimeException e) {
+            createAccount.stopWithError(start);
+            throw e;
+        }
+    }
+
+    @Override
+    public List<Long> createAccounts(List<CreateAccountCommand> commands) {
+        long start = createAccounts.start();
+        try {
+            List<Long> ids = delegate.createAccounts(commands);
+            createAccounts.stop(start);
+            return ids;
+        } catch (RuntimeException e) {
+            createAccounts.stopWithError(start);
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.neolcr.hexagonal.account.application.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, allocation-free latency histogram with HDR-style log-linear buckets: values below 128ns get a bucket
+ * each, every higher power of two is split into 64 buckets, so any recorded value is off by less than 1.6%.
+ * Values are clamped at {@link #MAX_VALUE} (~68s).
+ *
+ * Every call is counted, but only one in {@code sampleEvery} calls per stripe is timed: the two
+ * {@code System.nanoTime()} reads cost more than the bucket update and, because they order the surrounding
+ * loads, also hide the memory-level parallelism of the measured call. Percentiles come from the timed calls,
+ * call and error counts are exact. {@code sampleEvery = 1} times every call.
+ *
+ * Counts are striped by thread id over several {@link AtomicLongArray}s so threads on different cores rarely
+ * increment the same cache line; {@link #snapshot()} sums the stripes.
+ */
+public final class LatencyHistogram {
+    static final int SUB_BUCKET_BITS = 7;
+    static final int HALF = 1 << (SUB_BUCKET_BITS - 1);
+    public static final long MAX_VALUE = (1L << 36) - 1;
+    static final int BUCKETS = bucketIndex(MAX_VALUE) + 1;
+    private static final int CALLS = BUCKETS;
+    private static final int ERRORS = BUCKETS + 1;
+    private static final int TOTAL = BUCKETS + 2;
+    private static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private final String name;
+    private final long createdAt = System.nanoTime();
+    private final AtomicLongArray[] stripes;
+    private final int stripeMask;
+    private final long sampleMask;
+
+    public LatencyHistogram(String name) {
+        this(name, Runtime.getRuntime().availableProcessors(), 1);
+    }
+
+    public LatencyHistogram(String name, int concurrency, int sampleEvery) {
+        if (sampleEvery <= 0 || Integer.bitCount(sampleEvery) != 1) throw new IllegalArgumentException("sampleEvery must be a power of two");
+        int stripeCount = Integer.highestOneBit(Math.max(1, Math.min(64, concurrency) - 1) << 1);
+        this.name = name;
+        this.stripes = new AtomicLongArray[stripeCount];
+        for (int i = 0; i < stripeCount; i++) stripes[i] = new AtomicLongArray(BUCKETS + 3);
+        this.stripeMask = stripeCount - 1;
+        this.sampleMask = sampleEvery - 1;
+    }
+
+    public String name() {
+        return name;
+    }
+
+    /** Counts a call and returns the token to pass to {@link #stop}: a start time if this call is sampled. */
+    public long start() {
+        long calls = stripe().getAndIncrement(CALLS);
+        return (calls & sampleMask) == 0 ? System.nanoTime() : NOT_SAMPLED;
+    }
+
+    public void stop(long start) {
+        if (start != NOT_SAMPLED) sample(stripe(), System.nanoTime() - start);
+    }
+
+    public void stopWithError(long start) {
+        stripe().getAndIncrement(ERRORS);
+        stop(start);
+    }
+
+    /** Counts one call that took {@code nanos}, measured by the caller; always sampled. */
+    public void record(long nanos) {
+        AtomicLongArray stripe = stripe();
+        stripe.getAndIncrement(CALLS);
+        sample(stripe, nanos);
+    }
+
+    /** Weakly consistent: concurrent calls may or may not be included. */
+    public HistogramSnapshot snapshot() {
+        long[] counts = new long[BUCKETS];
+        long calls = 0;
+        long errors = 0;
+        long total = 0;
+        for (AtomicLongArray stripe : stripes) {
+            for (int i = 0; i < BUCKETS; i++) counts[i] += stripe.get(i);
+            calls += stripe.get(CALLS);
+            errors += stripe.get(ERRORS);
+            total += stripe.get(TOTAL);
+        }
+        long now = System.nanoTime();
+        return new HistogramSnapshot(name, now, now - createdAt, counts, calls, errors, total);
+    }
+
+    private AtomicLongArray stripe() {
+        return stripes[(int) Thread.currentThread().threadId() & stripeMask];
+    }
+
+    private static void sample(AtomicLongArray stripe, long nanos) {
+        long value = Math.max(0, Math.min(nanos, MAX_VALUE));
+        stripe.getAndIncrement(bucketIndex(value));
+        stripe.getAndAdd(TOTAL, value);
+    }
+
+    static int bucketIndex(long value) {
+        if (value < 2 * HALF) return (int) value;
+        int shift = 63 - Long.numberOfLeadingZeros(value) - (SUB_BUCKET_BITS - 1);
+        return (shift << (SUB_BUCKET_BITS - 1)) + (int) (value >>> shift);
+    }
+
+    /** Largest value that falls into {@code index}. */
+    static long highestValue(int index) {
+        if (index < 2 * HALF) return index;
+        int shift = (index >>> (SUB_BUCKET_BITS - 1)) - 1;
+        long subBucket = index - ((long) shift << (SUB_BUCKET_BITS - 1));
+        return ((subBucket + 1) << shift) - 1;
+    }
+}
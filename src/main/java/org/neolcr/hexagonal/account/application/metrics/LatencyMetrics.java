@@ -0,0 +1,36 @@
+package org.neolcr.hexagonal.account.application.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named {@link LatencyHistogram}s shared by the instrumented decorators. Histograms are looked up once, when a
+ * decorator is built, never per call. Operators poll {@link #snapshot()} and diff it against the previous one.
+ *
+ * By default one call in 8 is timed (see {@link LatencyHistogram}); use {@code new LatencyMetrics(1)} to time all.
+ */
+public class LatencyMetrics {
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private final int sampleEvery;
+
+    public LatencyMetrics() {
+        this(8);
+    }
+
+    public LatencyMetrics(int sampleEvery) {
+        this.sampleEvery = sampleEvery;
+    }
+
+    public LatencyHistogram histogram(String name) {
+        return histograms.computeIfAbsent(name, n -> new LatencyHistogram(n, Runtime.getRuntime().availableProcessors(), sampleEvery));
+    }
+
+    public MetricsSnapshot snapshot() {
+        List<HistogramSnapshot> snapshots = new ArrayList<>(histograms.size());
+        for (LatencyHistogram histogram : histograms.values()) snapshots.add(histogram.snapshot());
+        snapshots.sort((a, b) -> a.name().compareTo(b.name()));
+        return new MetricsSnapshot(snapshots);
+    }
+}
@@ -0,0 +1,39 @@
+package org.neolcr.hexagonal.account.application.metrics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/** All histograms of a {@link LatencyMetrics} at one point in time, in name order. */
+public record MetricsSnapshot(List<HistogramSnapshot> histograms) {
+
+    /** Per-histogram interval view; histograms absent from {@code previous} are reported cumulatively. */
+    public MetricsSnapshot since(MetricsSnapshot previous) {
+        List<HistogramSnapshot> interval = new ArrayList<>(histograms.size());
+        for (HistogramSnapshot current : histograms) {
+            HistogramSnapshot before = previous.find(current.name());
+            interval.add(before == null ? current : current.since(before));
+        }
+        return new MetricsSnapshot(interval);
+    }
+
+    public HistogramSnapshot find(String name) {
+        for (HistogramSnapshot h : histograms) if (h.name().equals(name)) return h;
+        return null;
+    }
+
+    /** One line per histogram, suitable for a periodic log line. */
+    public String toText() {
+        StringBuilder sb = new StringBuilder();
+        for (HistogramSnapshot h : histograms) sb.append(h.toText()).append('\n');
+        return sb.toString();
+    }
+
+    public String toJson() {
+        StringBuilder sb = new StringBuilder("{\"histograms\":[");
+        for (int i = 0; i < histograms.size(); i++) {
+            if (i > 0) sb.append(',');
+            sb.append(histograms.get(i).toJson());
+        }
+        return sb.append("]}").toString();
+    }
+}
@@ -1,24 +1,52 @@
 package org.neolcr.hexagonal.account.application.service;
 
 import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountCommand;
 import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
 import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
 
 import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Currency;
+import java.util.List;
 
 public class CreateAccountService implements CreateAccountUseCase {
 
     private final AccountRepository repository;
+    private final Currency currency;
 
     public CreateAccountService(AccountRepository repository) {
+        this(repository, Money.DEFAULT_CURRENCY);
+    }
+
+    public CreateAccountService(AccountRepository repository, Currency currency) {
         this.repository = repository;
+        this.currency = currency;
     }
 
     @Override
     public Long createAccount(String ownerName, BigDecimal initialBalance) {
-        Account account = Account.newAccount(ownerName, initialBalance);
+        Account account = Account.newAccount(ownerName, toMoney(initialBalance));
         Account persisted = repository.save(account);
         return persisted.getId();
     }
+
+    @Override
+    public List<Long> createAccounts(List<CreateAccountCommand> commands) {
+        List<Account> accounts = new ArrayList<>(commands.size());
+        for (CreateAccountCommand command : commands) {
+            accounts.add(Account.newAccount(command.ownerName(), toMoney(command.initialBalance())));
+        }
+        List<Account> persisted = repository.saveAll(accounts);
+        List<Long> ids = new ArrayList<>(persisted.size());
+        for (Account account : persisted) ids.add(account.getId());
+        return ids;
+    }
+
+    // BigDecimal stays at the port; the domain works in fixed-point minor units
+    private Money toMoney(BigDecimal amount) {
+        return amount == null ? Money.zero(currency) : Money.of(amount, currency);
+    }
 }
 
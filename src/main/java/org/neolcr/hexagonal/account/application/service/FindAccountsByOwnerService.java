@@ -0,0 +1,29 @@
+package org.neolcr.hexagonal.account.application.service;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.port.in.FindAccountsByOwnerUseCase;
+import org.neolcr.hexagonal.account.domain.port.out.AccountQueryRepository;
+
+import java.util.List;
+
+public class FindAccountsByOwnerService implements FindAccountsByOwnerUseCase {
+
+    private final AccountQueryRepository repository;
+
+    public FindAccountsByOwnerService(AccountQueryRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public List<Account> findByOwnerName(String ownerName) {
+        if (ownerName == null || ownerName.isBlank()) throw new IllegalArgumentException("ownerName blank");
+        return repository.findByOwnerName(ownerName);
+    }
+
+    @Override
+    public List<Account> findByOwnerNamePrefix(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty()) throw new IllegalArgumentException("prefix empty");
+        if (limit <= 0) throw new IllegalArgumentException("limit <= 0");
+        return repository.findByOwnerNamePrefix(prefix, limit);
+    }
+}
@@ -0,0 +1,115 @@
+package org.neolcr.hexagonal.account.application.service;
+
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Remembers the outcome of keyed operations for {@code ttlNanos}, holding at most about {@code maximumSize}
+ * completed keys plus the operations still running.
+ *
+ * The first caller of a key installs a future with {@code putIfAbsent} and runs the operation; concurrent callers
+ * with the same key find that future and wait on it, so the operation runs once. A failed operation is forgotten
+ * so the client can retry. Every entry has the same time-to-live, so insertion order is expiry order: a FIFO queue
+ * next to the map lets the inserting thread drop expired and surplus entries from the front without a global lock,
+ * stepping over operations still in flight.
+ */
+final class IdempotencyCache<V> {
+    private final ConcurrentHashMap<String, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<Entry<V>> insertionOrder = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final int maximumSize;
+    private final long ttlNanos;
+
+    IdempotencyCache(int maximumSize, long ttlNanos) {
+        if (maximumSize <= 0) throw new IllegalArgumentException("maximumSize <= 0");
+        if (ttlNanos <= 0) throw new IllegalArgumentException("ttl <= 0");
+        this.maximumSize = maximumSize;
+        this.ttlNanos = ttlNanos;
+    }
+
+    /**
+     * Returns the result for {@code key}, running {@code operation} only if no live entry exists.
+     * {@code fingerprint} identifies the request; a live entry with a different fingerprint is a conflict.
+     */
+    V computeOnce(String key, Object fingerprint, Supplier<V> operation) {
+        long now = System.nanoTime();
+        while (true) {
+            Entry<V> existing = entries.get(key);
+            if (existing != null && (!existing.future.isDone() || now - existing.createdAt < ttlNanos)) {
+                if (!existing.fingerprint.equals(fingerprint)) throw new IllegalArgumentException("idempotency key reused for a different request");
+                return await(existing.future);
+            }
+            Entry<V> mine = new Entry<>(key, fingerprint, now);
+            boolean installed = existing == null ? entries.putIfAbsent(key, mine) == null : entries.replace(key, existing, mine);
+            if (!installed) continue; // lost the race: wait on the winner's entry
+            if (existing != null) size.decrementAndGet();
+            size.incrementAndGet();
+            insertionOrder.add(mine);
+            evict(now);
+            try {
+                V value = operation.get();
+                mine.future.complete(value);
+                return value;
+            } catch (RuntimeException | Error e) {
+                if (entries.remove(key, mine)) size.decrementAndGet();
+                insertionOrder.remove(mine);
+                mine.future.completeExceptionally(e);
+                throw e;
+            }
+        }
+    }
+
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) throw cause;
+            if (e.getCause() instanceof Error cause) throw cause;
+            throw e;
+        }
+    }
+
+    int size() {
+        return size.get();
+    }
+
+    /**
+     * Walks the queue oldest first: unlinks entries that left the map (replaced after expiring, or failed) and
+     * evicts completed entries that are expired or surplus. In-flight entries are stepped over, never evicted. The
+     * walk stops at the first entry that is neither expired nor surplus; everything behind it is younger.
+     */
+    private void evict(long now) {
+        for (Iterator<Entry<V>> it = insertionOrder.iterator(); it.hasNext(); ) {
+            Entry<V> entry = it.next();
+            if (entries.get(entry.key) != entry) {
+                it.remove();
+            } else if (size.get() > maximumSize || now - entry.createdAt >= ttlNanos) {
+                if (entry.future.isDone() && entries.remove(entry.key, entry)) {
+                    size.decrementAndGet();
+                    it.remove();
+                }
+            } else {
+                return;
+            }
+        }
+    }
+
+    private static final class Entry<V> {
+        final String key;
+        final Object fingerprint;
+        final long createdAt;
+        final CompletableFuture<V> future = new CompletableFuture<>();
+
+        Entry(String key, Object fingerprint, long createdAt) {
+            this.key = key;
+            this.fingerprint = Objects.requireNonNull(fingerprint);
+            this.createdAt = createdAt;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package org.neolcr.hexagonal.account.application.service;
+
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountCommand;
+import org.neolcr.hexagonal.account.domain.port.in.CreateAccountUseCase;
+import org.neolcr.hexagonal.account.domain.port.in.IdempotentCreateAccountUseCase;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Adds idempotency keys in front of any {@link CreateAccountUseCase}. Calls without a key go straight to the
+ * delegate; keyed calls go through an {@link IdempotencyCache}, a concurrent map without a global lock, so a
+ * retried or duplicated request returns the first id instead of opening a second account.
+ */
+public class IdempotentCreateAccountService implements IdempotentCreateAccountUseCase {
+    public static final int DEFAULT_MAXIMUM_KEYS = 100_000;
+    public static final Duration DEFAULT_TTL = Duration.ofHours(24);
+
+    private final CreateAccountUseCase delegate;
+    private final IdempotencyCache<Long> cache;
+
+    public IdempotentCreateAccountService(CreateAccountUseCase delegate) {
+        this(delegate, DEFAULT_MAXIMUM_KEYS, DEFAULT_TTL);
+    }
+
+    public IdempotentCreateAccountService(CreateAccountUseCase delegate, int maximumKeys, Duration ttl) {
+        this.delegate = delegate;
+        this.cache = new IdempotencyCache<>(maximumKeys, ttl.toNanos());
+    }
+
+    @Override
+    public Long createAccount(String idempotencyKey, String ownerName, BigDecimal initialBalance) {
+        if (idempotencyKey == null || idempotencyKey.isBlank()) throw new IllegalArgumentException("idempotencyKey blank");
+        return cache.computeOnce(idempotencyKey, new Fingerprint(ownerName, initialBalance),
+                () -> delegate.createAccount(ownerName, initialBalance));
+    }
+
+    @Override
+    public Long createAccount(String ownerName, BigDecimal initialBalance) {
+        return delegate.createAccount(ownerName, initialBalance);
+    }
+
+    @Override
+    public List<Long> createAccounts(List<CreateAccountCommand> commands) {
+        return delegate.createAccounts(commands);
+    }
+
+    /** Number of keys currently remembered. */
+    public int keyCount() {
+        return cache.size();
+    }
+
+    // 10.0 and 10.00 are the same request
+    private record Fingerprint(String ownerName, BigDecimal initialBalance) {
+        Fingerprint {
+            if (initialBalance != null) initialBalance = initialBalance.stripTrailingZeros();
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package org.neolcr.hexagonal.account.application.service;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+import org.neolcr.hexagonal.account.domain.port.in.TransferMoneyUseCase;
+import org.neolcr.hexagonal.account.domain.port.out.AccountRepository;
+
+import java.math.BigDecimal;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Transfers run under the lock stripes of both account ids, so two transfers touching the same account never
+ * interleave (deposits from elsewhere stay lock-free and commute with them). To stay deadlock-free the stripes
+ * are always taken in ascending stripe order; before that, an uncontended transfer just {@code tryLock}s both
+ * stripes and never parks. Both accounts are loaded once the stripes are held and saved in one {@code saveAll}
+ * before they are released.
+ *
+ * Works with both kinds of AccountRepository. With a copying adapter the accounts are private copies until the
+ * save, and a save that loses to a concurrent writer outside this service (ConcurrentModificationException) is
+ * reloaded and retried. With an identity-map adapter the accounts are the live instances: readers that do not take
+ * the stripes may see the debit before the credit (use MvccAccountRepository snapshots for consistent reads), and a
+ * failed save is compensated on the live instances. The compensation takes the amount back from the target first;
+ * if a third party has already spent it there, the transfer is left in place rather than creating money, and the
+ * failure is attached to the save's exception.
+ */
+public class TransferMoneyService implements TransferMoneyUseCase {
+    private static final int MAX_ATTEMPTS = 16;
+
+    private final AccountRepository repository;
+    private final ReentrantLock[] stripes;
+
+    public TransferMoneyService(AccountRepository repository) {
+        this(repository, 4096);
+    }
+
+    public TransferMoneyService(AccountRepository repository, int stripeCount) {
+        if (stripeCount <= 0 || Integer.bitCount(stripeCount) != 1) throw new IllegalArgumentException("stripeCount must be a power of two");
+        this.repository = repository;
+        this.stripes = new ReentrantLock[stripeCount];
+        for (int i = 0; i < stripeCount; i++) stripes[i] = new ReentrantLock();
+    }
+
+    @Override
+    public void transfer(long fromAccountId, long toAccountId, BigDecimal amount) {
+        if (fromAccountId == toAccountId) throw new IllegalArgumentException("same account");
+        int a = stripeIndex(fromAccountId);
+        int b = stripeIndex(toAccountId);
+        ReentrantLock first = stripes[Math.min(a, b)];
+        ReentrantLock second = stripes[Math.max(a, b)];
+        lockBoth(first, second);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transferLocked(fromAccountId, toAccountId, amount);
+                    return;
+                } catch (ConcurrentModificationException e) {
+                    if (attempt == MAX_ATTEMPTS) throw e;
+                }
+            }
+        } finally {
+            if (second != first) second.unlock();
+            first.unlock();
+        }
+    }
+
+    private void transferLocked(long fromAccountId, long toAccountId, BigDecimal amount) {
+        Account from = find(fromAccountId);
+        Account to = find(toAccountId);
+        if (from.getCurrency() != to.getCurrency()) throw new IllegalArgumentException("currency mismatch");
+        Money money = Money.of(amount, from.getCurrency());
+        if (!money.isPositive()) throw new IllegalArgumentException("amount <= 0");
+
+        from.withdraw(money);
+        try {
+            to.deposit(money);
+        } catch (RuntimeException e) {
+            from.deposit(money); // e.g. overflow on the target: undo the withdrawal
+            throw e;
+        }
+        try {
+            repository.saveAll(List.of(from, to));
+        } catch (RuntimeException e) {
+            try {
+                to.withdraw(money);
+            } catch (RuntimeException undo) {
+                e.addSuppressed(undo); // the credit is already spent: keep the transfer, never create money
+                throw e;
+            }
+            from.deposit(money);
+            throw e;
+        }
+    }
+
+    private Account find(long id) {
+        return repository.findById(id).orElseThrow(() -> new IllegalArgumentException("account not found: " + id));
+    }
+
+    private static void lockBoth(ReentrantLock first, ReentrantLock second) {
+        if (first.tryLock()) {
+            if (second == first || second.tryLock()) return;
+            first.unlock();
+        }
+        first.lock();
+        if (second != first) second.lock();
+    }
+
+    private int stripeIndex(long id) {
+        long h = id * 0x9E3779B97F4A7C15L;
+        return (int) (h >>> 40) & (stripes.length - 1);
+    }
+}
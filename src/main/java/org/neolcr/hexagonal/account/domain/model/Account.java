@@ -1,34 +1,106 @@
 package org.neolcr.hexagonal.account.domain.model;
 
-import java.math.BigDecimal;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Currency;
 import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
 
 public class Account {
+    private static final VarHandle BALANCE;
+
+    static {
+        try {
+            BALANCE = MethodHandles.lookup().findVarHandle(Account.class, "balance", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
     private Long id; // assigned by repository (identity)
     private final String ownerName;
-    private BigDecimal balance;
+    private final Currency currency;
+    private volatile long balance; // minor units; STANDARD mode, updated by compare-and-set
+    private final LongAdder hotBalance; // minor units; HOT mode only, otherwise null
+    private volatile long version; // stored version this instance was read at or saved as; 0 = not tracked (see AccountRepository)
 
-    public Account(Long id, String ownerName, BigDecimal balance) {
+    public Account(Long id, String ownerName, Money balance) {
+        this(id, ownerName, balance, BalanceMode.STANDARD);
+    }
+
+    public Account(Long id, String ownerName, Money balance, BalanceMode balanceMode) {
         if (ownerName == null || ownerName.isBlank()) throw new IllegalArgumentException("ownerName blank");
-        if (balance == null || balance.compareTo(BigDecimal.ZERO) < 0) throw new IllegalArgumentException("balance negative");
+        if (balance == null || balance.isNegative()) throw new IllegalArgumentException("balance negative");
+        if (balanceMode == null) throw new IllegalArgumentException("balanceMode null");
         this.id = id; // may be null before persistence
         this.ownerName = ownerName;
-        this.balance = balance;
+        this.currency = balance.currency();
+        if (balanceMode == BalanceMode.HOT) {
+            this.hotBalance = new LongAdder();
+            this.hotBalance.add(balance.minorUnits());
+        } else {
+            this.hotBalance = null;
+            this.balance = balance.minorUnits();
+        }
+    }
+
+    public static Account newAccount(String ownerName, Money initialBalance) {
+        return newAccount(ownerName, initialBalance, BalanceMode.STANDARD);
     }
 
-    public static Account newAccount(String ownerName, BigDecimal initialBalance) {
-        return new Account(null, ownerName, initialBalance == null ? BigDecimal.ZERO : initialBalance);
+    public static Account newAccount(String ownerName, Money initialBalance, BalanceMode balanceMode) {
+        return new Account(null, ownerName, initialBalance == null ? Money.zero(Money.DEFAULT_CURRENCY) : initialBalance, balanceMode);
     }
 
     public Long getId() { return id; }
     public String getOwnerName() { return ownerName; }
-    public BigDecimal getBalance() { return balance; }
+    public Currency getCurrency() { return currency; }
+    public Money getBalance() { return Money.ofMinor(getBalanceMinorUnits(), currency); }
+    public long getBalanceMinorUnits() { return hotBalance == null ? balance : hotBalance.sum(); }
+    public BalanceMode getBalanceMode() { return hotBalance == null ? BalanceMode.STANDARD : BalanceMode.HOT; }
 
-    public void deposit(BigDecimal amount) {
-        if (amount == null || amount.compareTo(BigDecimal.ZERO) <= 0) throw new IllegalArgumentException("amount <= 0");
-        balance = balance.add(amount);
+    public void deposit(Money amount) {
+        if (amount == null || !amount.isPositive()) throw new IllegalArgumentException("amount <= 0");
+        if (amount.currency() != currency) throw new IllegalArgumentException("currency mismatch");
+        depositMinorUnits(amount.minorUnits());
     }
 
+    /** Throws IllegalStateException and leaves the balance unchanged if it does not cover {@code amount}. */
+    public void withdraw(Money amount) {
+        if (amount == null || !amount.isPositive()) throw new IllegalArgumentException("amount <= 0");
+        if (amount.currency() != currency) throw new IllegalArgumentException("currency mismatch");
+        long units = amount.minorUnits();
+        if (hotBalance != null) {
+            // withdrawals serialize among themselves; concurrent deposits only raise the sum, so the check holds
+            synchronized (hotBalance) {
+                if (hotBalance.sum() < units) throw new IllegalStateException("insufficient funds");
+                hotBalance.add(-units);
+            }
+            return;
+        }
+        long current;
+        do {
+            current = balance;
+            if (current < units) throw new IllegalStateException("insufficient funds");
+        } while (!BALANCE.compareAndSet(this, current, current - units));
+    }
+
+    private void depositMinorUnits(long amount) {
+        if (hotBalance != null) {
+            hotBalance.add(amount); // striped cells cannot check overflow per add; a long of cents is ample
+            return;
+        }
+        long current;
+        do {
+            current = balance;
+        } while (!BALANCE.compareAndSet(this, current, Math.addExact(current, amount)));
+    }
+
+    /** Stamped by repositories that hand out copies; they reject saving a copy whose version is no longer current. */
+    public long getVersion() { return version; }
+
+    public void setVersion(long version) { this.version = version; }
+
     public void setIdIfNull(Long id) {
         if (this.id == null) this.id = id; // only first assignment
     }
@@ -44,4 +116,3 @@ public class Account {
     @Override
     public int hashCode() { return Objects.hash(id); }
 }
-
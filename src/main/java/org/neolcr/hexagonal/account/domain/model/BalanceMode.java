@@ -0,0 +1,9 @@
+package org.neolcr.hexagonal.account.domain.model;
+
+/** How an account's balance copes with concurrent updates. */
+public enum BalanceMode {
+    /** Single compare-and-set cell: cheapest to read, fine unless many threads update the same account. */
+    STANDARD,
+    /** Updates spread over striped cells and summed on read, for accounts everybody writes to (treasury, fees). */
+    HOT
+}
@@ -0,0 +1,67 @@
+package org.neolcr.hexagonal.account.domain.model;
+
+import java.math.BigDecimal;
+import java.util.Currency;
+
+/**
+ * Immutable fixed-point amount: a {@code long} count of the currency's minor units (cents for EUR).
+ * Arithmetic is overflow-checked and never allocates beyond the result. {@link #of(BigDecimal, Currency)} and
+ * {@link #toBigDecimal()} are the bridge for ports that speak {@code BigDecimal}.
+ */
+public record Money(long minorUnits, Currency currency) {
+    public static final Currency DEFAULT_CURRENCY = Currency.getInstance("EUR");
+
+    public Money {
+        if (currency == null) throw new IllegalArgumentException("currency null");
+        if (currency.getDefaultFractionDigits() < 0) throw new IllegalArgumentException("currency has no minor unit: " + currency);
+    }
+
+    public static Money zero(Currency currency) {
+        return new Money(0, currency);
+    }
+
+    public static Money ofMinor(long minorUnits, Currency currency) {
+        return new Money(minorUnits, currency);
+    }
+
+    /** Exact conversion; rejects amounts with more decimals than the currency has or beyond the long range. */
+    public static Money of(BigDecimal amount, Currency currency) {
+        if (amount == null) throw new IllegalArgumentException("amount null");
+        try {
+            return new Money(amount.movePointRight(currency.getDefaultFractionDigits()).longValueExact(), currency);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException("amount not representable in " + currency + ": " + amount, e);
+        }
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, currency.getDefaultFractionDigits());
+    }
+
+    public Money plus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public Money minus(Money other) {
+        requireSameCurrency(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), currency);
+    }
+
+    public boolean isPositive() {
+        return minorUnits > 0;
+    }
+
+    public boolean isNegative() {
+        return minorUnits < 0;
+    }
+
+    public void requireSameCurrency(Money other) {
+        if (other.currency != currency) throw new IllegalArgumentException("currency mismatch: " + currency + " vs " + other.currency);
+    }
+
+    @Override
+    public String toString() {
+        return toBigDecimal().toPlainString() + " " + currency.getCurrencyCode();
+    }
+}
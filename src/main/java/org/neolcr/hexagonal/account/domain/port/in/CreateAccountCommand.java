@@ -0,0 +1,6 @@
+package org.neolcr.hexagonal.account.domain.port.in;
+
+import java.math.BigDecimal;
+
+public record CreateAccountCommand(String ownerName, BigDecimal initialBalance) {
+}
@@ -1,8 +1,11 @@
 package org.neolcr.hexagonal.account.domain.port.in;
 
 import java.math.BigDecimal;
+import java.util.List;
 
 public interface CreateAccountUseCase {
     Long createAccount(String ownerName, BigDecimal initialBalance);
-}
 
+    /** Creates all accounts or none: the whole batch is validated before anything is persisted. */
+    List<Long> createAccounts(List<CreateAccountCommand> commands);
+}
@@ -0,0 +1,12 @@
+package org.neolcr.hexagonal.account.domain.port.in;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+
+import java.util.List;
+
+public interface FindAccountsByOwnerUseCase {
+    List<Account> findByOwnerName(String ownerName);
+
+    /** Accounts whose owner name starts with {@code prefix}, in owner-name order, at most {@code limit}. */
+    List<Account> findByOwnerNamePrefix(String prefix, int limit);
+}
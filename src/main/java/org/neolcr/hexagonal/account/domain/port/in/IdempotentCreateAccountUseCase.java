@@ -0,0 +1,12 @@
+package org.neolcr.hexagonal.account.domain.port.in;
+
+import java.math.BigDecimal;
+
+public interface IdempotentCreateAccountUseCase extends CreateAccountUseCase {
+    /**
+     * Creates the account once per {@code idempotencyKey}: a retry with the same key and the same request returns
+     * the id of the first creation (waiting for it if it is still running) instead of creating a duplicate.
+     * Reusing a key for a different request throws IllegalArgumentException.
+     */
+    Long createAccount(String idempotencyKey, String ownerName, BigDecimal initialBalance);
+}
@@ -0,0 +1,12 @@
+package org.neolcr.hexagonal.account.domain.port.in;
+
+import java.math.BigDecimal;
+
+public interface TransferMoneyUseCase {
+    /**
+     * Moves {@code amount} (in the accounts' currency) from one account to another: both balances change or
+     * neither does. Throws IllegalArgumentException for unknown accounts or invalid amounts and
+     * IllegalStateException if the source balance does not cover the amount.
+     */
+    void transfer(long fromAccountId, long toAccountId, BigDecimal amount);
+}
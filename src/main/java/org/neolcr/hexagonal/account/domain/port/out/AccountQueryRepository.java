@@ -0,0 +1,12 @@
+package org.neolcr.hexagonal.account.domain.port.out;
+
+import org.neolcr.hexagonal.account.domain.model.Account;
+
+import java.util.List;
+
+public interface AccountQueryRepository {
+    List<Account> findByOwnerName(String ownerName);
+
+    /** At most {@code limit} accounts, none for a limit of 0; a negative limit is an IllegalArgumentException. */
+    List<Account> findByOwnerNamePrefix(String prefix, int limit);
+}
@@ -2,7 +2,31 @@ package org.neolcr.hexagonal.account.domain.port.out;
 
 import org.neolcr.hexagonal.account.domain.model.Account;
 
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * Outbound port for account storage. Adapters come in two kinds, and read-modify-write callers must work with both:
+ * - Identity-map adapters (InMemory, OpenAddressing, Sharded, Wal and the decorators over them) keep the saved
+ *   instance itself and {@code findById} returns that live instance. A mutation is visible to every holder as soon
+ *   as it happens, before any save; callers that update one account from several threads serialize those updates
+ *   themselves (lock stripes, one writer per partition).
+ * - Copying adapters (MvccAccountRepository) return detached copies stamped with {@link Account#getVersion()}. A
+ *   save commits only if every account's stored version still equals the one its copy was read at (first committer
+ *   wins); otherwise it throws {@link java.util.ConcurrentModificationException} and stores nothing of the batch,
+ *   and the caller reloads and retries.
+ */
 public interface AccountRepository {
     Account save(Account account);
-}
 
+    /** Persists the batch in one store operation, reserving ids for all new accounts at once. */
+    List<Account> saveAll(List<Account> accounts);
+
+    Optional<Account> findById(long id);
+
+    long count();
+
+    /** Visits every stored account; the action may be called from several threads at once. */
+    void forEach(Consumer<Account> action);
+}
@@ -0,0 +1,85 @@
+package org.neolcr.ddd;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EntityIdMapTest {
+
+    @Test
+    void behavesLikeAHashMapUnderRandomPutsAndRemovals() {
+        EntityIdMap<String> map = new EntityIdMap<>(0);
+        Map<Long, String> reference = new HashMap<>();
+        Random random = new Random(42);
+        for (int op = 0; op < 200_000; op++) {
+            long id = random.nextInt(2_000) - 100; // negative and zero ids too
+            switch (random.nextInt(4)) {
+                case 0, 1 -> assertEquals(reference.put(id, "v" + op), map.put(id, "v" + op));
+                case 2 -> assertEquals(reference.remove(id), map.remove(id));
+                default -> assertEquals(reference.putIfAbsent(id, "w" + op), map.putIfAbsent(id, "w" + op));
+            }
+            assertEquals(reference.size(), map.size());
+            if (op % 1_000 == 0) assertSameContent(reference, map);
+        }
+        assertSameContent(reference, map);
+    }
+
+    @Test
+    void removalKeepsCollidingEntriesReachable() {
+        EntityIdMap<Long> map = new EntityIdMap<>(4);
+        List<Long> ids = new ArrayList<>();
+        for (long id = 1; ids.size() < 6; id++) ids.add(id * 1024); // six entries in eight slots: long probe runs
+        for (long id : ids) map.put(id, id);
+        for (int i = 0; i < ids.size(); i += 2) assertEquals(ids.get(i), map.remove(ids.get(i)));
+        for (int i = 0; i < ids.size(); i++) {
+            if (i % 2 == 0) assertFalse(map.containsKey(ids.get(i)));
+            else assertEquals(ids.get(i), map.get(ids.get(i)));
+        }
+        assertNull(map.remove(-1));
+        assertEquals(3, map.size());
+    }
+
+    @Test
+    void valuesIteratorVisitsEveryValueOnce() {
+        EntityIdMap<Integer> map = new EntityIdMap<>();
+        for (int i = 0; i < 100; i++) map.put(i, i);
+        int sum = 0;
+        int count = 0;
+        for (Iterator<Integer> it = map.values(); it.hasNext(); count++) sum += it.next();
+        assertEquals(100, count);
+        assertEquals(4950, sum);
+        Iterator<Integer> empty = new EntityIdMap<Integer>().values();
+        assertFalse(empty.hasNext());
+        assertThrows(NoSuchElementException.class, empty::next);
+    }
+
+    @Test
+    void clearAndNullValues() {
+        EntityIdMap<String> map = new EntityIdMap<>();
+        map.put(1, "a");
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertThrows(IllegalArgumentException.class, () -> map.put(2, null));
+        assertThrows(IllegalArgumentException.class, () -> new EntityIdMap<String>(-1));
+    }
+
+    private static void assertSameContent(Map<Long, String> reference, EntityIdMap<String> map) {
+        Map<Long, String> copy = new HashMap<>();
+        map.forEach(copy::put);
+        assertEquals(reference, copy);
+        for (Map.Entry<Long, String> entry : reference.entrySet()) assertEquals(entry.getValue(), map.get(entry.getKey()));
+    }
+}
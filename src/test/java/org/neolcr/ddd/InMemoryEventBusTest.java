@@ -0,0 +1,164 @@
+package org.neolcr.ddd;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class InMemoryEventBusTest {
+    private final InMemoryEventBus bus = new InMemoryEventBus();
+
+    static final class Ping extends DomainEvent {
+        final int n;
+
+        Ping(int n) {
+            this.n = n;
+        }
+    }
+
+    static final class Other extends DomainEvent {
+    }
+
+    @AfterEach
+    void closeBus() {
+        bus.close();
+    }
+
+    @Test
+    void deliversOnlyEventsOfTheSubscribedType() {
+        List<Ping> received = new ArrayList<>();
+        Subscription subscription = bus.subscribeSync(Ping.class, received::add);
+        bus.publish(new Ping(1));
+        bus.publish(new Other());
+        assertEquals(1, received.size());
+        assertEquals(1, subscription.delivered());
+    }
+
+    @Test
+    void closeDeliversEverythingQueuedInOrder() {
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        Subscription subscription = bus.subscribe(Ping.class, e -> received.add(e.n), 1024, BackpressurePolicy.BLOCK);
+        for (int i = 0; i < 500; i++) bus.publish(new Ping(i));
+        bus.close();
+        assertEquals(500, subscription.delivered());
+        List<Integer> expected = new ArrayList<>();
+        for (int i = 0; i < 500; i++) expected.add(i);
+        assertEquals(expected, received);
+    }
+
+    @Test
+    void blockingPublisherWaitsForRoomInsteadOfLosingEvents() {
+        AtomicInteger received = new AtomicInteger();
+        Subscription subscription = bus.subscribe(Ping.class, e -> {
+            Thread.yield();
+            received.incrementAndGet();
+        }, 2, BackpressurePolicy.BLOCK);
+        for (int i = 0; i < 1000; i++) bus.publish(new Ping(i));
+        bus.close();
+        assertEquals(1000, received.get());
+        assertEquals(0, subscription.dropped());
+    }
+
+    @Test
+    void failPolicyRejectsWhenFullAndCountsTheDrop() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        Subscription subscription = bus.subscribe(Ping.class, e -> {
+            started.countDown();
+            await(release);
+        }, 2, BackpressurePolicy.FAIL);
+        bus.publish(new Ping(0));
+        started.await(); // the drainer holds event 0, the queue is empty again
+        bus.publish(new Ping(1));
+        bus.publish(new Ping(2));
+        assertThrows(RejectedExecutionException.class, () -> bus.publish(new Ping(3)));
+        release.countDown();
+        bus.close();
+        assertEquals(3, subscription.delivered());
+        assertEquals(1, subscription.dropped());
+    }
+
+    @Test
+    void dropOldestKeepsTheNewestEvents() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        List<Integer> received = new CopyOnWriteArrayList<>();
+        Subscription subscription = bus.subscribe(Ping.class, e -> {
+            started.countDown();
+            await(release);
+            received.add(e.n);
+        }, 2, BackpressurePolicy.DROP_OLDEST);
+        bus.publish(new Ping(0));
+        started.await();
+        for (int i = 1; i <= 5; i++) bus.publish(new Ping(i));
+        release.countDown();
+        bus.close();
+        assertEquals(List.of(0, 4, 5), received);
+        assertEquals(3, subscription.dropped());
+    }
+
+    @Test
+    void failingHandlerIsCountedAndKeepsReceiving() {
+        Subscription subscription = bus.subscribe(Ping.class, e -> {
+            if (e.n % 2 == 0) throw new IllegalStateException("even");
+        }, 16, BackpressurePolicy.BLOCK);
+        for (int i = 0; i < 10; i++) bus.publish(new Ping(i));
+        bus.close();
+        assertEquals(5, subscription.failures());
+        assertEquals(5, subscription.delivered());
+    }
+
+    @Test
+    void batchedSubscriberSeesAtMostMaxBatchEvents() {
+        List<Integer> sizes = new CopyOnWriteArrayList<>();
+        Subscription subscription = bus.subscribeBatched(Ping.class, batch -> sizes.add(batch.size()), 64, 8,
+                BackpressurePolicy.BLOCK);
+        for (int i = 0; i < 100; i++) bus.publish(new Ping(i));
+        bus.close();
+        assertEquals(100, subscription.delivered());
+        assertTrue(sizes.stream().allMatch(size -> size >= 1 && size <= 8));
+    }
+
+    @Test
+    void noEventRacingCloseIsLeftInTheQueue() throws InterruptedException {
+        for (int round = 0; round < 200; round++) {
+            InMemoryEventBus racing = new InMemoryEventBus();
+            Subscription subscription = racing.subscribe(Ping.class, e -> { }, 64, BackpressurePolicy.BLOCK);
+            int publishers = 4;
+            int perPublisher = 200;
+            CountDownLatch go = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int p = 0; p < publishers; p++) {
+                threads.add(Thread.ofPlatform().start(() -> {
+                    await(go);
+                    for (int i = 0; i < perPublisher; i++) racing.publish(new Ping(i));
+                }));
+            }
+            go.countDown();
+            Thread.yield();
+            racing.close();
+            for (Thread thread : threads) thread.join();
+            // publishes after the close no longer reach the subscriber; one that raced the close was either
+            // delivered or dropped, never left behind in the queue of a drainer that has exited
+            assertEquals(0, subscription.backlog(), "round " + round);
+            assertTrue(subscription.delivered() + subscription.dropped() <= publishers * perPublisher);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
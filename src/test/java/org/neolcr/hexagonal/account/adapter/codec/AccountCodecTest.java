@@ -0,0 +1,94 @@
+package org.neolcr.hexagonal.account.adapter.codec;
+
+import org.junit.jupiter.api.Test;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.Currency;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccountCodecTest {
+
+    private static void assertRoundTrip(Account account, ByteBuffer buffer) {
+        int size = AccountCodec.encodedSize(account);
+        AccountCodec.encode(account, buffer);
+        assertEquals(size, buffer.position());
+        buffer.flip();
+        Account decoded = AccountCodec.decode(buffer);
+        assertEquals(size, buffer.position());
+        assertEquals(account.getId(), decoded.getId());
+        assertEquals(account.getOwnerName(), decoded.getOwnerName());
+        assertEquals(account.getBalance(), decoded.getBalance());
+        assertEquals(account.getBalanceMode(), decoded.getBalanceMode());
+    }
+
+    @Test
+    void roundTripsThroughHeapDirectAndLittleEndianBuffers() {
+        Account account = new Account(42L, "Zoë 😀 中", Money.ofMinor(12_345, Currency.getInstance("JPY")), BalanceMode.HOT);
+        assertRoundTrip(account, ByteBuffer.allocate(256));
+        assertRoundTrip(account, ByteBuffer.allocateDirect(256));
+        assertRoundTrip(account, ByteBuffer.allocate(256).order(ByteOrder.LITTLE_ENDIAN));
+        assertRoundTrip(account, ByteBuffer.allocateDirect(256).order(ByteOrder.LITTLE_ENDIAN));
+    }
+
+    @Test
+    void accountWithoutIdAndLongOwnerName() {
+        Account account = Account.newAccount("x".repeat(300), Money.ofMinor(1, Money.DEFAULT_CURRENCY));
+        ByteBuffer buffer = ByteBuffer.allocateDirect(1024);
+        AccountCodec.encode(account, buffer);
+        buffer.flip();
+        Account decoded = AccountCodec.decode(buffer);
+        assertNull(decoded.getId());
+        assertEquals(account.getOwnerName(), decoded.getOwnerName());
+    }
+
+    @Test
+    void idIsReadInPlace() {
+        ByteBuffer buffer = ByteBuffer.allocate(64).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.put((byte) 0);
+        AccountCodec.encode(new Account(7L, "bob", Money.ofMinor(0, Money.DEFAULT_CURRENCY)), buffer);
+        assertEquals(7L, AccountCodec.idAt(buffer, 1));
+    }
+
+    @Test
+    void encodeIntoTooSmallBufferLeavesItUntouched() {
+        ByteBuffer buffer = ByteBuffer.allocate(8);
+        Account account = new Account(1L, "alice", Money.ofMinor(0, Money.DEFAULT_CURRENCY));
+        assertThrows(BufferOverflowException.class, () -> AccountCodec.encode(account, buffer));
+        assertEquals(0, buffer.position());
+    }
+
+    @Test
+    void unknownVersionIsRejected() {
+        ByteBuffer buffer = ByteBuffer.wrap(new byte[]{99, 0});
+        assertThrows(IllegalArgumentException.class, () -> AccountCodec.decode(buffer));
+    }
+
+    @Test
+    void negativeOwnerLengthIsRejected() {
+        // five-byte varint decoding to 0xF0000000
+        ByteBuffer buffer = ByteBuffer.allocate(64);
+        buffer.put(AccountCodec.VERSION).put((byte) 0);
+        buffer.put((byte) 0x80).put((byte) 0x80).put((byte) 0x80).put((byte) 0x80).put((byte) 0x0F);
+        buffer.put("alice".getBytes(StandardCharsets.UTF_8));
+        buffer.flip();
+        assertThrows(IllegalArgumentException.class, () -> AccountCodec.decode(buffer));
+    }
+
+    @Test
+    void moneyRoundTrips() {
+        Money money = Money.ofMinor(-250, Currency.getInstance("USD"));
+        ByteBuffer buffer = ByteBuffer.allocate(AccountCodec.MONEY_SIZE);
+        AccountCodec.encodeMoney(money, buffer);
+        buffer.flip();
+        assertEquals(money, AccountCodec.decodeMoney(buffer));
+    }
+}
@@ -0,0 +1,80 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LongAccountTableTest {
+
+    private static Account account(long id) {
+        return new Account(id, "owner-" + id, Money.ofMinor(id, Money.DEFAULT_CURRENCY));
+    }
+
+    @Test
+    void growsPastItsInitialCapacity() {
+        LongAccountTable table = new LongAccountTable(1, 16);
+        for (long id = 1; id <= 10_000; id++) assertNull(table.put(id, account(id)));
+        assertEquals(10_000, table.size());
+        for (long id = 1; id <= 10_000; id++) assertEquals(id, table.get(id).getId());
+        assertNull(table.get(0));
+        assertNull(table.get(10_001));
+    }
+
+    @Test
+    void putReplacesAndReturnsThePreviousAccount() {
+        LongAccountTable table = new LongAccountTable();
+        Account first = account(7);
+        Account second = account(7);
+        table.put(7, first);
+        assertSame(first, table.put(7, second));
+        assertSame(second, table.get(7));
+        assertEquals(1, table.size());
+        assertThrows(IllegalArgumentException.class, () -> table.put(8, null));
+    }
+
+    @Test
+    void putAllSpreadsOverSegmentsAndCountsReplacementsOnce() {
+        LongAccountTable table = new LongAccountTable(8, 16);
+        List<Account> batch = new ArrayList<>();
+        for (long id = 1; id <= 5_000; id++) batch.add(account(id));
+        table.putAll(batch);
+        table.putAll(batch.subList(0, 100));
+        assertEquals(5_000, table.size());
+        Set<Long> seen = new HashSet<>();
+        table.forEach(account -> seen.add(account.getId()));
+        assertEquals(5_000, seen.size());
+        assertThrows(IllegalArgumentException.class, () -> table.putAll(List.of(Account.newAccount("x", null))));
+    }
+
+    @Test
+    void readersNeverMissAnEntryWhileWritersResize() throws InterruptedException {
+        LongAccountTable table = new LongAccountTable(2, 16);
+        for (long id = 1; id <= 64; id++) table.put(id, account(id));
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicLong misses = new AtomicLong();
+        Thread reader = Thread.ofPlatform().start(() -> {
+            while (!done.get()) {
+                for (long id = 1; id <= 64; id++) {
+                    if (table.get(id) == null) misses.incrementAndGet();
+                }
+            }
+        });
+        for (long id = 65; id <= 200_000; id++) table.put(id, account(id));
+        done.set(true);
+        reader.join();
+        assertEquals(0, misses.get());
+        assertEquals(200_000, table.size());
+    }
+}
@@ -0,0 +1,153 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.util.ArrayList;
+import java.util.ConcurrentModificationException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MvccAccountRepositoryTest {
+    private final MvccAccountRepository repository = new MvccAccountRepository();
+
+    private static Account account(String owner, long minor) {
+        return Account.newAccount(owner, Money.ofMinor(minor, Money.DEFAULT_CURRENCY));
+    }
+
+    private long balance(long id) {
+        return repository.findById(id).orElseThrow().getBalanceMinorUnits();
+    }
+
+    @Test
+    void snapshotKeepsReadingTheStateItWasOpenedAt() {
+        Account alice = repository.save(account("alice", 100));
+        try (MvccAccountRepository.Snapshot snapshot = repository.openSnapshot()) {
+            alice.deposit(Money.ofMinor(50, Money.DEFAULT_CURRENCY));
+            repository.save(alice);
+            Account bob = repository.save(account("bob", 1));
+
+            assertEquals(100, snapshot.findById(alice.getId()).orElseThrow().getBalanceMinorUnits());
+            assertTrue(snapshot.findById(bob.getId()).isEmpty());
+            List<Account> seen = new ArrayList<>();
+            snapshot.forEach(seen::add);
+            assertEquals(1, seen.size());
+        }
+        assertEquals(150, balance(alice.getId()));
+    }
+
+    @Test
+    void saveAllIsVisibleAllOrNothing() {
+        Account a = repository.save(account("a", 10));
+        Account b = repository.save(account("b", 10));
+        try (MvccAccountRepository.Snapshot before = repository.openSnapshot()) {
+            a.withdraw(Money.ofMinor(5, Money.DEFAULT_CURRENCY));
+            b.deposit(Money.ofMinor(5, Money.DEFAULT_CURRENCY));
+            repository.saveAll(List.of(a, b));
+
+            assertEquals(a.getVersion(), b.getVersion());
+            assertEquals(10, before.findById(a.getId()).orElseThrow().getBalanceMinorUnits());
+            assertEquals(10, before.findById(b.getId()).orElseThrow().getBalanceMinorUnits());
+        }
+        assertEquals(5, balance(a.getId()));
+        assertEquals(15, balance(b.getId()));
+    }
+
+    @Test
+    void staleCopyIsRejectedAndNothingOfTheBatchIsInstalled() {
+        Account a = repository.save(account("a", 10));
+        Account b = repository.save(account("b", 10));
+        Account staleA = repository.findById(a.getId()).orElseThrow();
+        a.deposit(Money.ofMinor(1, Money.DEFAULT_CURRENCY));
+        repository.save(a);
+
+        staleA.deposit(Money.ofMinor(100, Money.DEFAULT_CURRENCY));
+        b.deposit(Money.ofMinor(100, Money.DEFAULT_CURRENCY));
+        Account c = account("c", 1);
+        assertThrows(ConcurrentModificationException.class, () -> repository.saveAll(List.of(b, staleA, c)));
+
+        assertEquals(11, balance(a.getId()));
+        assertEquals(10, balance(b.getId()));
+        assertTrue(repository.findById(c.getId()).isEmpty());
+        assertEquals(2, repository.count());
+    }
+
+    @Test
+    void failedFirstSaveLeavesNoAccountBehind() {
+        Account copy = account("ghost", 1);
+        copy.setVersion(7); // claims to have been read from the store
+        assertThrows(ConcurrentModificationException.class, () -> repository.save(copy));
+
+        assertEquals(0, repository.count());
+        assertTrue(repository.findById(copy.getId()).isEmpty());
+        List<Account> seen = new ArrayList<>();
+        repository.forEach(seen::add);
+        assertTrue(seen.isEmpty());
+        assertEquals(0, repository.retainedVersions());
+    }
+
+    @Test
+    void versionsAreTrimmedOnceNoSnapshotReachesThem() {
+        Account alice = repository.save(account("alice", 0));
+        MvccAccountRepository.Snapshot snapshot = repository.openSnapshot();
+        for (int i = 0; i < 10; i++) {
+            alice.deposit(Money.ofMinor(1, Money.DEFAULT_CURRENCY));
+            repository.save(alice);
+        }
+        repository.collectGarbage();
+        assertEquals(11, repository.retainedVersions());
+        assertEquals(0, snapshot.findById(alice.getId()).orElseThrow().getBalanceMinorUnits());
+
+        snapshot.close();
+        repository.collectGarbage();
+        assertEquals(1, repository.retainedVersions());
+        assertEquals(10, balance(alice.getId()));
+        assertThrows(IllegalStateException.class, () -> snapshot.findById(alice.getId()));
+    }
+
+    @Test
+    void findByIdNeverMissesAnAccountWhileWritersAdvanceTheHorizon() throws InterruptedException {
+        Account hot = repository.save(account("hot", 0));
+        long id = hot.getId();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread writer = Thread.ofPlatform().start(() -> {
+            try {
+                for (int i = 1; i <= 200_000; i++) {
+                    hot.deposit(Money.ofMinor(1, Money.DEFAULT_CURRENCY));
+                    repository.save(hot);
+                    if (i % 64 == 0) repository.collectGarbage();
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            } finally {
+                done.set(true);
+            }
+        });
+        long reads = 0;
+        long last = 0;
+        while (!done.get()) {
+            Account read = repository.findById(id).orElse(null);
+            if (read == null) {
+                done.set(true);
+                writer.join();
+                throw new AssertionError("account " + id + " not found after " + reads + " reads");
+            }
+            assertTrue(read.getBalanceMinorUnits() >= last, "reads go back in time");
+            last = read.getBalanceMinorUnits();
+            reads++;
+        }
+        writer.join();
+        assertNull(failure.get());
+        assertEquals(200_000, balance(id));
+        assertFalse(repository.retainedVersions() > 2);
+    }
+}
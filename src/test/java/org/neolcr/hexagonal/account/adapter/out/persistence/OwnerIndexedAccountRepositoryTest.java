@@ -0,0 +1,56 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence;
+
+import org.junit.jupiter.api.Test;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OwnerIndexedAccountRepositoryTest {
+    private final OwnerIndexedAccountRepository repository = new OwnerIndexedAccountRepository(new InMemoryAccountRepository());
+
+    private Account save(String owner) {
+        return repository.save(Account.newAccount(owner, Money.ofMinor(0, Money.DEFAULT_CURRENCY)));
+    }
+
+    private static List<String> owners(List<Account> accounts) {
+        return accounts.stream().map(Account::getOwnerName).toList();
+    }
+
+    @Test
+    void findsByExactNameAndIndexesUpdatesOnce() {
+        Account alice = save("alice");
+        save("alicia");
+        alice.deposit(Money.ofMinor(1, Money.DEFAULT_CURRENCY));
+        repository.save(alice);
+        assertEquals(1, repository.findByOwnerName("alice").size());
+        assertTrue(repository.findByOwnerName("bob").isEmpty());
+    }
+
+    @Test
+    void prefixQueryIsOrderedAndLimited() {
+        for (String owner : List.of("carol", "alicia", "bob", "alice", "ali")) save(owner);
+        repository.saveAll(List.of(Account.newAccount("alina", Money.ofMinor(0, Money.DEFAULT_CURRENCY))));
+        assertEquals(List.of("ali", "alice", "alicia", "alina"), owners(repository.findByOwnerNamePrefix("ali", 10)));
+        assertEquals(List.of("ali", "alice"), owners(repository.findByOwnerNamePrefix("ali", 2)));
+        assertEquals(List.of("ali"), owners(repository.findByOwnerNamePrefix("ali", 1)));
+    }
+
+    @Test
+    void zeroLimitFindsNothingAndNegativeLimitIsRejected() {
+        save("alice");
+        assertTrue(repository.findByOwnerNamePrefix("a", 0).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> repository.findByOwnerNamePrefix("a", -1));
+    }
+
+    @Test
+    void indexesAccountsAlreadyInTheDelegate() {
+        InMemoryAccountRepository delegate = new InMemoryAccountRepository();
+        delegate.save(Account.newAccount("dave", Money.ofMinor(0, Money.DEFAULT_CURRENCY)));
+        assertEquals(1, new OwnerIndexedAccountRepository(delegate).findByOwnerName("dave").size());
+    }
+}
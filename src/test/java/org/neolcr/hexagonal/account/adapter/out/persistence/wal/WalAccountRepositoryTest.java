@@ -0,0 +1,136 @@
+package org.neolcr.hexagonal.account.adapter.out.persistence.wal;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.BalanceMode;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class WalAccountRepositoryTest {
+    @TempDir
+    Path directory;
+
+    private WalAccountRepository open() throws IOException {
+        return open(1 << 16);
+    }
+
+    private WalAccountRepository open(int segmentSize) throws IOException {
+        return WalAccountRepository.open(directory, segmentSize, 4, SequenceIdGenerator::new);
+    }
+
+    private static Money eur(long minor) {
+        return Money.ofMinor(minor, Money.DEFAULT_CURRENCY);
+    }
+
+    private static long balance(WalAccountRepository repository, long id) {
+        return repository.findById(id).orElseThrow().getBalanceMinorUnits();
+    }
+
+    private List<Path> files(String suffix) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(p -> p.getFileName().toString().endsWith(suffix)).sorted().toList();
+        }
+    }
+
+    @Test
+    void reopeningReplaysTheLog() throws IOException {
+        long alice;
+        long bob;
+        try (WalAccountRepository repository = open()) {
+            Account a = repository.save(Account.newAccount("alice", eur(100)));
+            List<Account> batch = repository.saveAll(List.of(
+                    Account.newAccount("bob", eur(5), BalanceMode.HOT), Account.newAccount("carol", eur(0))));
+            a.deposit(eur(23));
+            repository.save(a);
+            alice = a.getId();
+            bob = batch.get(0).getId();
+        }
+        try (WalAccountRepository repository = open()) {
+            assertEquals(3, repository.count());
+            assertEquals(123, balance(repository, alice));
+            assertEquals(BalanceMode.HOT, repository.findById(bob).orElseThrow().getBalanceMode());
+            Account dave = repository.save(Account.newAccount("dave", eur(0)));
+            assertEquals(4L, dave.getId()); // ids continue after the highest recovered one
+        }
+    }
+
+    @Test
+    void snapshotPlusLogTailRestoresEverythingAndDropsCoveredSegments() throws IOException {
+        List<Long> ids = new ArrayList<>();
+        long replayFrom;
+        try (WalAccountRepository repository = open(1024)) {
+            for (int i = 0; i < 50; i++) ids.add(repository.save(Account.newAccount("owner-" + i, eur(i))).getId());
+            replayFrom = LogSegment.sequenceOf(repository.snapshot());
+            assertEquals(1, files(".snapshot").size());
+            for (int i = 0; i < 10; i++) {
+                Account account = repository.findById(ids.get(i)).orElseThrow();
+                account.deposit(eur(1000));
+                repository.save(account);
+            }
+            repository.save(Account.newAccount("late", eur(7)));
+        }
+        try (WalAccountRepository repository = open(1024)) {
+            assertEquals(51, repository.count());
+            for (int i = 0; i < 50; i++) assertEquals(i < 10 ? i + 1000 : i, balance(repository, ids.get(i)));
+            assertEquals(1, files(".snapshot").size());
+            for (Path segment : files(".log")) assertTrue(LogSegment.sequenceOf(segment) >= replayFrom, segment.toString());
+        }
+    }
+
+    @Test
+    void manySmallSegmentsSurviveRollsAndCompaction() throws IOException {
+        List<Account> accounts = new ArrayList<>();
+        try (WalAccountRepository repository = open(256)) {
+            for (int i = 0; i < 10; i++) accounts.add(repository.save(Account.newAccount("owner-" + i, eur(0))));
+            for (int round = 1; round <= 50; round++) {
+                for (Account account : accounts) {
+                    account.deposit(eur(1));
+                    repository.save(account);
+                }
+            }
+            assertTrue(repository.log().syncCount() > 0);
+        }
+        try (WalAccountRepository repository = open(256)) {
+            assertEquals(10, repository.count());
+            for (Account account : accounts) assertEquals(50, balance(repository, account.getId()));
+        }
+    }
+
+    @Test
+    void recoveryStopsAtACorruptRecord() throws IOException {
+        long first;
+        try (WalAccountRepository repository = open()) {
+            first = repository.save(Account.newAccount("alice", eur(1))).getId();
+            repository.save(Account.newAccount("bob", eur(2)));
+        }
+        Path segment = files(".log").get(0);
+        int firstRecord;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            ByteBuffer length = ByteBuffer.allocate(4);
+            channel.read(length, 0);
+            firstRecord = LogSegment.framedLength(length.flip().getInt());
+            ByteBuffer payloadByte = ByteBuffer.allocate(1);
+            channel.read(payloadByte, firstRecord + LogSegment.RECORD_HEADER);
+            payloadByte.put(0, (byte) (payloadByte.get(0) ^ 0x55));
+            channel.write(payloadByte.flip(), firstRecord + LogSegment.RECORD_HEADER); // torn second record
+        }
+        try (WalAccountRepository repository = open()) {
+            assertEquals(1, repository.count());
+            assertEquals(1, balance(repository, first));
+        }
+    }
+}
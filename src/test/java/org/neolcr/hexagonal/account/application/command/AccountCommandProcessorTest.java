@@ -0,0 +1,110 @@
+package org.neolcr.hexagonal.account.application.command;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.neolcr.hexagonal.account.adapter.out.persistence.InMemoryAccountRepository;
+import org.neolcr.hexagonal.account.adapter.out.persistence.SequenceIdGenerator;
+import org.neolcr.hexagonal.account.domain.model.Account;
+import org.neolcr.hexagonal.account.domain.model.Money;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccountCommandProcessorTest {
+    private final List<FlakyRepository> repositories = new ArrayList<>();
+    private final AccountCommandProcessor processor = new AccountCommandProcessor(2, 64, 16, i -> {
+        FlakyRepository repository = new FlakyRepository(AccountCommandProcessor.firstId(i));
+        repositories.add(repository);
+        return repository;
+    });
+
+    /** Identity-map repository whose saveAll can be made to fail. */
+    static final class FlakyRepository extends InMemoryAccountRepository {
+        volatile boolean failing;
+
+        FlakyRepository(long firstId) {
+            super(new SequenceIdGenerator(firstId));
+        }
+
+        @Override
+        public List<Account> saveAll(List<Account> accounts) {
+            if (failing) throw new IllegalStateException("disk full");
+            return super.saveAll(accounts);
+        }
+    }
+
+    @AfterEach
+    void close() {
+        processor.close();
+    }
+
+    private static Money eur(long minor) {
+        return Money.ofMinor(minor, Money.DEFAULT_CURRENCY);
+    }
+
+    private static <T> T get(CompletableFuture<T> future) throws Exception {
+        return future.get(10, TimeUnit.SECONDS);
+    }
+
+    private long balance(long id) {
+        return processor.findById(id).orElseThrow().getBalanceMinorUnits();
+    }
+
+    @Test
+    void createsAccountsAndAppliesDepositsInOrder() throws Exception {
+        long id = get(processor.submit(new CreateAccount("alice", eur(100))));
+        List<CompletableFuture<Money>> deposits = new ArrayList<>();
+        for (int i = 0; i < 50; i++) deposits.add(processor.submit(new Deposit(id, eur(1))));
+        for (int i = 0; i < 50; i++) assertEquals(eur(101 + i), get(deposits.get(i)));
+        assertEquals(150, balance(id));
+        assertEquals(1, processor.count());
+    }
+
+    @Test
+    void invalidCommandFailsAloneAndLeavesTheRestOfTheBatch() throws Exception {
+        long id = get(processor.submit(new CreateAccount("alice", eur(0))));
+        CompletableFuture<Money> good = processor.submit(new Deposit(id, eur(5)));
+        CompletableFuture<Money> missing = processor.submit(new Deposit(id + 1000, eur(5)));
+        CompletableFuture<Money> negative = processor.submit(new Deposit(id, eur(-5)));
+        assertEquals(eur(5), get(good));
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(ExecutionException.class, () -> get(missing)).getCause());
+        assertInstanceOf(IllegalArgumentException.class, assertThrows(ExecutionException.class, () -> get(negative)).getCause());
+        assertEquals(5, balance(id));
+    }
+
+    @Test
+    void failedSaveFailsTheBatchAndUndoesItsDeposits() throws Exception {
+        long id = get(processor.submit(new CreateAccount("alice", eur(100))));
+        FlakyRepository repository = repositories.get((int) ((id - 1) >>> AccountCommandProcessor.PARTITION_BITS));
+        repository.failing = true;
+        List<CompletableFuture<Money>> deposits = new ArrayList<>();
+        for (int i = 0; i < 10; i++) deposits.add(processor.submit(new Deposit(id, eur(10))));
+        for (CompletableFuture<Money> deposit : deposits) {
+            ExecutionException failure = assertThrows(ExecutionException.class, () -> get(deposit));
+            assertInstanceOf(IllegalStateException.class, failure.getCause());
+        }
+        assertEquals(100, balance(id));
+
+        repository.failing = false;
+        assertEquals(eur(110), get(processor.submit(new Deposit(id, eur(10)))));
+        assertEquals(110, balance(id));
+    }
+
+    @Test
+    void closeExecutesAcceptedCommandsAndRejectsNewOnes() throws Exception {
+        long id = get(processor.submit(new CreateAccount("alice", eur(0))));
+        List<CompletableFuture<Money>> deposits = new ArrayList<>();
+        for (int i = 0; i < 40; i++) deposits.add(processor.submit(new Deposit(id, eur(1))));
+        processor.close();
+        for (CompletableFuture<Money> deposit : deposits) get(deposit);
+        assertEquals(40, balance(id));
+        assertThrows(IllegalStateException.class, () -> processor.submit(new Deposit(id, eur(1))));
+    }
+}
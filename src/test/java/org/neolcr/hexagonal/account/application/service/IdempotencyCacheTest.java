@@ -0,0 +1,115 @@
+package org.neolcr.hexagonal.account.application.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdempotencyCacheTest {
+    private static final long HOUR = TimeUnit.HOURS.toNanos(1);
+
+    @Test
+    void concurrentCallersWithOneKeyRunTheOperationOnce() throws Exception {
+        IdempotencyCache<Long> cache = new IdempotencyCache<>(100, HOUR);
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<CompletableFuture<Long>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(CompletableFuture.supplyAsync(() -> cache.computeOnce("key", "request", () -> {
+                runs.incrementAndGet();
+                await(release);
+                return 42L;
+            })));
+        }
+        release.countDown();
+        for (CompletableFuture<Long> result : results) assertEquals(42L, result.get(10, TimeUnit.SECONDS));
+        assertEquals(1, runs.get());
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void reusingAKeyForADifferentRequestIsRejected() {
+        IdempotencyCache<Long> cache = new IdempotencyCache<>(100, HOUR);
+        cache.computeOnce("key", "first", () -> 1L);
+        assertThrows(IllegalArgumentException.class, () -> cache.computeOnce("key", "second", () -> 2L));
+        assertEquals(1L, cache.computeOnce("key", "first", () -> 3L));
+    }
+
+    @Test
+    void failedOperationIsForgottenAndRethrownAsIs() {
+        IdempotencyCache<Long> cache = new IdempotencyCache<>(100, HOUR);
+        IllegalStateException failure = new IllegalStateException("boom");
+        assertSame(failure, assertThrows(IllegalStateException.class,
+                () -> cache.computeOnce("key", "request", () -> { throw failure; })));
+        assertEquals(0, cache.size());
+        assertEquals(7L, cache.computeOnce("key", "request", () -> 7L));
+    }
+
+    @Test
+    void expiredEntriesRunAgainAndAreEvicted() {
+        IdempotencyCache<Long> cache = new IdempotencyCache<>(100, 1);
+        AtomicInteger runs = new AtomicInteger();
+        for (int i = 0; i < 50; i++) {
+            cache.computeOnce("key-" + (i % 5), "request", () -> (long) runs.incrementAndGet());
+        }
+        assertEquals(50, runs.get());
+        assertTrue(cache.size() <= 1, "size " + cache.size());
+    }
+
+    @Test
+    void sizeStaysBoundedWhileAnOldOperationIsInFlight() throws Exception {
+        IdempotencyCache<Long> cache = new IdempotencyCache<>(4, HOUR);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Long> slow = CompletableFuture.supplyAsync(() -> cache.computeOnce("slow", "request", () -> {
+            started.countDown();
+            await(release);
+            return 0L;
+        }));
+        started.await();
+        for (int i = 0; i < 100; i++) {
+            long value = i;
+            cache.computeOnce("fast-" + i, "request", () -> value);
+            assertTrue(cache.size() <= 5, "size " + cache.size() + " after " + i);
+        }
+        // the in-flight entry was stepped over, not evicted: a retry still joins it
+        CompletableFuture<Long> retry = CompletableFuture.supplyAsync(() -> cache.computeOnce("slow", "request", () -> -1L));
+        release.countDown();
+        assertEquals(0L, slow.get(10, TimeUnit.SECONDS));
+        assertEquals(0L, retry.get(10, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failedAndReplacedEntriesDoNotCountTowardsTheSize() {
+        IdempotencyCache<Long> cache = new IdempotencyCache<>(3, HOUR);
+        for (int i = 0; i < 20; i++) {
+            String key = "failing-" + i;
+            assertThrows(IllegalStateException.class, () -> cache.computeOnce(key, "request", () -> {
+                throw new IllegalStateException();
+            }));
+        }
+        for (int i = 0; i < 3; i++) {
+            long value = i;
+            cache.computeOnce("ok-" + i, "request", () -> value);
+        }
+        assertEquals(3, cache.size());
+        assertEquals(1L, cache.computeOnce("ok-1", "request", () -> -1L));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}